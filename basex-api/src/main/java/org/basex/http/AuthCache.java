@@ -0,0 +1,98 @@
+package org.basex.http;
+
+import java.security.*;
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.core.users.*;
+import org.basex.util.*;
+
+/**
+ * This class caches successful logins via Basic authentication. A login will be reused for
+ * the time specified by {@link StaticOptions#AUTHCACHE}. It becomes invalid as soon as the
+ * user is dropped or the password of the user is changed. Passwords are not stored: logins
+ * are identified by salted hashes, and expired logins are discarded.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+final class AuthCache {
+  /** Logins, indexed by user names. */
+  private final HashMap<String, Login> logins = new HashMap<>();
+  /** Salt for hashing passwords. */
+  private final String salt;
+
+  /**
+   * Constructor.
+   */
+  AuthCache() {
+    final byte[] bytes = new byte[16];
+    new SecureRandom().nextBytes(bytes);
+    salt = Token.string(Token.hex(bytes, false));
+  }
+
+  /**
+   * Checks if the specified password is correct.
+   * @param user user
+   * @param password password (plain text)
+   * @param ctx database context
+   * @return result of check
+   */
+  boolean matches(final User user, final String password, final Context ctx) {
+    final long ttl = ctx.soptions.get(StaticOptions.AUTHCACHE) * 1000L;
+    if(ttl == 0) return user.matches(password);
+
+    final String name = user.name(), hash = user.code(Algorithm.SALTED_SHA256, Code.HASH);
+    final byte[] digest = Token.token(Strings.sha256(salt + password));
+    final long time = System.currentTimeMillis();
+    synchronized(logins) {
+      final Login login = logins.get(name);
+      if(login != null && login.user == user && login.hash.equals(hash) &&
+          time - login.time < ttl && MessageDigest.isEqual(login.digest, digest)) return true;
+    }
+    if(!user.matches(password)) return false;
+    synchronized(logins) {
+      // discard expired logins
+      final Iterator<Login> iter = logins.values().iterator();
+      while(iter.hasNext()) {
+        if(time - iter.next().time >= ttl) iter.remove();
+      }
+      logins.put(name, new Login(user, hash, digest, time));
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of cached logins.
+   * @return number of logins
+   */
+  int size() {
+    synchronized(logins) { return logins.size(); }
+  }
+
+  /** Successful login. */
+  private static final class Login {
+    /** User. */
+    private final User user;
+    /** Password hash of the user at login time. */
+    private final String hash;
+    /** Salted hash of the supplied password. */
+    private final byte[] digest;
+    /** Login time. */
+    private final long time;
+
+    /**
+     * Constructor.
+     * @param user user
+     * @param hash password hash of the user
+     * @param digest salted hash of the supplied password
+     * @param time login time
+     */
+    private Login(final User user, final String hash, final byte[] digest, final long time) {
+      this.user = user;
+      this.hash = hash;
+      this.digest = digest;
+      this.time = time;
+    }
+  }
+}
@@ -29,6 +29,8 @@ public abstract class BaseXServlet extends HttpServlet {
   String password = "";
   /** Servlet-specific authentication method. */
   AuthMethod auth;
+  /** Executor for asynchronous requests ({@code null} if requests are processed synchronously). */
+  private RequestExecutor executor;
 
   @Override
   public void init(final ServletConfig config) throws ServletException {
@@ -48,18 +50,42 @@ public abstract class BaseXServlet extends HttpServlet {
           auth = AuthMethod.valueOf(val);
         }
       }
+      // RESTXQ requests can be evaluated asynchronously
+      final StaticOptions sopts = HTTPContext.init().soptions;
+      if(this instanceof RestXqServlet && sopts.get(StaticOptions.RESTXQTHREADS) > 0) {
+        executor = new RequestExecutor(config.getServletName(), sopts);
+      }
     } catch(final IOException ex) {
       throw new ServletException(ex);
     }
   }
 
+  @Override
+  public void destroy() {
+    if(executor != null) executor.shutdown();
+    super.destroy();
+  }
+
   @Override
   public final void service(final HttpServletRequest req, final HttpServletResponse res)
       throws IOException {
+    if(executor == null || !executor.execute(this, req, res)) process(req, res, null);
+  }
+
+  /**
+   * Processes a request.
+   * @param req request
+   * @param res response
+   * @param reject code for rejecting the request (can be {@code null})
+   * @throws IOException I/O exception
+   */
+  final void process(final HttpServletRequest req, final HttpServletResponse res,
+      final HTTPCode reject) throws IOException {
 
     final HTTPContext http = new HTTPContext(req, res, this);
     final boolean restxq = this instanceof RestXqServlet;
     try {
+      if(reject != null) throw reject.get();
       http.authorize();
       run(http);
       http.log(SC_OK, "");
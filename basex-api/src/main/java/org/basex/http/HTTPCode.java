@@ -31,7 +31,13 @@ public enum HTTPCode {
   NO_RESTXQ(SC_NOT_FOUND, "RESTXQ directory not found."),
 
   /** Error 501, "Method not supported: %.". */
-  NOT_IMPLEMENTED_X(SC_NOT_IMPLEMENTED, "Method not supported: %.");
+  NOT_IMPLEMENTED_X(SC_NOT_IMPLEMENTED, "Method not supported: %."),
+  /** Error 503, "Request could not be processed in time.". */
+  QUEUE_TIMEOUT(SC_SERVICE_UNAVAILABLE, "Request could not be processed in time."),
+  /** Error 503, "Too many requests are waiting to be processed.". */
+  QUEUE_FULL(SC_SERVICE_UNAVAILABLE, "Too many requests are waiting to be processed."),
+  /** Error 503, "Maximum number of parallel requests reached: %.". */
+  REQUEST_LIMIT_X(SC_SERVICE_UNAVAILABLE, "Maximum number of parallel requests reached: %.");
 
   /** Status code. */
   final int code;
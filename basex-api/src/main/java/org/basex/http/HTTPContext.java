@@ -34,6 +34,8 @@ import org.basex.util.http.HttpText.Request;
 public final class HTTPContext {
   /** Global static database context. */
   private static Context context;
+  /** Cached logins. */
+  private static final AuthCache LOGINS = new AuthCache();
   /** Initialization flag. */
   private static boolean init;
   /** Initialized failed. */
@@ -305,7 +307,8 @@ public final class HTTPContext {
       if(us == null) throw new LoginException();
 
       if(auth == AuthMethod.BASIC) {
-        if(password == null || !us.matches(password)) throw new LoginException();
+        if(password == null || !LOGINS.matches(us, password, context))
+          throw new LoginException();
       } else if(auth == AuthMethod.DIGEST) {
         final EnumMap<Request, String> map = HttpClient.digestHeaders(req.getHeader(AUTHORIZATION));
         final String am = map.get(Request.AUTH_METHOD);
@@ -0,0 +1,166 @@
+package org.basex.http;
+
+import java.io.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import javax.servlet.*;
+import javax.servlet.http.*;
+
+import org.basex.core.*;
+import org.basex.util.*;
+
+/**
+ * This class evaluates servlet requests asynchronously. Requests are processed by a fixed
+ * number of threads ({@link StaticOptions#RESTXQTHREADS}), and the container thread is released
+ * as soon as a request has been queued. If the maximum number of waiting requests
+ * ({@link StaticOptions#RESTXQQUEUE}) is reached, new requests are rejected immediately.
+ * Requests that have been waiting longer than the time specified by
+ * {@link StaticOptions#RESTXQWAIT} are removed from the queue and rejected.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+final class RequestExecutor {
+  /** Thread pool. */
+  private final ThreadPoolExecutor pool;
+  /** Timer for rejecting requests that have been waiting too long. */
+  private final ScheduledThreadPoolExecutor timer;
+  /** Static options. */
+  private final StaticOptions sopts;
+
+  /**
+   * Constructor.
+   * @param name name of the servlet
+   * @param sopts static options
+   */
+  RequestExecutor(final String name, final StaticOptions sopts) {
+    this.sopts = sopts;
+    final int threads = sopts.get(StaticOptions.RESTXQTHREADS);
+    final int queue = Math.max(1, sopts.get(StaticOptions.RESTXQQUEUE));
+    pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<Runnable>(queue), factory(name));
+    timer = new ScheduledThreadPoolExecutor(1, factory(name + "-timer"));
+    timer.setRemoveOnCancelPolicy(true);
+  }
+
+  /**
+   * Queues a request for asynchronous evaluation.
+   * @param servlet servlet
+   * @param req request
+   * @param res response
+   * @return {@code false} if the request cannot be processed asynchronously
+   */
+  boolean execute(final BaseXServlet servlet, final HttpServletRequest req,
+      final HttpServletResponse res) {
+
+    if(!req.isAsyncSupported()) return false;
+
+    final AsyncContext async = req.startAsync();
+    // the evaluation time is limited by the query timeout
+    async.setTimeout(0);
+    final Request request = new Request(servlet, req, res, async);
+    try {
+      pool.execute(request);
+    } catch(final RejectedExecutionException ex) {
+      // queue is full, or executor has been shut down: reject request
+      Util.debug(ex);
+      request.process(HTTPCode.QUEUE_FULL);
+      return true;
+    }
+
+    // reject request if it is still waiting after the specified time
+    final long wait = sopts.get(StaticOptions.RESTXQWAIT);
+    if(wait > 0) {
+      try {
+        request.timeout = timer.schedule(new Runnable() {
+          @Override
+          public void run() {
+            if(pool.remove(request)) request.process(HTTPCode.QUEUE_TIMEOUT);
+          }
+        }, wait, TimeUnit.SECONDS);
+      } catch(final RejectedExecutionException ex) {
+        // timer has been shut down: request will still be processed
+        Util.debug(ex);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Shuts down the executor. Queued requests will still be processed.
+   */
+  void shutdown() {
+    timer.shutdownNow();
+    pool.shutdown();
+  }
+
+  /**
+   * Returns a factory for daemon threads.
+   * @param name name prefix of the threads
+   * @return thread factory
+   */
+  private static ThreadFactory factory(final String name) {
+    return new ThreadFactory() {
+      /** Thread counter. */
+      private final AtomicInteger count = new AtomicInteger();
+
+      @Override
+      public Thread newThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, name + '-' + count.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    };
+  }
+
+  /** Queued request. */
+  private static final class Request implements Runnable {
+    /** Servlet. */
+    private final BaseXServlet servlet;
+    /** Servlet request. */
+    private final HttpServletRequest req;
+    /** Servlet response. */
+    private final HttpServletResponse res;
+    /** Asynchronous context. */
+    private final AsyncContext async;
+    /** Scheduled rejection (can be {@code null}). */
+    private volatile Future<?> timeout;
+
+    /**
+     * Constructor.
+     * @param servlet servlet
+     * @param req request
+     * @param res response
+     * @param async asynchronous context
+     */
+    private Request(final BaseXServlet servlet, final HttpServletRequest req,
+        final HttpServletResponse res, final AsyncContext async) {
+      this.servlet = servlet;
+      this.req = req;
+      this.res = res;
+      this.async = async;
+    }
+
+    @Override
+    public void run() {
+      final Future<?> to = timeout;
+      if(to != null) to.cancel(false);
+      process(null);
+    }
+
+    /**
+     * Processes the request and completes the asynchronous operation.
+     * @param reject code for rejecting the request (can be {@code null})
+     */
+    private void process(final HTTPCode reject) {
+      try {
+        servlet.process(req, res, reject);
+      } catch(final IOException ex) {
+        Util.debug(ex);
+      } finally {
+        async.complete();
+      }
+    }
+  }
+}
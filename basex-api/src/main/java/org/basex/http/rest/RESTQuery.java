@@ -7,6 +7,7 @@ import java.util.Map.Entry;
 import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.basex.http.*;
+import org.basex.io.serial.*;
 import org.basex.query.value.type.*;
 
 /**
@@ -70,8 +71,10 @@ class RESTQuery extends RESTCmd {
         http.sopts().assign(xq.parameters(context));
         http.initResponse();
       }
-      // run command
-      run(cmd, http.res.getOutputStream());
+      // run command. If the output is to be flushed in chunks, flushes will be passed on
+      // to the client (the response will be sent with chunked transfer encoding)
+      final OutputStream os = http.res.getOutputStream();
+      run(cmd, http.sopts().get(SerializerOptions.FLUSH) > 0 ? new BufferedOutputStream(os) : os);
     }
   }
 
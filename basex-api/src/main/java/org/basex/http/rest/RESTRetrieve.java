@@ -1,13 +1,19 @@
 package org.basex.http.rest;
 
+import static javax.servlet.http.HttpServletResponse.*;
 import static org.basex.query.func.Function.*;
 import static org.basex.util.Token.*;
+import static org.basex.util.http.HttpText.*;
 
 import java.io.*;
 
+import javax.servlet.http.*;
+
 import org.basex.core.*;
 import org.basex.core.cmd.*;
+import org.basex.data.*;
 import org.basex.http.*;
+import org.basex.io.*;
 import org.basex.io.serial.*;
 import org.basex.query.func.*;
 import org.basex.query.value.node.*;
@@ -38,7 +44,17 @@ final class RESTRetrieve extends RESTCmd {
     if(run(query(_DB_EXISTS)).equals(Text.TRUE)) {
       // return database resource
       final boolean raw = run(query(_DB_IS_RAW)).equals(Text.TRUE);
-      if(raw) sopts.set(SerializerOptions.MEDIA_TYPE, run(query(_DB_CONTENT_TYPE)));
+      if(raw) {
+        sopts.set(SerializerOptions.MEDIA_TYPE, run(query(_DB_CONTENT_TYPE)));
+        // stream binary file directly
+        final Data data = context.data();
+        final String path = MetaData.normPath(http.dbpath());
+        final IOFile bin = data == null || path == null ? null : data.meta.binary(path);
+        if(bin != null && bin.exists() && !bin.isDir()) {
+          retrieve(path, bin.length());
+          return;
+        }
+      }
       http.initResponse();
 
       context.options.set(MainOptions.SERIALIZER, sopts);
@@ -58,6 +74,65 @@ final class RESTRetrieve extends RESTCmd {
     }
   }
 
+  /**
+   * Sends a binary file. Single byte ranges are supported.
+   * The file is sent by the {@link Retrieve} command, which is run while the database
+   * is still locked by this command.
+   * @param path path to the binary file
+   * @param length length of the file
+   * @throws IOException I/O exception
+   */
+  private void retrieve(final String path, final long length) throws IOException {
+    final HTTPContext http = session.http;
+    final HttpServletResponse res = http.res;
+    long start = 0, end = length - 1;
+
+    res.setHeader(ACCEPT_RANGES, BYTES);
+    final long[] range = range(http.req.getHeader(RANGE), length);
+    if(range != null) {
+      start = range[0];
+      end = range[1];
+      if(start >= length) {
+        res.setStatus(SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        res.setHeader(CONTENT_RANGE, BYTES + " */" + length);
+        return;
+      }
+      res.setStatus(SC_PARTIAL_CONTENT);
+      res.setHeader(CONTENT_RANGE, BYTES + ' ' + start + '-' + end + '/' + length);
+    }
+    http.initResponse();
+    res.setHeader(CONTENT_LENGTH, Long.toString(end - start + 1));
+    run(new Retrieve(path, start, end - start + 1), res.getOutputStream());
+  }
+
+  /**
+   * Parses a range header. Only single byte ranges are supported.
+   * @param header header value (can be {@code null})
+   * @param length length of the resource
+   * @return first and last byte position, or {@code null} if the header is to be ignored.
+   * If the range cannot be satisfied, the first position is equal to or greater than the length.
+   */
+  static long[] range(final String header, final long length) {
+    if(header == null || !header.startsWith(BYTES + '=')) return null;
+    final String spec = header.substring(BYTES.length() + 1).trim();
+    final int i = spec.indexOf('-');
+    if(i == -1 || spec.indexOf(',') != -1) return null;
+    try {
+      final String first = spec.substring(0, i).trim(), last = spec.substring(i + 1).trim();
+      if(first.isEmpty()) {
+        // suffix range: last n bytes
+        final long n = Long.parseLong(last);
+        return n < 0 ? null : new long[] { n == 0 ? length : Math.max(0, length - n), length - 1 };
+      }
+      final long s = Long.parseLong(first);
+      final long e = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+      if(s < 0 || e < s) return null;
+      return new long[] { s, Math.min(e, length - 1) };
+    } catch(final NumberFormatException ex) {
+      return null;
+    }
+  }
+
   /**
    * Creates a query instance.
    * @param f function
@@ -0,0 +1,238 @@
+package org.basex.http.restxq;
+
+import static javax.servlet.http.HttpServletResponse.*;
+import static org.basex.util.http.HttpText.*;
+
+import java.io.*;
+import java.security.*;
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.core.locks.*;
+import org.basex.http.*;
+import org.basex.io.out.*;
+import org.basex.query.*;
+import org.basex.util.*;
+
+/**
+ * This class caches the responses of RESTXQ functions with a {@code %rest:cache} annotation.
+ * A response will be discarded as soon as a database accessed by the function is updated.
+ * If the maximum number of responses ({@link StaticOptions#RESTXQCACHE}) is exceeded,
+ * least recently used responses are discarded first. All responses are discarded if
+ * RESTXQ modules are changed. Response bodies exceeding {@link #MAX_SIZE} bytes are
+ * streamed to the client and not cached.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+final class RestXqCache {
+  /** Maximum size of a cached response body. */
+  static final int MAX_SIZE = 1 << 20;
+
+  /** Cached responses (least recently used responses come first). */
+  private final LinkedHashMap<String, Response> responses = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Sends a cached response for the specified key.
+   * @param key key
+   * @param http HTTP context
+   * @return {@code true} if a valid response was found and sent
+   * @throws IOException I/O exception
+   */
+  boolean send(final String key, final HTTPContext http) throws IOException {
+    final Response response;
+    synchronized(responses) {
+      final Response rsp = responses.get(key);
+      if(rsp == null) return false;
+      if(!rsp.valid(http.context(false))) {
+        responses.remove(key);
+        return false;
+      }
+      response = rsp;
+    }
+    response.send(http);
+    return true;
+  }
+
+  /**
+   * Caches a response.
+   * @param key key
+   * @param response response
+   * @param max maximum number of cached responses
+   */
+  void add(final String key, final Response response, final int max) {
+    if(response.dbs == null) return;
+    synchronized(responses) {
+      responses.put(key, response);
+      // discard least recently used responses
+      final Iterator<Response> iter = responses.values().iterator();
+      while(responses.size() > max && iter.hasNext()) {
+        iter.next();
+        iter.remove();
+      }
+    }
+  }
+
+  /**
+   * Discards all responses.
+   */
+  void clear() {
+    synchronized(responses) { responses.clear(); }
+  }
+
+  /**
+   * Output stream for a response body. The body is cached until it exceeds the
+   * maximum size; from then on, it is streamed to the client.
+   */
+  static final class Output extends OutputStream {
+    /** Cached body. */
+    private final ArrayOutput body = new ArrayOutput();
+    /** HTTP context. */
+    private final HTTPContext http;
+    /** Output stream of the response ({@code null} as long as the body is cached). */
+    private OutputStream out;
+
+    /**
+     * Constructor.
+     * @param http HTTP context
+     */
+    Output(final HTTPContext http) {
+      this.http = http;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      if(out == null) {
+        if(body.size() < MAX_SIZE) {
+          body.write(b);
+          return;
+        }
+        stream();
+      }
+      out.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      if(out == null) {
+        if(body.size() + len <= MAX_SIZE) {
+          body.write(b, off, len);
+          return;
+        }
+        stream();
+      }
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if(out != null) out.flush();
+    }
+
+    /**
+     * Returns the cached body.
+     * @return body, or {@code null} if the body has been streamed
+     */
+    byte[] finish() {
+      return out == null ? body.finish() : null;
+    }
+
+    /**
+     * Sends the cached bytes and switches to streaming.
+     * @throws IOException I/O exception
+     */
+    private void stream() throws IOException {
+      out = http.res.getOutputStream();
+      out.write(body.finish());
+    }
+  }
+
+  /** Cached response. */
+  static final class Response {
+    /** Accessed databases ({@code null} if the response cannot be cached). */
+    private final String[] dbs;
+    /** Update counters of the accessed databases. */
+    private final long[] versions;
+    /** Content type. */
+    private String type;
+    /** Entity tag. */
+    private String etag;
+    /** Response body. */
+    private byte[] body;
+
+    /**
+     * Constructor. Records the update counters of the databases that are accessed by the
+     * specified query. Must be called after the query has been registered, and before it is
+     * evaluated.
+     * @param qc query context
+     */
+    Response(final QueryContext qc) {
+      final LockResult lr = new LockResult();
+      qc.databases(lr);
+      // updating queries will not be cached
+      if(lr.writeAll || !lr.write.isEmpty()) {
+        dbs = null;
+        versions = null;
+      } else {
+        // if all databases are locked, updates of any database will invalidate the response
+        dbs = lr.readAll ? new String[] { null } : lr.read.sort().unique().finish();
+        final Databases databases = qc.context.databases;
+        final int ds = dbs.length;
+        versions = new long[ds];
+        for(int d = 0; d < ds; d++) versions[d] = databases.version(dbs[d]);
+      }
+    }
+
+    /**
+     * Assigns the response body and the content type, and sends the response.
+     * @param bytes response body
+     * @param http HTTP context
+     * @throws IOException I/O exception
+     */
+    void send(final byte[] bytes, final HTTPContext http) throws IOException {
+      body = bytes;
+      type = http.res.getContentType();
+      try {
+        final MessageDigest md = MessageDigest.getInstance(MD5);
+        etag = '"' + Token.string(Token.hex(md.digest(bytes), false)) + '"';
+      } catch(final NoSuchAlgorithmException ex) {
+        throw Util.notExpected(ex);
+      }
+      send(http);
+    }
+
+    /**
+     * Checks if the response is still valid.
+     * @param ctx database context
+     * @return result of check
+     */
+    private boolean valid(final Context ctx) {
+      final Databases databases = ctx.databases;
+      final int ds = dbs.length;
+      for(int d = 0; d < ds; d++) {
+        if(databases.version(dbs[d]) != versions[d]) return false;
+      }
+      return true;
+    }
+
+    /**
+     * Sends the response. If the entity tag is known to the client, no body will be sent.
+     * @param http HTTP context
+     * @throws IOException I/O exception
+     */
+    private void send(final HTTPContext http) throws IOException {
+      http.res.setHeader(ETAG, etag);
+      final String match = http.req.getHeader(IF_NONE_MATCH);
+      if(match != null) {
+        for(final String tag : match.trim().split("\\s*,\\s*")) {
+          if(tag.equals(etag) || tag.equals("*")) {
+            http.res.setStatus(SC_NOT_MODIFIED);
+            return;
+          }
+        }
+      }
+      http.res.setContentType(type);
+      http.res.getOutputStream().write(body);
+    }
+  }
+}
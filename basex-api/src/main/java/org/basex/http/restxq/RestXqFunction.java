@@ -9,6 +9,7 @@ import java.io.*;
 import java.util.*;
 import java.util.Map.*;
 import java.util.Set;
+import java.util.concurrent.atomic.*;
 import java.util.regex.*;
 
 import javax.servlet.http.*;
@@ -73,13 +74,19 @@ final class RestXqFunction implements Comparable<RestXqFunction> {
   private final ArrayList<RestXqParam> cookieParams = new ArrayList<>();
   /** Consumed media types. */
   private final ArrayList<MediaType> consumes = new ArrayList<>();
+  /** Input annotations (parser options). */
+  private final ArrayList<Ann> inputs = new ArrayList<>();
+  /** Number of requests that are currently being processed. */
+  private final AtomicInteger requests = new AtomicInteger();
 
   /** Path. */
   RestXqPath path;
   /** Function key for single instances. */
   String key;
+  /** Indicates if responses are to be cached. */
+  boolean cache;
   /** Error. */
-  private RestXqError error;
+  RestXqError error;
   /** Post/Put variable. */
   private QNm requestBody;
 
@@ -95,6 +102,32 @@ final class RestXqFunction implements Comparable<RestXqFunction> {
     output = qc.serParams();
   }
 
+  /**
+   * Constructor for a single request. Adopts the parsed annotations of the specified function
+   * and assigns a new instance of the associated user function.
+   * @param rxf parsed function
+   * @param function associated user function
+   */
+  RestXqFunction(final RestXqFunction rxf, final StaticFunc function) {
+    this.function = function;
+    module = rxf.module;
+    output = new SerializerOptions(rxf.output);
+    queryParams.addAll(rxf.queryParams);
+    formParams.addAll(rxf.formParams);
+    headerParams.addAll(rxf.headerParams);
+    produces.addAll(rxf.produces);
+    methods.addAll(rxf.methods);
+    errorParams.addAll(rxf.errorParams);
+    cookieParams.addAll(rxf.cookieParams);
+    consumes.addAll(rxf.consumes);
+    inputs.addAll(rxf.inputs);
+    path = rxf.path;
+    key = rxf.key;
+    cache = rxf.cache;
+    error = rxf.error;
+    requestBody = rxf.requestBody;
+  }
+
   /**
    * Processes the HTTP request.
    * Parses new modules and discards obsolete ones.
@@ -121,7 +154,6 @@ final class RestXqFunction implements Comparable<RestXqFunction> {
     // parse all annotations
     final boolean[] declared = new boolean[function.args.length];
     boolean found = false;
-    final MainOptions options = ctx.options;
     for(final Ann ann : function.anns) {
       final Annotation sig = ann.sig;
       if(sig == null) continue;
@@ -158,21 +190,14 @@ final class RestXqFunction implements Comparable<RestXqFunction> {
       } else if(sig == _REST_SINGLE) {
         key = "\u0000" + (args.length > 0 ? toString(args[0]) :
           (function.info.path() + ':' + function.info.line()));
+      } else if(sig == _REST_CACHE) {
+        cache = true;
       } else if(eq(sig.uri, QueryText.REST_URI)) {
         final Item body = args.length == 0 ? null : args[0];
         addMethod(string(sig.local()), body, declared, ann.info);
-      } else if(sig == _INPUT_CSV) {
-        final CsvParserOptions opts = new CsvParserOptions(options.get(MainOptions.CSVPARSER));
-        options.set(MainOptions.CSVPARSER, parse(opts, ann));
-      } else if(sig == _INPUT_JSON) {
-        final JsonParserOptions opts = new JsonParserOptions(options.get(MainOptions.JSONPARSER));
-        options.set(MainOptions.JSONPARSER, parse(opts, ann));
-      } else if(sig == _INPUT_HTML) {
-        final HtmlOptions opts = new HtmlOptions(options.get(MainOptions.HTMLPARSER));
-        options.set(MainOptions.HTMLPARSER, parse(opts, ann));
-      } else if(sig == _INPUT_TEXT) {
-        final TextOptions opts = new TextOptions(options.get(MainOptions.TEXTPARSER));
-        options.set(MainOptions.TEXTPARSER, parse(opts, ann));
+      } else if(sig == _INPUT_CSV || sig == _INPUT_JSON || sig == _INPUT_HTML ||
+          sig == _INPUT_TEXT) {
+        inputs.add(ann);
       } else if(eq(sig.uri, QueryText.OUTPUT_URI)) {
         // serialization parameters
         try {
@@ -183,6 +208,9 @@ final class RestXqFunction implements Comparable<RestXqFunction> {
       }
     }
 
+    // check parser options
+    input(new MainOptions(ctx.options));
+
     if(found) {
       if(path == null && error == null)
         throw error(function.info, ANN_MISSING, '%', PATH, '%', ERROR);
@@ -196,6 +224,30 @@ final class RestXqFunction implements Comparable<RestXqFunction> {
     return found;
   }
 
+  /**
+   * Assigns the parser options that have been specified via input annotations.
+   * @param options main options
+   * @throws Exception exception
+   */
+  void input(final MainOptions options) throws Exception {
+    for(final Ann ann : inputs) {
+      final Annotation sig = ann.sig;
+      if(sig == _INPUT_CSV) {
+        final CsvParserOptions opts = new CsvParserOptions(options.get(MainOptions.CSVPARSER));
+        options.set(MainOptions.CSVPARSER, parse(opts, ann));
+      } else if(sig == _INPUT_JSON) {
+        final JsonParserOptions opts = new JsonParserOptions(options.get(MainOptions.JSONPARSER));
+        options.set(MainOptions.JSONPARSER, parse(opts, ann));
+      } else if(sig == _INPUT_HTML) {
+        final HtmlOptions opts = new HtmlOptions(options.get(MainOptions.HTMLPARSER));
+        options.set(MainOptions.HTMLPARSER, parse(opts, ann));
+      } else {
+        final TextOptions opts = new TextOptions(options.get(MainOptions.TEXTPARSER));
+        options.set(MainOptions.TEXTPARSER, parse(opts, ann));
+      }
+    }
+  }
+
   /**
    * Assigns annotation values as options.
    * @param <O> option type
@@ -311,6 +363,58 @@ final class RestXqFunction implements Comparable<RestXqFunction> {
     for(final RestXqParam rxp : errorParams) bind(rxp, arg, errs.get(rxp.name), qc);
   }
 
+  /**
+   * Returns the key for caching the response to the current request. The key is composed of
+   * the request path, the query string, and all headers and cookies that may affect the result.
+   * Responses to requests with credentials or an HTTP session are not cached, as they may
+   * depend on the permissions of the current user.
+   * @param http HTTP context
+   * @return key, or {@code null} if the response will not be cached
+   */
+  String cacheKey(final HTTPContext http) {
+    if(!cache || !http.method.equals(HttpMethod.GET.name()) ||
+      http.req.getHeader(HttpText.AUTHORIZATION) != null || http.req.getSession(false) != null)
+      return null;
+
+    final StringBuilder sb = new StringBuilder(http.path()).append('\0');
+    final String query = http.req.getQueryString();
+    if(query != null) sb.append(query);
+    sb.append('\0').append(http.req.getHeader(HttpText.ACCEPT));
+    for(final RestXqParam rxp : headerParams) {
+      sb.append('\0');
+      final Enumeration<?> en = http.req.getHeaders(rxp.name);
+      while(en.hasMoreElements()) sb.append(en.nextElement()).append('\n');
+    }
+    final Cookie[] ck = http.req.getCookies();
+    for(final RestXqParam rxp : cookieParams) {
+      sb.append('\0');
+      if(ck != null) {
+        for(final Cookie c : ck) {
+          if(rxp.name.equals(c.getName())) sb.append(c.getValue());
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Registers a request, or rejects it if the maximum number of parallel requests is reached.
+   * @param limit maximum number of parallel requests
+   * @return success flag
+   */
+  boolean enter(final int limit) {
+    if(requests.incrementAndGet() <= limit) return true;
+    requests.decrementAndGet();
+    return false;
+  }
+
+  /**
+   * Unregisters a request.
+   */
+  void leave() {
+    requests.decrementAndGet();
+  }
+
   /**
    * Creates an exception with the specified message.
    * @param msg message
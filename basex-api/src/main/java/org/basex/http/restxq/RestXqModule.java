@@ -14,6 +14,9 @@ import org.basex.query.func.*;
 
 /**
  * This class caches information on a single XQuery module with RESTXQ annotations.
+ * The module source and the RESTXQ annotations are cached until the file is modified.
+ * The parsed module itself is not reused: as compilation rewrites function bodies in place,
+ * the cached source is parsed again for each request.
  *
  * @author BaseX Team 2005-16, BSD License
  * @author Christian Gruen
@@ -25,6 +28,10 @@ final class RestXqModule {
   private final IOFile file;
   /** Parsing timestamp. */
   private long time;
+  /** File size at parsing time (timestamps have a limited precision). */
+  private long size;
+  /** Cached module source (assigned when the module is parsed). */
+  private String source;
 
   /**
    * Constructor.
@@ -33,19 +40,26 @@ final class RestXqModule {
   RestXqModule(final IOFile file) {
     this.file = file;
     time = file.timeStamp();
+    size = file.length();
   }
 
   /**
    * Checks the module for RESTXQ annotations.
-   * @param http HTTP context
+   * @param ctx database context
    * @return {@code true} if module contains relevant annotations
    * @throws Exception exception (including unexpected ones)
    */
-  boolean parse(final HTTPContext http) throws Exception {
+  boolean parse(final Context ctx) throws Exception {
     functions.clear();
+    time = file.timeStamp();
+    size = file.length();
+    try {
+      source = string(file.read());
+    } catch(final IOException ex) {
+      // may be triggered when reading the file
+      throw IOERR_X.get(null, ex);
+    }
 
-    // loop through all functions
-    final Context ctx = http.context(false);
     try(final QueryContext qc = qc(ctx)) {
       // loop through all functions
       final String name = file.name();
@@ -61,18 +75,11 @@ final class RestXqModule {
   }
 
   /**
-   * Checks if the timestamp is still up-to-date.
+   * Checks if the timestamp and the file size are still up-to-date.
    * @return result of check
    */
   boolean uptodate() {
-    return time == file.timeStamp();
-  }
-
-  /**
-   * Updates the timestamp.
-   */
-  void touch() {
-    time = file.timeStamp();
+    return time == file.timeStamp() && size == file.length();
   }
 
   /**
@@ -93,35 +100,47 @@ final class RestXqModule {
   void process(final HTTPContext http, final RestXqFunction func, final QueryException error)
       throws Exception {
 
-    // create new XQuery instance
+    // send cached response
     final Context ctx = http.context(false);
+    final String key = error == null && ctx.soptions.get(StaticOptions.RESTXQCACHE) > 0 ?
+      func.cacheKey(http) : null;
+    if(key != null && RestXqModules.get().cache.send(key, http)) return;
+
+    // reject request if the maximum number of parallel requests is reached
+    final int limit = ctx.soptions.get(StaticOptions.RESTXQLIMIT);
+    if(limit > 0 && !func.enter(limit))
+      throw HTTPCode.REQUEST_LIMIT_X.get(func.function.name.string());
+
+    // create new XQuery instance (parse module from the cached source)
     try(final QueryContext qc = qc(ctx)) {
       final StaticFunc sf = find(qc, func.function);
-      // will only happen if file has been swapped between caching and parsing
+      // should not happen, as the function was parsed from the same source
       if(sf == null) throw HTTPCode.NO_XQUERY.get();
 
-      final RestXqFunction rxf = new RestXqFunction(sf, qc, this);
-      rxf.parse(ctx);
-      RestXqResponse.create(rxf, qc, http, error);
+      // adopt parsed annotations
+      func.input(ctx.options);
+      RestXqResponse.create(new RestXqFunction(func, sf), qc, http, error, key);
+    } finally {
+      if(limit > 0) func.leave();
     }
   }
 
   // PRIVATE METHODS ====================================================================
 
   /**
-   * Retrieves a query context for the given module.
+   * Creates a query context for the cached module source.
    * @param ctx database context
    * @return query context
-   * @throws Exception exception
+   * @throws QueryException query exception
    */
-  private QueryContext qc(final Context ctx) throws Exception {
+  private QueryContext qc(final Context ctx) throws QueryException {
     final QueryContext qc = new QueryContext(ctx);
     try {
-      qc.parse(string(file.read()), file.path(), null);
+      qc.parse(source, file.path(), null);
       return qc;
-    } catch(final IOException ex) {
-      // may be triggered when reading the file
-      throw IOERR_X.get(null, ex);
+    } catch(final QueryException ex) {
+      qc.close();
+      throw ex;
     }
   }
 
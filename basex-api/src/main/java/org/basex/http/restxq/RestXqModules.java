@@ -2,6 +2,7 @@ package org.basex.http.restxq;
 
 import static org.basex.http.restxq.RestXqText.*;
 
+import java.io.*;
 import java.util.*;
 
 import org.basex.core.*;
@@ -22,8 +23,18 @@ public final class RestXqModules {
   /** Class instance. */
   private static final RestXqModules INSTANCE = new RestXqModules();
 
-  /** Module cache. */
-  private HashMap<String, RestXqModule> modules = new HashMap<>();
+  /** Response cache. */
+  final RestXqCache cache = new RestXqCache();
+
+  /** Route table ({@code null} if the RESTXQ directory has not been parsed yet). */
+  private volatile RestXqRouter router;
+  /** Error raised while applying the latest changes (can be {@code null}). */
+  private volatile Exception error;
+  /** Watcher of the RESTXQ directory (can be {@code null}). */
+  private RestXqWatcher watcher;
+  /** Number of servlets that use the module cache. */
+  private int servlets;
+
   /** Private constructor. */
   private RestXqModules() { }
 
@@ -36,10 +47,34 @@ public final class RestXqModules {
   }
 
   /**
-   * Initializes the module cache.
+   * Initializes the module cache. The RESTXQ directory will be parsed again by the next request.
    */
-  void init() {
-    modules = new HashMap<>();
+  synchronized void init() {
+    router = null;
+    error = null;
+    cache.clear();
+  }
+
+  /**
+   * Registers a servlet that uses the module cache.
+   */
+  synchronized void open() {
+    servlets++;
+  }
+
+  /**
+   * Unregisters a servlet. If no other servlets use the module cache, the watcher of the
+   * RESTXQ directory is stopped and the cache is discarded.
+   */
+  synchronized void close() {
+    if(servlets > 0 && --servlets > 0) return;
+    if(watcher != null) {
+      watcher.close();
+      watcher = null;
+    }
+    router = null;
+    error = null;
+    cache.clear();
   }
 
   /**
@@ -48,7 +83,9 @@ public final class RestXqModules {
    * @return WADL description
    */
   public FElem wadl(final HTTPContext http) {
-    return new RestXqWadl(http).create(modules);
+    final RestXqRouter rt = router;
+    return new RestXqWadl(http).create(rt != null ? rt.modules :
+      new HashMap<String, RestXqModule>());
   }
 
   /**
@@ -60,13 +97,8 @@ public final class RestXqModules {
    * @throws Exception exception (including unexpected ones)
    */
   RestXqFunction find(final HTTPContext http, final QNm error) throws Exception {
-    // collect all functions
-    final ArrayList<RestXqFunction> list = new ArrayList<>();
-    for(final RestXqModule mod : cache(http).values()) {
-      for(final RestXqFunction rxf : mod.functions()) {
-        if(rxf.matches(http, error)) list.add(rxf);
-      }
-    }
+    // collect all matching functions
+    final ArrayList<RestXqFunction> list = router(http).find(http, error);
     // no path matches
     if(list.isEmpty()) return null;
 
@@ -129,69 +161,171 @@ public final class RestXqModules {
   }
 
   /**
-   * Updates the module cache. Parses new modules and discards obsolete ones.
+   * Returns the route table. When called for the first time, the RESTXQ directory is parsed, and
+   * (unless {@link StaticOptions#CACHERESTXQ} is enabled) a watcher is started, which builds new
+   * route tables in the background. Apart from that, requests only read the current route table.
    * @param http http context
-   * @return module cache
+   * @return route table
    * @throws Exception exception (including unexpected ones)
    */
-  private synchronized HashMap<String, RestXqModule> cache(final HTTPContext http)
-      throws Exception {
+  private RestXqRouter router(final HTTPContext http) throws Exception {
+    RestXqRouter rt = router;
+    if(rt == null) {
+      rt = parse(http);
+    } else if(rt.modules.isEmpty() && http.context(false).soptions.get(
+        StaticOptions.CACHERESTXQ)) {
+      // no watcher: parse directory again if no modules have been found before
+      final Context ctx = context(http);
+      final RestXqRouter nrt = update(root(ctx), ctx, rt);
+      publish(rt, nrt);
+      rt = nrt;
+    }
+    final Exception ex = error;
+    if(ex != null) throw ex;
+    return rt;
+  }
 
-    final StaticOptions sopts = http.context(false).soptions;
-    HashMap<String, RestXqModule> cache = modules;
+  /**
+   * Parses the RESTXQ directory if this has not been done yet, and starts the watcher.
+   * @param http http context
+   * @return route table
+   * @throws Exception exception (including unexpected ones)
+   */
+  private synchronized RestXqRouter parse(final HTTPContext http) throws Exception {
+    if(router == null) {
+      final Context ctx = context(http);
+      final IOFile root = root(ctx);
+      router = update(root, ctx, null);
+      error = null;
+      if(watcher == null && !ctx.soptions.get(StaticOptions.CACHERESTXQ)) {
+        watcher = new RestXqWatcher(this, root, ctx);
+        watcher.start();
+      }
+    }
+    return router;
+  }
 
-    // create new cache if it is empty, or if cache is to be recreated every time
-    if(cache.isEmpty() || !sopts.get(StaticOptions.CACHERESTXQ)) {
-      cache = new HashMap<>();
-      final String webpath = sopts.get(StaticOptions.WEBPATH);
-      final String rxqpath = sopts.get(StaticOptions.RESTXQPATH);
-      final IOFile restxq = new IOFile(webpath).resolve(rxqpath);
-      if(!restxq.exists()) throw HTTPCode.NO_RESTXQ.get();
+  /**
+   * Builds a new route table if the RESTXQ directory has been changed, or assigns an error,
+   * which will be raised by all subsequent requests until the erroneous modules have been fixed.
+   * Called by the directory watcher.
+   * @param root RESTXQ directory
+   * @param ctx database context
+   */
+  void update(final IOFile root, final Context ctx) {
+    // route table will be created by the next request
+    final RestXqRouter rt = router;
+    if(rt == null) return;
 
-      cache(http, restxq, cache, modules);
-      modules = cache;
+    RestXqRouter nrt = rt;
+    Exception ex = null;
+    try {
+      nrt = update(root, ctx, rt);
+    } catch(final Exception e) {
+      ex = e;
     }
-    return cache;
+    synchronized(this) {
+      // discard result if the route table has been replaced in the meantime
+      if(router == rt) error = ex;
+    }
+    publish(rt, nrt);
+  }
+
+  /**
+   * Replaces the route table, unless it has been replaced in the meantime.
+   * Cached responses are discarded if the modules have changed.
+   * @param rt old route table
+   * @param nrt new route table
+   */
+  private synchronized void publish(final RestXqRouter rt, final RestXqRouter nrt) {
+    if(router != rt || nrt == rt) return;
+    router = nrt;
+    cache.clear();
+  }
+
+  /**
+   * Parses new and modified modules and discards obsolete ones.
+   * @param root RESTXQ directory
+   * @param ctx database context
+   * @param rt current route table (can be {@code null})
+   * @return route table (old instance if nothing has changed)
+   * @throws Exception exception (including unexpected ones)
+   */
+  private static RestXqRouter update(final IOFile root, final Context ctx,
+      final RestXqRouter rt) throws Exception {
+
+    if(!root.exists()) throw HTTPCode.NO_RESTXQ.get();
+    final HashMap<String, RestXqModule> old = rt != null ? rt.modules :
+      new HashMap<String, RestXqModule>();
+    final HashMap<String, RestXqModule> cache = new HashMap<>();
+    final boolean parsed = cache(ctx, root, cache, old);
+    // create new route table if modules have been added, updated or discarded
+    return rt == null || parsed || cache.size() != old.size() ? new RestXqRouter(cache) : rt;
+  }
+
+  /**
+   * Returns a database context for parsing modules.
+   * @param http http context
+   * @return database context
+   * @throws IOException I/O exception
+   */
+  private static Context context(final HTTPContext http) throws IOException {
+    final Context ctx = new Context(http.context(false));
+    ctx.user(http.context(false).user());
+    return ctx;
+  }
+
+  /**
+   * Returns the RESTXQ directory.
+   * @param ctx database context
+   * @return directory
+   */
+  private static IOFile root(final Context ctx) {
+    final StaticOptions sopts = ctx.soptions;
+    final String webpath = sopts.get(StaticOptions.WEBPATH);
+    final String rxqpath = sopts.get(StaticOptions.RESTXQPATH);
+    return new IOFile(webpath).resolve(rxqpath);
   }
 
   /**
    * Parses the specified path for RESTXQ modules and caches new entries.
+   * @param ctx database context
    * @param root root path
-   * @param http http context
    * @param cache cached modules
    * @param old old cache
+   * @return {@code true} if a module with annotations has been parsed
    * @throws Exception exception (including unexpected ones)
    */
-  private static synchronized void cache(final HTTPContext http, final IOFile root,
+  private static boolean cache(final Context ctx, final IOFile root,
       final HashMap<String, RestXqModule> cache, final HashMap<String, RestXqModule> old)
       throws Exception {
 
     // check if directory is to be skipped
     final IOFile[] files = root.children();
-    for(final IOFile file : files) if(file.name().equals(IO.IGNORESUFFIX)) return;
+    for(final IOFile file : files) if(file.name().equals(IO.IGNORESUFFIX)) return false;
 
+    boolean parsed = false;
     for(final IOFile file : files) {
       if(file.isDir()) {
-        cache(http, file, cache, old);
+        parsed |= cache(ctx, file, cache, old);
       } else {
         final String path = file.path();
         if(file.hasSuffix(IO.XQSUFFIXES)) {
-          RestXqModule module = old.get(path);
-          boolean parsed = false;
-          if(module != null) {
-            // check if module has been modified
-            parsed = module.uptodate();
-          } else {
-            // create new module
-            module = new RestXqModule(file);
-          }
-          // add module if it has been parsed, and if it contains annotations
-          if(parsed || module.parse(http)) {
-            module.touch();
+          // add module if it is up-to-date, or if it has been parsed and contains annotations.
+          // modified modules are replaced by new instances, as they may still be in use
+          final RestXqModule module = old.get(path);
+          if(module != null && module.uptodate()) {
             cache.put(path, module);
+          } else {
+            final RestXqModule mod = new RestXqModule(file);
+            if(mod.parse(ctx)) {
+              cache.put(path, mod);
+              parsed = true;
+            }
           }
         }
       }
     }
+    return parsed;
   }
 }
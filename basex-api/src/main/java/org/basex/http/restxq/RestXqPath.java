@@ -37,7 +37,16 @@ final class RestXqPath implements Comparable<RestXqPath> {
    * @return result of check
    */
   boolean matches(final HTTPContext http) {
-    return matcher.matches(http.path());
+    return matches(http.path());
+  }
+
+  /**
+   * Checks if the path matches the specified request path.
+   * @param request request path
+   * @return result of check
+   */
+  boolean matches(final String request) {
+    return matcher.matches(request);
   }
 
   /**
@@ -48,6 +57,14 @@ final class RestXqPath implements Comparable<RestXqPath> {
     return matcher.vars;
   }
 
+  /**
+   * Returns the literal segments that precede the first template variable.
+   * @return segments
+   */
+  List<String> literals() {
+    return matcher.literals;
+  }
+
   /**
    * Gets the variable values for the given HTTP context path.
    * @param http HTTP context
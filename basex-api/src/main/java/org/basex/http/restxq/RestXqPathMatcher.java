@@ -21,7 +21,8 @@ import org.basex.util.*;
 final class RestXqPathMatcher {
   /** Default matcher for empty path templates. */
   private static final RestXqPathMatcher EMPTY =
-      new RestXqPathMatcher("/", Collections.<QNm>emptyList(), 0, ZERO);
+      new RestXqPathMatcher("/", Collections.<QNm>emptyList(), 0, ZERO,
+          Collections.<String>emptyList());
   /** Variable names defined in the path template. */
   final List<QNm> vars;
   /** Compiled regular expression which matches paths defined by the path annotation. */
@@ -30,6 +31,8 @@ final class RestXqPathMatcher {
   final int segments;
   /** Bit array with variable positions within the path template. */
   final BigInteger varsPos;
+  /** Decoded literal segments that precede the first template variable. */
+  final List<String> literals;
 
   /**
    * Constructor.
@@ -37,12 +40,14 @@ final class RestXqPathMatcher {
    * @param vars variable names defined in the path template
    * @param segments segment count
    * @param varsPos variable position
+   * @param literals literal segments that precede the first template variable
    */
   private RestXqPathMatcher(final String regex, final List<QNm> vars, final int segments,
-    final BigInteger varsPos) {
+    final BigInteger varsPos, final List<String> literals) {
     this.vars = vars;
     this.segments = segments;
     this.varsPos = varsPos;
+    this.literals = literals;
     pattern = Pattern.compile(regex);
   }
 
@@ -103,6 +108,7 @@ final class RestXqPathMatcher {
     final TokenBuilder variable = new TokenBuilder();
     final StringBuilder regex = new StringBuilder();
     final BitSet varsPos = new BitSet();
+    List<String> prefix = null;
     int segment = 0;
 
     final CharIterator i = new CharIterator(path);
@@ -112,6 +118,7 @@ final class RestXqPathMatcher {
     while(i.hasNext()) {
       char ch = i.next();
       if(ch == '{') {
+        if(prefix == null) prefix = literals(literals, false);
         decodeAndEscape(literals, result);
 
         // variable
@@ -152,10 +159,24 @@ final class RestXqPathMatcher {
         literals.append(ch);
       }
     }
+    if(prefix == null) prefix = literals(literals, true);
     decodeAndEscape(literals, result);
 
     final BigInteger vp = varsPos.cardinality() == 0 ? ZERO : new BigInteger(varsPos.toByteArray());
-    return new RestXqPathMatcher(result.toString(), vars, segment + 1, vp);
+    return new RestXqPathMatcher(result.toString(), vars, segment + 1, vp, prefix);
+  }
+
+  /**
+   * Returns the decoded segments of the literal path prefix.
+   * @param literals literals (starting with a slash)
+   * @param complete indicates if the last segment is complete
+   * @return segments
+   */
+  private static List<String> literals(final StringBuilder literals, final boolean complete) {
+    final String decoded = HTTPContext.decode(literals.substring(1));
+    final ArrayList<String> list = new ArrayList<>(Arrays.asList(decoded.split("/", -1)));
+    if(!complete) list.remove(list.size() - 1);
+    return list;
   }
 
   /**
@@ -3,6 +3,7 @@ package org.basex.http.restxq;
 import static org.basex.http.restxq.RestXqText.*;
 import static org.basex.util.Token.*;
 
+import org.basex.core.*;
 import org.basex.http.*;
 import org.basex.io.serial.*;
 import org.basex.query.*;
@@ -30,10 +31,11 @@ final class RestXqResponse {
    * @param qc query context
    * @param http HTTP context
    * @param error optional query error
+   * @param key key for caching the response (can be {@code null})
    * @throws Exception exception (including unexpected ones)
    */
   static void create(final RestXqFunction function, final QueryContext qc,
-      final HTTPContext http, final QueryException error) throws Exception {
+      final HTTPContext http, final QueryException error, final String key) throws Exception {
 
     // bind variables
     final StaticFunc sf = function.function;
@@ -44,6 +46,8 @@ final class RestXqResponse {
     qc.mainModule(MainModule.get(sf, args));
     qc.http(http);
     qc.context.register(qc);
+    // record the state of the accessed databases
+    final RestXqCache.Response cached = key != null ? new RestXqCache.Response(qc) : null;
 
     final RestXqSession session = new RestXqSession(http, function.key, qc);
     String redirect = null, forward = null;
@@ -85,8 +89,23 @@ final class RestXqResponse {
       final SerializerOptions sp = function.output;
       http.sopts(sp);
       http.initResponse();
-      try(final Serializer ser = Serializer.get(http.res.getOutputStream(), sp)) {
-        for(; item != null; item = iter.next()) ser.serialize(item);
+      if(cached == null) {
+        try(final Serializer ser = Serializer.get(http.res.getOutputStream(), sp)) {
+          for(; item != null; item = iter.next()) ser.serialize(item);
+        }
+      } else {
+        // cache response and send it with an entity tag (large responses are streamed)
+        final RestXqCache.Output output = new RestXqCache.Output(http);
+        try(final Serializer ser = Serializer.get(output, sp)) {
+          for(; item != null; item = iter.next()) ser.serialize(item);
+        }
+        final byte[] body = output.finish();
+        if(body != null) {
+          cached.send(body, http);
+          // do not cache responses of requests for which a session has been created
+          if(http.req.getSession(false) == null) RestXqModules.get().cache.add(key, cached,
+              qc.context.soptions.get(StaticOptions.RESTXQCACHE));
+        }
       }
 
     } finally {
@@ -0,0 +1,101 @@
+package org.basex.http.restxq;
+
+import java.util.*;
+
+import org.basex.http.*;
+import org.basex.query.value.item.*;
+
+/**
+ * This class assigns HTTP requests to RESTXQ functions. Functions with path annotations are
+ * indexed in a trie, which is built from the literal segments of their path templates.
+ * When a request is dispatched, only the functions of the trie nodes that are visited by the
+ * segments of the request path need to be matched. If modules change, a new instance is
+ * created and replaces the old one.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+final class RestXqRouter {
+  /** Modules, indexed by their paths. */
+  final HashMap<String, RestXqModule> modules;
+  /** Root node. */
+  private final Node root = new Node();
+  /** Functions with error annotations. */
+  private final ArrayList<RestXqFunction> errors = new ArrayList<>();
+
+  /**
+   * Constructor.
+   * @param modules modules, indexed by their paths
+   */
+  RestXqRouter(final HashMap<String, RestXqModule> modules) {
+    this.modules = modules;
+    for(final RestXqModule module : modules.values()) {
+      for(final RestXqFunction rxf : module.functions()) add(rxf);
+    }
+  }
+
+  /**
+   * Adds a function.
+   * @param rxf function
+   */
+  void add(final RestXqFunction rxf) {
+    if(rxf.path != null) {
+      Node node = root;
+      for(final String literal : rxf.path.literals()) {
+        Node child = node.children.get(literal);
+        if(child == null) {
+          child = new Node();
+          node.children.put(literal, child);
+        }
+        node = child;
+      }
+      node.functions.add(rxf);
+    }
+    if(rxf.error != null) errors.add(rxf);
+  }
+
+  /**
+   * Returns all functions that match the current request or the specified error code.
+   * @param http HTTP context
+   * @param error error code (optional)
+   * @return functions
+   */
+  ArrayList<RestXqFunction> find(final HTTPContext http, final QNm error) {
+    final ArrayList<RestXqFunction> list = new ArrayList<>();
+    for(final RestXqFunction rxf : error == null ? candidates(http.path()) : errors) {
+      if(rxf.matches(http, error)) list.add(rxf);
+    }
+    return list;
+  }
+
+  /**
+   * Returns all functions with path annotations that may match the specified path.
+   * @param path request path
+   * @return functions
+   */
+  ArrayList<RestXqFunction> candidates(final String path) {
+    final ArrayList<RestXqFunction> list = new ArrayList<>();
+    Node node = root;
+    list.addAll(node.functions);
+    if(path.startsWith("/")) {
+      final int pl = path.length();
+      for(int s = 1; s <= pl; s++) {
+        int e = path.indexOf('/', s);
+        if(e == -1) e = pl;
+        node = node.children.get(path.substring(s, e));
+        if(node == null) break;
+        list.addAll(node.functions);
+        s = e;
+      }
+    }
+    return list;
+  }
+
+  /** Trie node. */
+  private static final class Node {
+    /** Child nodes, indexed by literal segments. */
+    private final HashMap<String, Node> children = new HashMap<>();
+    /** Functions whose literal segments end at this node. */
+    private final ArrayList<RestXqFunction> functions = new ArrayList<>();
+  }
+}
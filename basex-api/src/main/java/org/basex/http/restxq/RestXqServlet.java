@@ -2,6 +2,8 @@ package org.basex.http.restxq;
 
 import static org.basex.http.restxq.RestXqText.*;
 
+import javax.servlet.*;
+
 import org.basex.http.*;
 import org.basex.query.*;
 
@@ -18,6 +20,18 @@ import org.basex.query.*;
  * @author Christian Gruen
  */
 public final class RestXqServlet extends BaseXServlet {
+  @Override
+  public void init(final ServletConfig config) throws ServletException {
+    super.init(config);
+    RestXqModules.get().open();
+  }
+
+  @Override
+  public void destroy() {
+    RestXqModules.get().close();
+    super.destroy();
+  }
+
   @Override
   protected void run(final HTTPContext http) throws Exception {
     // no trailing slash: send redirect
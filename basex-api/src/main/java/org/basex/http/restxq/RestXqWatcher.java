@@ -0,0 +1,127 @@
+package org.basex.http.restxq;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.*;
+import java.nio.file.*;
+
+import org.basex.core.*;
+import org.basex.io.*;
+import org.basex.util.*;
+
+/**
+ * This thread watches the RESTXQ directory and updates the route table if modules are
+ * added, modified or deleted. If the file system cannot be watched, the directory will
+ * be checked for changes in regular intervals.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+final class RestXqWatcher extends Thread {
+  /** Polling interval (ms). */
+  private static final long POLL = 1000;
+
+  /** Module cache. */
+  private final RestXqModules modules;
+  /** RESTXQ directory. */
+  private final IOFile root;
+  /** Database context. */
+  private final Context ctx;
+  /** Watch service ({@code null} if the directory is polled). */
+  private final WatchService service;
+  /** Closed flag. */
+  private volatile boolean closed;
+
+  /**
+   * Constructor.
+   * @param modules module cache
+   * @param root RESTXQ directory
+   * @param ctx database context
+   */
+  RestXqWatcher(final RestXqModules modules, final IOFile root, final Context ctx) {
+    super("RESTXQ watcher");
+    setDaemon(true);
+    this.modules = modules;
+    this.root = root;
+    this.ctx = ctx;
+
+    WatchService ws = null;
+    try {
+      ws = FileSystems.getDefault().newWatchService();
+      register(ws, root);
+    } catch(final IOException | UnsupportedOperationException ex) {
+      // fall back to polling
+      Util.debug(ex);
+      if(ws != null) close(ws);
+      ws = null;
+    }
+    service = ws;
+  }
+
+  @Override
+  public void run() {
+    while(!closed) {
+      try {
+        if(service == null) {
+          Performance.sleep(POLL);
+        } else {
+          // wait for changes, consume all pending events
+          WatchKey key = service.take();
+          for(; key != null; key = service.poll()) {
+            key.pollEvents();
+            key.reset();
+          }
+          // watch new directories
+          register(service, root);
+        }
+      } catch(final InterruptedException | ClosedWatchServiceException ex) {
+        // thread has been stopped
+        Util.debug(ex);
+      } catch(final IOException ex) {
+        // directory may have been deleted; errors will be raised by the next update
+        Util.debug(ex);
+      }
+      if(!closed) modules.update(root, ctx);
+    }
+  }
+
+  /**
+   * Stops watching the directory.
+   */
+  void close() {
+    closed = true;
+    if(service != null) close(service);
+    interrupt();
+  }
+
+  /**
+   * Recursively registers the specified directory and its subdirectories.
+   * @param ws watch service
+   * @param dir directory
+   * @throws IOException I/O exception
+   */
+  private static void register(final WatchService ws, final IOFile dir) throws IOException {
+    Paths.get(dir.path()).register(ws, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+    for(final IOFile child : dir.children()) {
+      if(!child.isDir()) continue;
+      try {
+        register(ws, child);
+      } catch(final IOException ex) {
+        // directory may have been deleted in the meantime
+        Util.debug(ex);
+      }
+    }
+  }
+
+  /**
+   * Closes the specified watch service.
+   * @param ws watch service
+   */
+  private static void close(final WatchService ws) {
+    try {
+      ws.close();
+    } catch(final IOException ex) {
+      Util.debug(ex);
+    }
+  }
+}
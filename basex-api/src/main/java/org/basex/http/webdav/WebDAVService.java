@@ -12,13 +12,14 @@ import org.basex.api.client.*;
 import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.basex.core.cmd.Set;
+import org.basex.core.users.*;
+import org.basex.data.*;
 import org.basex.http.*;
+import org.basex.io.*;
 import org.basex.io.in.*;
 import org.basex.io.serial.*;
-import org.basex.query.func.db.*;
 import org.basex.util.*;
 import org.basex.util.http.*;
-import org.basex.util.list.*;
 
 /**
  * Service handling the various WebDAV operations.
@@ -97,8 +98,8 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   boolean dbExists(final String db) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(_DB_EXISTS.args("$db")).bind("db", db);
-    return execute(query).equals(Text.TRUE);
+    final Context ctx = http.context(true);
+    return ctx.perm(Perm.READ, db) && ctx.soptions.dbExists(db);
   }
 
   /**
@@ -108,9 +109,7 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   long timestamp(final String db) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(DATA.args(_DB_INFO.args("$db") +
-        "/descendant::" + DbFn.toName(Text.TIMESTAMP) + "[1]")).bind("db",  db);
-    return DateTime.parse(execute(query)).getTime();
+    return meta(db).dbtime();
   }
 
   /**
@@ -121,19 +120,9 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   private WebDAVMetaData metaData(final String db, final String path) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(
-      "let $a := " + _DB_LIST_DETAILS.args("$db", "$path") + "[1] " +
-      "return string-join(($a/@raw, $a/@content-type, $a/@modified-date, $a/@size, $a),out:tab())");
-    query.bind("db", db);
-    query.bind("path", path);
-
-    final String[] result = results(query);
-    final boolean raw = Boolean.parseBoolean(result[0]);
-    final MediaType type = new MediaType(result[1]);
-    final long mod = DateTime.parse(result[2]).getTime();
-    final Long size = raw ? Long.valueOf(result[3]) : null;
-    final String pth = stripLeadingSlash(result[4]);
-    return new WebDAVMetaData(db, pth, mod, raw, type, size);
+    final WebDAVMetaData meta = tree(db).file(path);
+    if(meta == null) throw new BaseXException(Text.RES_NOT_FOUND_X, path);
+    return meta;
   }
 
   /**
@@ -289,33 +278,12 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   List<WebDAVResource> list(final String db, final String path) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(STRING_JOIN.args(
-      _DB_LIST_DETAILS.args("$db", "$path") + " ! (" +
-      "@raw,@content-type,@modified-date,@size," + SUBSTRING_AFTER.args("text()", "$path") + ')',
-      "out:tab()"));
-    query.bind("db", db);
-    query.bind("path", path);
-    final String[] result = results(query);
-
-    final HashSet<String> paths = new HashSet<>();
-    final List<WebDAVResource> ch = new ArrayList<>();
-    final int rs = result.length;
-    for(int r = 0; r < rs; r += 5) {
-      final boolean raw = Boolean.parseBoolean(result[r]);
-      final MediaType ctype = new MediaType(result[r + 1]);
-      final long mod = DateTime.parse(result[r + 2]).getTime();
-      final Long size = raw ? Long.valueOf(result[r + 3]) : null;
-      final String pth = stripLeadingSlash(result[r + 4]);
-      final int ix = pth.indexOf(SEP);
-      // check if document or folder
-      if(ix < 0) {
-        if(!pth.equals(DUMMY)) ch.add(WebDAVFactory.file(this,
-          new WebDAVMetaData(db, path + SEP + pth, mod, raw, ctype, size)));
-      } else {
-        final String dir = path + SEP + pth.substring(0, ix);
-        if(paths.add(dir)) ch.add(WebDAVFactory.folder(this, new WebDAVMetaData(db, dir, mod)));
-      }
-    }
+    final List<WebDAVMetaData> files = new ArrayList<>(), folders = new ArrayList<>();
+    tree(db).children(path, files, folders);
+
+    final List<WebDAVResource> ch = new ArrayList<>(files.size() + folders.size());
+    for(final WebDAVMetaData meta : files) ch.add(WebDAVFactory.file(this, meta));
+    for(final WebDAVMetaData meta : folders) ch.add(WebDAVFactory.folder(this, meta));
     return ch;
   }
 
@@ -325,16 +293,11 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   List<WebDAVResource> listDbs() throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(STRING_JOIN.args(
-        _DB_LIST_DETAILS.args() + "[. != $db] ! (text(), @modified-date)", "out:tab()"));
-    query.bind("db", WEBDAV_DB);
-
-    final String[] result = results(query);
+    final Context ctx = http.context(true);
     final List<WebDAVResource> dbs = new ArrayList<>();
-    final int rs = result.length;
-    for(int r = 0; r < rs; r += 2) {
-      final String name = result[r];
-      final long mod = DateTime.parse(result[r + 1]).getTime();
+    for(final String name : ctx.filter(Perm.READ, ctx.databases.listDBs())) {
+      if(name.equals(WEBDAV_DB)) continue;
+      final long mod = new MetaData(name, ctx.options, ctx.soptions).dbtime();
       dbs.add(WebDAVFactory.database(this, new WebDAVMetaData(name, mod)));
     }
     return dbs;
@@ -365,9 +328,10 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   WebDAVResource resource(final String db, final String path) throws IOException {
-    return exists(db, path) ?
-      WebDAVFactory.file(this, metaData(db, path)) :
-      pathExists(db, path) ?
+    final WebDAVTree tree = tree(db);
+    final WebDAVMetaData meta = tree.file(path);
+    return meta != null ? WebDAVFactory.file(this, meta) :
+      tree.exists(path) ?
         WebDAVFactory.folder(this, new WebDAVMetaData(db, path, timestamp(db))) :
         null;
   }
@@ -417,24 +381,7 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   private boolean pathExists(final String db, final String path) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(EXISTS.args(_DB_LIST.args("$db", "$path")));
-    query.bind("db", db);
-    query.bind("path", path);
-    return execute(query).equals(Text.TRUE);
-  }
-
-  /**
-   * Checks if any resource with the specified name exists.
-   * @param db name of database
-   * @param path resource path
-   * @return {@code true} if there are resources with the name
-   * @throws IOException I/O exception
-   */
-  private boolean exists(final String db, final String path) throws IOException {
-    final WebDAVQuery query = new WebDAVQuery(_DB_EXISTS.args("$db", "$path"));
-    query.bind("db", db);
-    query.bind("path", path);
-    return execute(query).equals(Text.TRUE);
+    return tree(db).exists(path);
   }
 
   /**
@@ -482,7 +429,11 @@ final class WebDAVService {
     final LocalSession session = session();
     session.execute(new Open(db));
     session.store(path, in);
-    return WebDAVFactory.file(this, metaData(db, path));
+
+    // create meta data from the stored file: the resource tree may be outdated
+    final IOFile file = meta(db).binary(path);
+    return WebDAVFactory.file(this, file == null ? metaData(db, path) :
+      new WebDAVMetaData(db, path, file.timeStamp(), true, MediaType.get(path), file.length()));
   }
 
   /**
@@ -556,17 +507,26 @@ final class WebDAVService {
   }
 
   /**
-   * Executes a query and returns all results as a list.
-   * @param query query to be executed
-   * @return result
-   * @throws IOException error during query execution
+   * Returns the resource tree of a database.
+   * @param db database
+   * @return resource tree
+   * @throws IOException I/O exception
    */
-  private String[] results(final WebDAVQuery query) throws IOException {
-    final StringList sl = new StringList();
-    for(final String result : Strings.split(execute(query), '\t')) {
-      if(!result.isEmpty()) sl.add(result);
-    }
-    return sl.finish();
+  private WebDAVTree tree(final String db) throws IOException {
+    return WebDAVTree.get(db, http.context(true));
+  }
+
+  /**
+   * Returns the meta data of a database without opening it.
+   * @param db database
+   * @return meta data
+   * @throws IOException I/O exception
+   */
+  private MetaData meta(final String db) throws IOException {
+    final Context ctx = http.context(true);
+    if(!ctx.perm(Perm.READ, db)) throw new BaseXException(Text.PERM_REQUIRED_X, Perm.READ);
+    if(!ctx.soptions.dbExists(db)) throw new BaseXException(Open.dbnf(db));
+    return new MetaData(db, ctx.options, ctx.soptions);
   }
 
   /**
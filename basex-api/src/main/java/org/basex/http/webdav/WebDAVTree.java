@@ -0,0 +1,230 @@
+package org.basex.http.webdav;
+
+import static org.basex.http.webdav.WebDAVUtils.*;
+import static org.basex.util.Token.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.List;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.core.locks.*;
+import org.basex.core.users.*;
+import org.basex.data.*;
+import org.basex.index.resource.*;
+import org.basex.io.*;
+import org.basex.util.*;
+import org.basex.util.http.*;
+import org.basex.util.list.*;
+
+/**
+ * Directory tree with the resources of a database. Trees are built from the resource index
+ * and cached until the database is updated.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+final class WebDAVTree {
+  /** Cached trees, indexed by database directories. */
+  private static final HashMap<String, WebDAVTree> TREES = new HashMap<>();
+
+  /** Update counter of the database at the time the tree was built. */
+  private final long version;
+  /** Root node. */
+  private final Node root = new Node();
+
+  /**
+   * Constructor.
+   * @param data data reference
+   * @param version update counter of the database
+   */
+  private WebDAVTree(final Data data, final long version) {
+    this.version = version;
+
+    final String db = data.meta.name;
+    final Resources res = data.resources;
+    final IntList il = res.docs("");
+    final int is = il.size();
+    for(int i = 0; i < is; i++) {
+      final int pre = il.get(i);
+      final String path = stripLeadingSlash(string(data.text(pre, true)));
+      add(path, new WebDAVMetaData(db, path, data.meta.time, false, MediaType.APPLICATION_XML,
+          null), data.meta.time);
+    }
+    for(final byte[] bin : res.binaries("")) {
+      final String path = string(bin);
+      final IOFile file = data.meta.binary(path);
+      final long time = file.timeStamp();
+      add(path, new WebDAVMetaData(db, path, time, true, MediaType.get(path), file.length()),
+          time);
+    }
+  }
+
+  /**
+   * Returns the tree of the specified database. A new tree is built if the database has been
+   * updated since the cached tree was created.
+   * @param db name of database
+   * @param ctx database context
+   * @return tree
+   * @throws IOException I/O exception
+   */
+  static WebDAVTree get(final String db, final Context ctx) throws IOException {
+    if(!ctx.perm(Perm.READ, db)) throw new BaseXException(Text.PERM_REQUIRED_X, Perm.READ);
+
+    final String key = ctx.soptions.dbPath(db).path();
+    WebDAVTree tree;
+    synchronized(TREES) { tree = TREES.get(key); }
+    if(tree != null && tree.version == ctx.databases.version(db)) return tree;
+
+    final Build build = new Build(db);
+    try {
+      build.execute(ctx);
+    } catch(final BaseXException ex) {
+      synchronized(TREES) { TREES.remove(key); }
+      throw ex;
+    }
+    tree = build.tree;
+    synchronized(TREES) {
+      final WebDAVTree old = TREES.get(key);
+      if(old == null || old.version < tree.version) TREES.put(key, tree);
+    }
+    return tree;
+  }
+
+  /**
+   * Returns the meta data of the resource at the specified path.
+   * @param path path
+   * @return meta data, or {@code null} if no resource exists
+   */
+  WebDAVMetaData file(final String path) {
+    final Node node = node(path);
+    return node != null ? node.file : null;
+  }
+
+  /**
+   * Checks if a resource exists at the specified path, or if resources exist in a folder
+   * with this path.
+   * @param path path
+   * @return result of check
+   */
+  boolean exists(final String path) {
+    final Node node = node(path);
+    return node != null && (node.file != null || node.children != null);
+  }
+
+  /**
+   * Returns the meta data of the direct children of the specified path. Dummy files are
+   * skipped.
+   * @param path path
+   * @param files files
+   * @param folders folders
+   */
+  void children(final String path, final List<WebDAVMetaData> files,
+      final List<WebDAVMetaData> folders) {
+    final Node node = node(path);
+    if(node == null || node.children == null) return;
+    for(final Map.Entry<String, Node> entry : node.children.entrySet()) {
+      final Node child = entry.getValue();
+      if(child.file != null && !entry.getKey().equals(DUMMY)) files.add(child.file);
+      if(child.folder != null) folders.add(child.folder);
+    }
+  }
+
+  /**
+   * Adds a resource.
+   * @param path path
+   * @param meta meta data
+   * @param time modification time
+   */
+  private void add(final String path, final WebDAVMetaData meta, final long time) {
+    Node node = root;
+    final int pl = path.length();
+    for(int s = 0; s < pl;) {
+      int e = path.indexOf(SEP, s);
+      if(e == -1) e = pl;
+      if(e > s) {
+        if(node.children == null) node.children = new TreeMap<>();
+        final String name = path.substring(s, e);
+        Node child = node.children.get(name);
+        if(child == null) {
+          child = new Node();
+          node.children.put(name, child);
+        }
+        node = child;
+        if(e == pl) {
+          // the first of several resources with the same path will be returned
+          if(node.file == null) node.file = meta;
+        } else if(node.folder == null) {
+          // folders adopt the modification time of their first resource
+          node.folder = new WebDAVMetaData(meta.db, path.substring(0, e), time);
+        }
+      }
+      s = e + 1;
+    }
+  }
+
+  /**
+   * Returns the node at the specified path.
+   * @param path path
+   * @return node, or {@code null}
+   */
+  private Node node(final String path) {
+    Node node = root;
+    final int pl = path.length();
+    for(int s = 0; s < pl && node != null;) {
+      int e = path.indexOf(SEP, s);
+      if(e == -1) e = pl;
+      if(e > s) node = node.children != null ? node.children.get(path.substring(s, e)) : null;
+      s = e + 1;
+    }
+    return node;
+  }
+
+  /** Tree node. */
+  private static final class Node {
+    /** Child nodes, sorted by their names ({@code null} if the node has no children). */
+    private TreeMap<String, Node> children;
+    /** Meta data of the resource with this path ({@code null} if there is no resource). */
+    private WebDAVMetaData file;
+    /** Meta data of the folder with this path ({@code null} if the folder is empty). */
+    private WebDAVMetaData folder;
+  }
+
+  /** Command for building a tree while the database is locked for reading. */
+  private static final class Build extends Command {
+    /** Resulting tree. */
+    private WebDAVTree tree;
+
+    /**
+     * Constructor.
+     * @param db name of database
+     */
+    private Build(final String db) {
+      super(Perm.NONE, db);
+    }
+
+    @Override
+    protected boolean run() {
+      final String db = args[0];
+      // retrieve counter first: database will not be updated as long as it is locked
+      final long version = context.databases.version(db);
+      try {
+        final Data data = Open.open(db, context, options);
+        try {
+          tree = new WebDAVTree(data, version);
+        } finally {
+          Close.close(data, context);
+        }
+      } catch(final IOException ex) {
+        return error(Util.message(ex));
+      }
+      return true;
+    }
+
+    @Override
+    public void databases(final LockResult lr) {
+      lr.read.add(args[0]);
+    }
+  }
+}
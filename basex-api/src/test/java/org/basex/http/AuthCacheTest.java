@@ -0,0 +1,67 @@
+package org.basex.http;
+
+import static org.junit.Assert.*;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.core.users.*;
+import org.basex.util.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * Tests for caching logins.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class AuthCacheTest extends SandboxTest {
+  /** Enables the cache and creates a test user. */
+  @Before
+  public void init() {
+    context.soptions.set(StaticOptions.AUTHCACHE, 60);
+    execute(new CreateUser(NAME, NAME));
+  }
+
+  /** Disables the cache and drops the test user. */
+  @After
+  public void finish() {
+    execute(new DropUser(NAME));
+    context.soptions.set(StaticOptions.AUTHCACHE, 0);
+  }
+
+  /** Reuses and invalidates logins. */
+  @Test
+  public void matches() {
+    final AuthCache cache = new AuthCache();
+    User user = context.users.get(NAME);
+    assertTrue(cache.matches(user, NAME, context));
+    assertTrue(cache.matches(user, NAME, context));
+    assertFalse(cache.matches(user, "x", context));
+
+    // changed password
+    execute(new AlterPassword(NAME, "x"));
+    assertFalse(cache.matches(user, NAME, context));
+    assertTrue(cache.matches(user, "x", context));
+
+    // recreated user
+    execute(new DropUser(NAME));
+    execute(new CreateUser(NAME, NAME));
+    user = context.users.get(NAME);
+    assertFalse(cache.matches(user, "x", context));
+    assertTrue(cache.matches(user, NAME, context));
+  }
+
+  /** Discards expired logins. */
+  @Test
+  public void expire() {
+    context.soptions.set(StaticOptions.AUTHCACHE, 1);
+    final AuthCache cache = new AuthCache();
+    assertTrue(cache.matches(context.users.get(NAME), NAME, context));
+    assertEquals(1, cache.size());
+    Performance.sleep(1100);
+    assertTrue(cache.matches(context.users.get(UserText.ADMIN), UserText.ADMIN, context));
+    assertEquals(1, cache.size());
+  }
+}
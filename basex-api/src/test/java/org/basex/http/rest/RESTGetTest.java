@@ -3,6 +3,7 @@ package org.basex.http.rest;
 import static org.junit.Assert.*;
 
 import java.io.*;
+import java.net.*;
 
 import org.basex.core.*;
 import org.basex.io.*;
@@ -34,6 +35,59 @@ public final class RESTGetTest extends RESTTest {
     delete(NAME);
   }
 
+  /**
+   * Flushes results in chunks.
+   * @throws IOException I/O exception
+   */
+  @Test
+  public void flush() throws IOException {
+    assertEquals("1\n2\n3", get("?query=1+to+3&flush=1"));
+    assertEquals("{\"a\":1}\n{\"a\":2}", get("?query=(1,2)!map%7B'a':.%7D"
+        + "&method=json&indent=no&item-separator=%0A&flush=1"));
+  }
+
+  /**
+   * Retrieves byte ranges of a binary resource.
+   * @throws Exception exception
+   */
+  @Test
+  public void range() throws Exception {
+    put(NAME, new ArrayInput("<a/>"));
+    put(NAME + "/raw", new ArrayInput("0123456789"), MediaType.APPLICATION_OCTET_STREAM);
+    assertEquals("0123456789", range(NAME + "/raw", null, HttpURLConnection.HTTP_OK));
+    assertEquals("234", range(NAME + "/raw", "bytes=2-4", HttpURLConnection.HTTP_PARTIAL));
+    assertEquals("789", range(NAME + "/raw", "bytes=7-", HttpURLConnection.HTTP_PARTIAL));
+    assertEquals("89", range(NAME + "/raw", "bytes=-2", HttpURLConnection.HTTP_PARTIAL));
+    assertEquals("9", range(NAME + "/raw", "bytes=9-20", HttpURLConnection.HTTP_PARTIAL));
+    // unsupported or invalid ranges are ignored
+    assertEquals("0123456789", range(NAME + "/raw", "bytes=1-2,4-5", HttpURLConnection.HTTP_OK));
+    assertEquals("0123456789", range(NAME + "/raw", "bytes=5-2", HttpURLConnection.HTTP_OK));
+    // unsatisfiable range
+    assertEquals("", range(NAME + "/raw", "bytes=10-", 416));
+    delete(NAME);
+  }
+
+  /**
+   * Executes a GET request with the specified range and returns the result.
+   * @param query request
+   * @param range range header (can be {@code null})
+   * @param code expected response code
+   * @return string result
+   * @throws IOException I/O exception
+   */
+  private static String range(final String query, final String range, final int code)
+      throws IOException {
+    final IOUrl url = new IOUrl(REST_ROOT + query);
+    final HttpURLConnection conn = (HttpURLConnection) url.connection();
+    try {
+      if(range != null) conn.setRequestProperty(HttpText.RANGE, range);
+      assertEquals(code, conn.getResponseCode());
+      return read(code == 416 ? conn.getErrorStream() : conn.getInputStream());
+    } finally {
+      conn.disconnect();
+    }
+  }
+
   /**
    * GET Test.
    * @throws Exception exception
@@ -0,0 +1,220 @@
+package org.basex.http.restxq;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.concurrent.*;
+
+import org.basex.core.*;
+import org.basex.http.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * This test contains RESTXQ tests for requests that are evaluated asynchronously.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class RestXqAsyncTest extends RestXqTest {
+  /** Functions. */
+  private static final String FUNCTIONS =
+      "declare %R:path('slow') function m:slow() {" +
+      "  Q{java:org.basex.http.restxq.RestXqAsyncTest}block(), 'slow' };" +
+      "declare %R:path('fast') function m:fast() {" +
+      "  Q{java:java.lang.Thread}currentThread() ! Q{java:java.lang.Thread}getName(.) };";
+
+  /** Counts down when the slow function is evaluated. */
+  private static volatile CountDownLatch started = new CountDownLatch(0);
+  /** Blocks the evaluation of the slow function. */
+  private static volatile CountDownLatch release = new CountDownLatch(0);
+
+  /**
+   * Start server.
+   * @throws Exception exception
+   */
+  @BeforeClass
+  public static void start() throws Exception {
+    final StaticOptions sopts = HTTPContext.init().soptions;
+    sopts.set(StaticOptions.RESTXQTHREADS, 2);
+    sopts.set(StaticOptions.RESTXQQUEUE, 1);
+    RestXqTest.start();
+  }
+
+  /** Blocks the slow function. */
+  @Before
+  public void init() {
+    release = new CountDownLatch(1);
+  }
+
+  /** Finishes blocked functions and resets the options. */
+  @After
+  public void reset() {
+    release.countDown();
+    final StaticOptions sopts = HTTPContext.init().soptions;
+    sopts.set(StaticOptions.RESTXQLIMIT, 0);
+    sopts.set(StaticOptions.RESTXQWAIT, 0);
+  }
+
+  /** Finishes the test. */
+  @AfterClass
+  public static void finish() {
+    final StaticOptions sopts = HTTPContext.init().soptions;
+    sopts.set(StaticOptions.RESTXQTHREADS, 0);
+    sopts.set(StaticOptions.RESTXQQUEUE, StaticOptions.RESTXQQUEUE.value());
+  }
+
+  /**
+   * Called by the slow function: signals that the function is evaluated, and waits until it
+   * is released by the test.
+   * @throws InterruptedException interrupted exception
+   */
+  public static void block() throws InterruptedException {
+    started.countDown();
+    release.await();
+  }
+
+  /**
+   * Evaluates requests in dedicated threads.
+   * @throws Exception exception
+   */
+  @Test
+  public void threads() throws Exception {
+    install(FUNCTIONS);
+    assertTrue(get("fast").startsWith("RESTXQ-"));
+  }
+
+  /**
+   * Rejects requests if the maximum number of parallel requests is reached.
+   * @throws Exception exception
+   */
+  @Test
+  public void limit() throws Exception {
+    HTTPContext.init().soptions.set(StaticOptions.RESTXQLIMIT, 1);
+    install(FUNCTIONS);
+    final Request[] slow = slow(1);
+    rejected("slow");
+    // other functions can still be called
+    assertTrue(get("fast").startsWith("RESTXQ-"));
+    release.countDown();
+    assertEquals("slow", slow[0].result());
+    assertEquals("slow", get("slow"));
+  }
+
+  /**
+   * Rejects requests that have been waiting too long, while all threads are still busy.
+   * @throws Exception exception
+   */
+  @Test
+  public void waiting() throws Exception {
+    HTTPContext.init().soptions.set(StaticOptions.RESTXQWAIT, 1);
+    install(FUNCTIONS);
+    final Request[] slow = slow(2);
+    rejected("fast");
+    release.countDown();
+    for(final Request request : slow) assertEquals("slow", request.result());
+    assertTrue(get("fast").startsWith("RESTXQ-"));
+  }
+
+  /**
+   * Rejects requests if the queue is full.
+   * @throws Exception exception
+   */
+  @Test
+  public void queue() throws Exception {
+    install(FUNCTIONS);
+    final Request[] slow = slow(2);
+    // one request will be queued, the other one will be rejected immediately
+    final CountDownLatch done = new CountDownLatch(1);
+    final Request fast1 = new Request("fast", done, false);
+    final Request fast2 = new Request("fast", done, false);
+    done.await();
+    release.countDown();
+    for(final Request request : slow) assertEquals("slow", request.result());
+
+    final String result1 = fast1.result(), result2 = fast2.result();
+    final String full = HTTPCode.QUEUE_FULL.get().getMessage();
+    assertTrue(result1 + ", " + result2,
+        result1.startsWith("RESTXQ-") && result2.contains(full) ||
+        result2.startsWith("RESTXQ-") && result1.contains(full));
+  }
+
+  /**
+   * Checks if a request is rejected.
+   * @param query request
+   * @throws IOException I/O exception
+   */
+  private static void rejected(final String query) throws IOException {
+    try {
+      get(query);
+      fail("Request should have been rejected: " + query);
+    } catch(final BaseXException ignored) {
+    }
+  }
+
+  /**
+   * Calls the slow function in separate threads and waits until all calls are being evaluated.
+   * @param count number of calls
+   * @return requests
+   * @throws InterruptedException interrupted exception
+   */
+  private static Request[] slow(final int count) throws InterruptedException {
+    started = new CountDownLatch(count);
+    final Request[] requests = new Request[count];
+    for(int c = 0; c < count; c++) requests[c] = new Request("slow", null, true);
+    started.await();
+    return requests;
+  }
+
+  /** Request that is sent in a separate thread. */
+  private static final class Request extends Thread {
+    /** Query. */
+    private final String query;
+    /** Counts down when the request has been completed (can be {@code null}). */
+    private final CountDownLatch done;
+    /** Send request again if the queue is full. */
+    private final boolean retry;
+    /** Result, or error message. */
+    private String result;
+
+    /**
+     * Constructor. Sends the request.
+     * @param query query
+     * @param done counts down when the request has been completed (can be {@code null})
+     * @param retry send request again if the queue is full (threads may still be busy with
+     *   finishing the requests of previous tests)
+     */
+    private Request(final String query, final CountDownLatch done, final boolean retry) {
+      this.query = query;
+      this.done = done;
+      this.retry = retry;
+      start();
+    }
+
+    @Override
+    public void run() {
+      final String full = HTTPCode.QUEUE_FULL.get().getMessage();
+      try {
+        do {
+          try {
+            result = get(query);
+          } catch(final IOException ex) {
+            result = ex.getMessage();
+          }
+        } while(retry && result.contains(full));
+      } finally {
+        if(done != null) done.countDown();
+      }
+    }
+
+    /**
+     * Waits until the request has been completed and returns the result.
+     * @return result, or error message
+     * @throws InterruptedException interrupted exception
+     */
+    private String result() throws InterruptedException {
+      join();
+      return result;
+    }
+  }
+}
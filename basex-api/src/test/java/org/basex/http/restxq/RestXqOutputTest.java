@@ -1,5 +1,13 @@
 package org.basex.http.restxq;
 
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.net.*;
+
+import org.basex.io.*;
+import org.basex.util.*;
+import org.basex.util.http.*;
 import org.junit.*;
 
 /**
@@ -47,4 +55,91 @@ public final class RestXqOutputTest extends RestXqTest {
         "</R:response>," +
         "1+<a/> };", "");
   }
+
+  /**
+   * Cached responses.
+   * @throws Exception exception
+   */
+  @Test
+  public void cache() throws Exception {
+    install("declare %R:path('c') %R:cache function m:c() { count(db:open('" + NAME +
+        "')//x) };" +
+        "declare %updating %R:path('i') function m:i() { db:create('" + NAME +
+        "', <a><x/></a>, 'a.xml') };" +
+        "declare %updating %R:path('u') function m:u() { insert node <x/> into db:open('" +
+        NAME + "')/a };" +
+        "declare %updating %R:path('d') function m:d() { db:drop('" + NAME + "') };");
+    get("i");
+    final String etag = cache(null, HttpURLConnection.HTTP_OK, "1");
+    // cached response: body is only sent if the entity tag differs
+    assertEquals(etag, cache(null, HttpURLConnection.HTTP_OK, "1"));
+    assertEquals(etag, cache(etag, HttpURLConnection.HTTP_NOT_MODIFIED, ""));
+    assertEquals(etag, cache("*", HttpURLConnection.HTTP_NOT_MODIFIED, ""));
+    assertEquals(etag, cache("\"x\", " + etag, HttpURLConnection.HTTP_NOT_MODIFIED, ""));
+    // response is invalidated by updates
+    get("u");
+    assertNotEquals(etag, cache(etag, HttpURLConnection.HTTP_OK, "2"));
+    get("d");
+  }
+
+  /**
+   * Responses that are not cached.
+   * @throws Exception exception
+   */
+  @Test
+  public void cacheSkipped() throws Exception {
+    final int size = RestXqCache.MAX_SIZE + 1;
+    install("declare %R:path('s') %R:cache function m:s() { 'x' };" +
+        "declare %R:path('l') %R:cache function m:l() { string-join((1 to " + size +
+        ") ! 'x') };");
+    assertNotNull(etag("s", null, 1));
+    // requests with credentials
+    assertNull(etag("s", "Basic " + Base64.encode("admin:admin"), 1));
+    // large responses are streamed
+    assertNull(etag("l", null, size));
+  }
+
+  /**
+   * Executes a GET request and returns the entity tag.
+   * @param path request path
+   * @param auth authorization header (can be {@code null})
+   * @param length expected length of the response
+   * @return entity tag
+   * @throws IOException I/O exception
+   */
+  private static String etag(final String path, final String auth, final int length)
+      throws IOException {
+    final IOUrl url = new IOUrl(HTTP_ROOT + path);
+    final HttpURLConnection conn = (HttpURLConnection) url.connection();
+    try {
+      if(auth != null) conn.setRequestProperty(HttpText.AUTHORIZATION, auth);
+      assertEquals(HttpURLConnection.HTTP_OK, conn.getResponseCode());
+      assertEquals(length, read(conn.getInputStream()).length());
+      return conn.getHeaderField(HttpText.ETAG);
+    } finally {
+      conn.disconnect();
+    }
+  }
+
+  /**
+   * Executes a GET request for a cached response and returns the entity tag.
+   * @param match entity tags to be sent with the request (can be {@code null})
+   * @param code expected response code
+   * @param exp expected result
+   * @return entity tag
+   * @throws IOException I/O exception
+   */
+  private static String cache(final String match, final int code, final String exp)
+      throws IOException {
+    final IOUrl url = new IOUrl(HTTP_ROOT + "c");
+    final HttpURLConnection conn = (HttpURLConnection) url.connection();
+    try {
+      if(match != null) conn.setRequestProperty(HttpText.IF_NONE_MATCH, match);
+      assertEquals(code, conn.getResponseCode());
+      assertEquals(exp, read(conn.getInputStream()));
+      return conn.getHeaderField(HttpText.ETAG);
+    } finally {
+      conn.disconnect();
+    }
+  }
 }
@@ -4,6 +4,7 @@ import static org.junit.Assert.*;
 
 import java.io.*;
 
+import org.basex.util.*;
 import org.junit.*;
 
 /**
@@ -41,6 +42,27 @@ public final class RestXqPathTest extends RestXqTest {
     get("declare %R:path('/test') function m:f() {'ok'};", "test", "ok");
   }
 
+  /**
+   * Detects new modules in the background.
+   * @throws Exception exception
+   */
+  @Test
+  public void watch() throws Exception {
+    get("declare %R:path('a') function m:f() {'a'};", "a", "a");
+    add("declare %R:path('b') function m:g() {'b'};");
+    // wait until the route table has been updated
+    String result = null;
+    for(int i = 0; i < 100 && result == null; i++) {
+      try {
+        result = get("b");
+      } catch(final IOException ex) {
+        Performance.sleep(100);
+      }
+    }
+    assertEquals("b", result);
+    assertEquals("a", get("a"));
+  }
+
   /**
    * Retrieves paths with variables.
    * @throws Exception exception
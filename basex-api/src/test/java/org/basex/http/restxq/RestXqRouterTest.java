@@ -0,0 +1,136 @@
+package org.basex.http.restxq;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.basex.*;
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.util.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * RESTXQ router tests.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class RestXqRouterTest extends SandboxTest {
+  /** Path templates. */
+  private static final String[] TEMPLATES = {
+    "", "/", "a", "/a/", "/a/b", "/a/{$x}", "/a/{$x}/c", "{$x}", "/{$x}/b", "/a/b{$x}",
+    "/a/{$x=.+}", "/a%20b/c", "/x/y/z", "/x/{$x=[0-9]+}/z", "/x/y/{$x}"
+  };
+  /** Request paths. */
+  private static final String[] PATHS = {
+    "/", "/a", "/a/", "/a/b", "/a/b/", "/a/b/c", "/a/bc", "/a/b/c/d", "/b", "/b/b", "/a b/c",
+    "/x/y/z", "/x/1/z", "/x/y/1", "/q", ""
+  };
+
+  /**
+   * Checks that the router returns the same functions as a linear scan.
+   * @throws Exception exception
+   */
+  @Test
+  public void candidates() throws Exception {
+    final StringBuilder sb = new StringBuilder();
+    final int tl = TEMPLATES.length;
+    for(int t = 0; t < tl; t++) {
+      final String param = TEMPLATES[t].contains("$x") ? "$x" : "";
+      sb.append("declare %rest:path('").append(TEMPLATES[t]).append("') function m:f").
+        append(t).append('(').append(param).append(") { () };\n");
+    }
+    try(final QueryContext qc = new QueryContext(context)) {
+      final ArrayList<RestXqFunction> funcs = functions(sb.toString(), qc);
+      assertEquals(tl, funcs.size());
+      final RestXqRouter router = new RestXqRouter(new HashMap<String, RestXqModule>());
+      for(final RestXqFunction rxf : funcs) router.add(rxf);
+
+      for(final String path : PATHS) {
+        assertEquals(path, linear(funcs, path), trie(router, path));
+      }
+    }
+  }
+
+  /**
+   * Compares the dispatch costs of a linear scan and the router.
+   * @throws Exception exception
+   */
+  @Test
+  @Ignore("Performance test")
+  public void performance() throws Exception {
+    final int endpoints = 2000, runs = 100000;
+    final StringBuilder sb = new StringBuilder();
+    for(int e = 0; e < endpoints; e++) {
+      sb.append("declare %rest:path('/app").append(e % 50).append("/res").append(e).
+        append("/{$id}') function m:f").append(e).append("($id) { () };\n");
+    }
+    try(final QueryContext qc = new QueryContext(context)) {
+      final ArrayList<RestXqFunction> funcs = functions(sb.toString(), qc);
+      final RestXqRouter router = new RestXqRouter(new HashMap<String, RestXqModule>());
+      for(final RestXqFunction rxf : funcs) router.add(rxf);
+
+      final String[] paths = new String[endpoints];
+      for(int e = 0; e < endpoints; e++) paths[e] = "/app" + e % 50 + "/res" + e + "/123";
+
+      int hits = 0;
+      Performance perf = new Performance();
+      for(int r = 0; r < runs; r++) hits += linear(funcs, paths[r % endpoints]).size();
+      Util.outln("Linear scan: " + perf.getTime(runs));
+      perf = new Performance();
+      for(int r = 0; r < runs; r++) hits -= trie(router, paths[r % endpoints]).size();
+      Util.outln("Router:      " + perf.getTime(runs));
+      assertEquals(0, hits);
+    }
+  }
+
+  /**
+   * Parses the specified module and returns its RESTXQ functions.
+   * @param functions function declarations
+   * @param qc query context
+   * @return functions
+   * @throws Exception exception
+   */
+  private static ArrayList<RestXqFunction> functions(final String functions,
+      final QueryContext qc) throws Exception {
+    qc.parse("module namespace m = 'm';\ndeclare namespace rest = 'http://exquery.org/ns/restxq';\n"
+        + functions, "m.xqm", null);
+    final ArrayList<RestXqFunction> list = new ArrayList<>();
+    for(final StaticFunc sf : qc.funcs.funcs()) {
+      final RestXqFunction rxf = new RestXqFunction(sf, qc, null);
+      if(rxf.parse(context)) list.add(rxf);
+    }
+    return list;
+  }
+
+  /**
+   * Returns the functions whose paths match the specified path via a linear scan.
+   * @param funcs functions
+   * @param path request path
+   * @return matching functions
+   */
+  private static HashSet<RestXqFunction> linear(final ArrayList<RestXqFunction> funcs,
+      final String path) {
+    final HashSet<RestXqFunction> set = new HashSet<>();
+    for(final RestXqFunction rxf : funcs) {
+      if(rxf.path.matches(path)) set.add(rxf);
+    }
+    return set;
+  }
+
+  /**
+   * Returns the functions whose paths match the specified path via the router.
+   * @param router router
+   * @param path request path
+   * @return matching functions
+   */
+  private static HashSet<RestXqFunction> trie(final RestXqRouter router, final String path) {
+    final HashSet<RestXqFunction> set = new HashSet<>();
+    for(final RestXqFunction rxf : router.candidates(path)) {
+      if(rxf.path.matches(path)) set.add(rxf);
+    }
+    return set;
+  }
+}
@@ -87,6 +87,17 @@ public abstract class RestXqTest extends HTTPTest {
     final String path = context.soptions.get(StaticOptions.WEBPATH);
     for(final IOFile f : new IOFile(path).children()) assertTrue(f.delete());
     // create new module
+    add(function);
+    // parse modules with the next request (changes are otherwise detected asynchronously)
+    RestXqModules.get().init();
+  }
+
+  /**
+   * Adds a new module. The change will be detected asynchronously by the directory watcher.
+   * @param function function to be added
+   * @throws IOException I/O exception
+   */
+  protected static void add(final String function) throws IOException {
     module().write(new TokenBuilder(HEADER).add(function).finish());
   }
 
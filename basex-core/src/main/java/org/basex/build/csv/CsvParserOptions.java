@@ -11,6 +11,8 @@ import org.basex.util.options.*;
 public final class CsvParserOptions extends CsvOptions {
   /** Option: encoding. */
   public static final StringOption ENCODING = new StringOption("encoding");
+  /** Option: return records one by one (only evaluated by csv:parse). */
+  public static final BooleanOption STREAM = new BooleanOption("stream", false);
 
   /**
    * Default constructor.
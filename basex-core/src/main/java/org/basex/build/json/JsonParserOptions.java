@@ -24,6 +24,10 @@ public final class JsonParserOptions extends JsonOptions {
   public static final BooleanOption VALIDATE = new BooleanOption("validate", false);
   /** Option: encoding (custom). */
   public static final StringOption ENCODING = new StringOption("encoding");
+  /** Option: parse newline-delimited input, return one value per line (custom). */
+  public static final BooleanOption LINES = new BooleanOption("lines", false);
+  /** Option: path to the values that will be returned one by one (custom). */
+  public static final StringOption PATH = new StringOption("path", "");
 
   /** Duplicate handling. */
   public enum JsonDuplicates {
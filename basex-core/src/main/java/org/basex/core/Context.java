@@ -1,11 +1,13 @@
 package org.basex.core;
 
+import java.util.*;
 import java.util.concurrent.*;
 
 import org.basex.core.locks.*;
 import org.basex.core.users.*;
 import org.basex.data.*;
 import org.basex.io.random.*;
+import org.basex.io.serial.*;
 import org.basex.query.*;
 import org.basex.query.util.pkg.*;
 import org.basex.query.value.seq.*;
@@ -30,6 +32,10 @@ public final class Context {
   public final ClientBlocker blocker;
   /** Asynchronous queries. */
   public final QueryPool queries;
+  /** Compiled queries. */
+  public final QueryCache cache;
+  /** Serialized documents. */
+  public final DocumentCache documents;
   /** Options. */
   public final MainOptions options;
   /** Static options. */
@@ -49,6 +55,8 @@ public final class Context {
 
   /** Running processes. */
   private final ConcurrentHashMap<Proc, Object> procs;
+  /** Resources shared by all queries, indexed by their class. */
+  private final Map<Class<? extends QueryResource>, QueryResource> resources;
   /** Process locking. */
   private final Locking locks;
 
@@ -111,6 +119,9 @@ public final class Context {
     repo = ctx.repo;
     log = ctx.log;
     queries = ctx.queries;
+    cache = ctx.cache;
+    documents = ctx.documents;
+    resources = ctx.resources;
     procs = ctx.procs;
   }
 
@@ -131,6 +142,9 @@ public final class Context {
     repo = new EXPathRepo(soptions);
     log = new Log(soptions);
     queries = new QueryPool();
+    cache = new QueryCache();
+    documents = new DocumentCache(soptions);
+    resources = new HashMap<>();
     user = users.get(UserText.ADMIN);
     listener = null;
     procs = new ConcurrentHashMap<>();
@@ -153,6 +167,29 @@ public final class Context {
     user = us;
   }
 
+  /**
+   * Returns a resource of the specified class that is shared by all queries of this context,
+   * such as a connection pool. If it does not exist yet, it will be created via its public
+   * constructor without arguments. It will be closed with this context.
+   * @param <R> resource type
+   * @param type class of the resource
+   * @return resource
+   */
+  public <R extends QueryResource> R resource(final Class<R> type) {
+    synchronized(resources) {
+      R res = type.cast(resources.get(type));
+      if(res == null) {
+        try {
+          res = type.newInstance();
+        } catch(final Exception ex) {
+          throw Util.notExpected(ex);
+        }
+        resources.put(type, res);
+      }
+      return res;
+    }
+  }
+
   /**
    * Closes the database context. Must only be called on the global database context,
    * and not on client instances.
@@ -164,6 +201,10 @@ public final class Context {
     // stop sessions, close data references
     while(!sessions.isEmpty()) sessions.get(0).quit();
     datas.close();
+    synchronized(resources) {
+      for(final QueryResource res : resources.values()) res.close();
+      resources.clear();
+    }
     log.close();
   }
 
@@ -289,6 +330,12 @@ public final class Context {
     final StringList write = prepareLock(lr.write, lr.writeAll);
     final StringList read = write == null ? null : prepareLock(lr.read, lr.readAll);
     locks.acquire(pr, read, write);
+    // invalidate compiled queries and cached contents of databases to be updated
+    if(write == null || !write.isEmpty()) {
+      cache.invalidate(write, this);
+      documents.invalidate(write);
+      databases.updating(write);
+    }
   }
 
   /**
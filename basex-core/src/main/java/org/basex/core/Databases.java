@@ -3,6 +3,7 @@ package org.basex.core;
 import java.util.*;
 import java.util.regex.*;
 
+import org.basex.core.locks.*;
 import org.basex.io.*;
 import org.basex.util.*;
 import org.basex.util.list.*;
@@ -36,6 +37,12 @@ public final class Databases {
 
   /** Static options. */
   private final StaticOptions soptions;
+  /** Update counters of single databases. */
+  private final HashMap<String, Long> versions = new HashMap<>();
+  /** Update counter. */
+  private long version;
+  /** Counter of the last update that may have affected all databases. */
+  private long versionAll;
 
   /**
    * Creates a new instance and loads available databases.
@@ -122,6 +129,33 @@ public final class Databases {
     return Pattern.compile(nm, Prop.CASE ? 0 : Pattern.CASE_INSENSITIVE);
   }
 
+  /**
+   * Registers an update of the specified databases. Called whenever a process acquires
+   * write locks.
+   * @param dbs names of databases ({@code null} if all databases may be updated)
+   */
+  public synchronized void updating(final StringList dbs) {
+    final long v = ++version;
+    if(dbs == null || dbs.contains(DBLocking.ADMIN) || dbs.contains(DBLocking.REPO)) {
+      versionAll = v;
+    } else {
+      for(final String db : dbs) versions.put(db, v);
+    }
+  }
+
+  /**
+   * Returns the update counter of the specified database. The counter increases whenever
+   * the database may have been updated, and can be used to invalidate cached database
+   * contents.
+   * @param db name of database ({@code null}: return counter of the last update of any database)
+   * @return counter
+   */
+  public synchronized long version(final String db) {
+    if(db == null) return version;
+    final Long v = versions.get(db);
+    return v == null ? versionAll : Math.max(v, versionAll);
+  }
+
   /**
    * Returns the names of all backups.
    * @return backups
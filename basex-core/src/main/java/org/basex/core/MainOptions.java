@@ -152,6 +152,8 @@ public final class MainOptions extends Options {
   /** Exporter serialization parameters. */
   public static final OptionsOption<SerializerOptions> EXPORTER =
       new OptionsOption<>("EXPORTER", new SerializerOptions());
+  /** Number of threads for exporting documents. */
+  public static final NumberOption EXPORTTHREADS = new NumberOption("EXPORTTHREADS", 1);
 
   /** Prints an XML plan. */
   public static final BooleanOption XMLPLAN = new BooleanOption("XMLPLAN", false);
@@ -73,6 +73,10 @@ public final class StaticOptions extends Options {
   public static final NumberOption LOGMSGMAXLEN = new NumberOption("LOGMSGMAXLEN", 1000);
   /** Timeout (seconds) for remembering result of asynchronous queries. */
   public static final NumberOption ASYNCTIMEOUT = new NumberOption("ASYNCTIMEOUT", 3600);
+  /** Maximum number of cached compiled queries; deactivated if set to 0. */
+  public static final NumberOption CACHEQUERY = new NumberOption("CACHEQUERY", 0);
+  /** Maximum size of cached serialized documents (kilobytes); deactivated if set to 0. */
+  public static final NumberOption CACHEDOCS = new NumberOption("CACHEDOCS", 0);
 
   /** Comment: written to options file. */
   public static final Comment C_HTTP = new Comment("HTTP Services");
@@ -86,6 +90,16 @@ public final class StaticOptions extends Options {
   public static final StringOption RESTXQPATH = new StringOption("RESTXQPATH", "");
   /** Cache RESTXQ paths. */
   public static final BooleanOption CACHERESTXQ = new BooleanOption("CACHERESTXQ", false);
+  /** Maximum number of cached RESTXQ responses; deactivated if set to 0. */
+  public static final NumberOption RESTXQCACHE = new NumberOption("RESTXQCACHE", 100);
+  /** Number of threads for evaluating RESTXQ requests asynchronously; deactivated if set to 0. */
+  public static final NumberOption RESTXQTHREADS = new NumberOption("RESTXQTHREADS", 0);
+  /** Maximum number of parallel requests per RESTXQ function; deactivated if set to 0. */
+  public static final NumberOption RESTXQLIMIT = new NumberOption("RESTXQLIMIT", 0);
+  /** Time (seconds) a RESTXQ request may wait for a thread; deactivated if set to 0. */
+  public static final NumberOption RESTXQWAIT = new NumberOption("RESTXQWAIT", 0);
+  /** Maximum number of RESTXQ requests that may wait for a thread. */
+  public static final NumberOption RESTXQQUEUE = new NumberOption("RESTXQQUEUE", 1000);
   /** Local (embedded) mode. */
   public static final BooleanOption HTTPLOCAL = new BooleanOption("HTTPLOCAL", false);
   /** Port for stopping the web server. */
@@ -93,6 +107,8 @@ public final class StaticOptions extends Options {
   /** Default authorization method. */
   public static final EnumOption<AuthMethod> AUTHMETHOD =
       new EnumOption<>("AUTHMETHOD", AuthMethod.BASIC);
+  /** Time (seconds) for reusing successful Basic logins; deactivated if set to 0. */
+  public static final NumberOption AUTHCACHE = new NumberOption("AUTHCACHE", 0);
 
   /** Authorization method. */
   public enum AuthMethod {
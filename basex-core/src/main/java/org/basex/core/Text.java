@@ -613,6 +613,8 @@ public interface Text {
   String DB_OPENED_X = lang("db_opened_%");
   /** Database exported. */
   String DB_EXPORTED_X = lang("db_exported_%");
+  /** Number of exported documents and files. */
+  String DB_EXPORTED_X_X_X = lang("db_exported_%_%_%");
   /** Database already exists. */
   String DB_EXISTS_X = lang("db_exists_%");
   /** Database was dropped. */
@@ -4,6 +4,8 @@ import static org.basex.core.Text.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 import org.basex.core.*;
 import org.basex.core.locks.*;
@@ -24,12 +26,21 @@ import org.basex.util.list.*;
  * @author Christian Gruen
  */
 public final class Export extends Command {
+  /** Number of documents that are assigned to a worker at a time. */
+  private static final int CHUNK = 256;
+  /** Maximum number of worker threads. */
+  private static final int THREADS = Runtime.getRuntime().availableProcessors();
+  /** Pool shared by all parallel exports. */
+  private static final ForkJoinPool POOL = new ForkJoinPool(THREADS);
+
   /** Currently exported file. */
-  private IO progFile;
+  private volatile IO progFile;
   /** Current number of exported file. */
-  private int progPos;
+  private final AtomicInteger progPos = new AtomicInteger();
   /** Total number of files to be exported. */
   private int progSize;
+  /** Number of exported documents. */
+  private int docs;
 
   /**
    * Default constructor, specifying a target path.
@@ -43,7 +54,11 @@ public final class Export extends Command {
   protected boolean run() {
     try {
       final Data data = context.data();
+      final Performance p = new Performance();
       export(data, args[0], options, this);
+      final long nano = p.time();
+      final int files = progSize - docs;
+      info(DB_EXPORTED_X_X_X, docs, files, nano == 0 ? docs : docs * 1000000000L / nano);
       return info(DB_EXPORTED_X, data.meta.name, perf);
     } catch(final IOException ex) {
       return error(Util.message(ex));
@@ -66,7 +81,8 @@ public final class Export extends Command {
    */
   public static void export(final Data data, final String path, final MainOptions options,
       final Export export) throws IOException {
-    export(data, path, options.get(MainOptions.EXPORTER), export);
+    export(data, path, options.get(MainOptions.EXPORTER), options.get(MainOptions.EXPORTTHREADS),
+        export);
   }
 
   /**
@@ -80,6 +96,23 @@ public final class Export extends Command {
    */
   public static void export(final Data data, final String path, final SerializerOptions sopts,
       final Export export) throws IOException {
+    export(data, path, sopts, 1, export);
+  }
+
+  /**
+   * Exports the current database to the specified path.
+   * Files and directories in {@code path} will be possibly overwritten.
+   * If more than one thread is specified, disjoint ranges of documents will be serialized
+   * in parallel. The number of threads is limited by the number of available processors.
+   * @param data data reference
+   * @param path directory
+   * @param sopts serialization parameters
+   * @param threads number of threads
+   * @param export calling instance (can be {@code null})
+   * @throws IOException I/O exception
+   */
+  public static void export(final Data data, final String path, final SerializerOptions sopts,
+      final int threads, final Export export) throws IOException {
 
     final IOFile root = new IOFile(path);
     root.md();
@@ -97,32 +130,62 @@ public final class Export extends Command {
       desc = bin.descendants();
     }
 
+    final int is = il.size();
     if(export != null) {
-      export.progPos = 0;
-      export.progSize = il.size() + desc.size();
+      export.progPos.set(0);
+      export.progSize = is + desc.size();
+      export.docs = is;
     }
 
-    // XML documents
+    // assign unique file paths and create directories
     final HashSet<String> exported = new HashSet<>();
-    final int is = il.size();
+    final String[] paths = new String[is];
+    String dir = null;
     for(int i = 0; i < is; i++) {
-      final int pre = il.get(i);
-      // create file path
-      final IOFile fl = root.resolve(Token.string(data.text(pre, true)));
-      if(export != null) {
-        export.checkStop();
-        export.progFile = fl;
-        export.progPos++;
+      if(export != null) export.checkStop();
+      final IOFile fl = root.resolve(Token.string(data.text(il.get(i), true)));
+      final IOFile parent = fl.parent();
+      if(!parent.path().equals(dir)) {
+        parent.md();
+        dir = parent.path();
       }
-      // create dir if necessary
-      fl.parent().md();
+      paths[i] = unique(exported, fl.path());
+    }
 
-      // serialize file
-      try(final PrintOutput po = new PrintOutput(unique(exported, fl.path()))) {
-        try(final Serializer ser = Serializer.get(po, sopts)) {
-          ser.serialize(new DBNode(data, pre));
+    // XML documents
+    final int workers = Math.max(1, Math.min(threads, THREADS));
+    if(workers > 1 && is > CHUNK) {
+      final AtomicInteger next = new AtomicInteger();
+      final ArrayList<Future<Void>> futures = new ArrayList<>(workers);
+      try {
+        for(int w = 0; w < workers; w++) {
+          futures.add(POOL.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws IOException {
+              for(int s; (s = next.getAndAdd(CHUNK)) < is;) {
+                final int e = Math.min(s + CHUNK, is);
+                for(int i = s; i < e; i++) serialize(data, il.get(i), paths[i], sopts, export);
+              }
+              return null;
+            }
+          }));
         }
+        for(final Future<Void> future : futures) future.get();
+      } catch(final ExecutionException ex) {
+        final Throwable th = ex.getCause();
+        if(th instanceof IOException) throw (IOException) th;
+        if(th instanceof RuntimeException) throw (RuntimeException) th;
+        if(th instanceof Error) throw (Error) th;
+        throw new IOException(th);
+      } catch(final InterruptedException ex) {
+        throw new InterruptedIOException(ex.getMessage());
+      } finally {
+        // skip remaining documents if an error occurred
+        next.set(is);
+        for(final Future<Void> future : futures) future.cancel(true);
       }
+    } else {
+      for(int i = 0; i < is; i++) serialize(data, il.get(i), paths[i], sopts, export);
     }
 
     // export raw files
@@ -131,16 +194,41 @@ public final class Export extends Command {
       if(export != null) {
         export.checkStop();
         export.progFile = fl;
-        export.progPos++;
+        export.progPos.incrementAndGet();
       }
       final String u = unique(exported, fl.path());
       new IOFile(bin, s).copyTo(new IOFile(u));
     }
   }
 
+  /**
+   * Serializes a single document.
+   * @param data data reference
+   * @param pre pre value of the document
+   * @param path target path
+   * @param sopts serialization parameters
+   * @param export calling instance (can be {@code null})
+   * @throws IOException I/O exception
+   */
+  private static void serialize(final Data data, final int pre, final String path,
+      final SerializerOptions sopts, final Export export) throws IOException {
+
+    final IOFile fl = new IOFile(path);
+    if(export != null) {
+      export.checkStop();
+      export.progFile = fl;
+      export.progPos.incrementAndGet();
+    }
+    try(final PrintOutput po = new PrintOutput(path)) {
+      try(final Serializer ser = Serializer.get(po, sopts)) {
+        ser.serialize(new DBNode(data, pre));
+      }
+    }
+  }
+
   @Override
   public double prog() {
-    return progSize == 0 ? 0 : (double) progPos / progSize;
+    return progSize == 0 ? 0 : (double) progPos.get() / progSize;
   }
 
   @Override
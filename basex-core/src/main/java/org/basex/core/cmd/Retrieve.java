@@ -8,7 +8,6 @@ import org.basex.core.locks.*;
 import org.basex.core.users.*;
 import org.basex.data.*;
 import org.basex.io.*;
-import org.basex.io.in.*;
 
 /**
  * Evaluates the 'retrieve' command and retrieves binary content.
@@ -17,12 +16,29 @@ import org.basex.io.in.*;
  * @author Christian Gruen
  */
 public final class Retrieve extends ACreate {
+  /** Offset of the first byte to be retrieved. */
+  private final long offset;
+  /** Number of bytes to be retrieved ({@code -1}: all remaining bytes). */
+  private final long length;
+
   /**
    * Default constructor.
    * @param path source path
    */
   public Retrieve(final String path) {
+    this(path, 0, -1);
+  }
+
+  /**
+   * Constructor for retrieving a range of the resource.
+   * @param path source path
+   * @param offset offset of the first byte
+   * @param length number of bytes
+   */
+  public Retrieve(final String path, final long offset, final long length) {
     super(Perm.NONE, true, path);
+    this.offset = offset;
+    this.length = length;
   }
 
   @Override
@@ -36,8 +52,10 @@ public final class Retrieve extends ACreate {
     final IOFile bin = data.meta.binary(path);
     if(bin == null || !bin.exists() || bin.isDir()) return error(RES_NOT_FOUND_X, path);
 
-    try(final BufferInput bi = new BufferInput(bin)) {
-      for(int b; (b = bi.read()) != -1;) out.write(b);
+    try {
+      final long size = bin.length();
+      if(offset > size) return error(RES_NOT_FOUND_X, path);
+      bin.copyTo(out, offset, length == -1 ? size - offset : Math.min(length, size - offset));
       return info(QUERY_EXECUTED_X_X, "", perf);
     } catch(final IOException ex) {
       return error(ex.toString());
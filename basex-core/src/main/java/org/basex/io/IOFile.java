@@ -1,6 +1,7 @@
 package org.basex.io;
 
 import java.io.*;
+import java.nio.channels.*;
 import java.nio.file.*;
 import java.util.*;
 import java.util.regex.*;
@@ -269,6 +270,29 @@ public final class IOFile extends IO {
     Files.copy(toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
   }
 
+  /**
+   * Writes a range of the file to the specified output stream.
+   * The bytes are transferred via file channels; no buffer for the complete range is created.
+   * @param os output stream
+   * @param offset offset of the first byte
+   * @param length number of bytes to be written
+   * @throws IOException I/O exception
+   */
+  public void copyTo(final OutputStream os, final long offset, final long length)
+      throws IOException {
+    try(final FileInputStream fis = new FileInputStream(file)) {
+      final FileChannel fc = fis.getChannel();
+      final WritableByteChannel wbc = os instanceof FileOutputStream ?
+        ((FileOutputStream) os).getChannel() : Channels.newChannel(os);
+      for(long p = offset, r = length; r > 0;) {
+        final long c = fc.transferTo(p, r, wbc);
+        if(c <= 0) throw new EOFException(pth);
+        p += c;
+        r -= c;
+      }
+    }
+  }
+
   @Override
   public boolean eq(final IO io) {
     return io instanceof IOFile && (Prop.CASE ? pth.equals(io.pth) :
@@ -49,6 +49,20 @@ public final class Zip extends Proc {
    * @throws IOException I/O exception
    */
   public byte[] read(final String path) throws IOException {
+    if(file instanceof IOFile) {
+      // random access to local files
+      try(final ZipFile zf = new ZipFile(((IOFile) file).file())) {
+        final ZipEntry ze = zf.getEntry(path);
+        if(ze == null) throw new FileNotFoundException(path);
+        try(final InputStream in = input(zf, ze)) {
+          final long s = ze.getSize();
+          final ByteList bl = new ByteList(s > 0 && s < Integer.MAX_VALUE ? (int) s : 8);
+          final byte[] data = new byte[IO.BLOCKSIZE];
+          for(int c; (c = in.read(data)) != -1;) bl.add(data, 0, c);
+          return bl.finish();
+        }
+      }
+    }
     try(final ZipInputStream in = new ZipInputStream(file.inputStream())) {
       final byte[] cont = getEntry(in, path);
       if(cont == null) throw new FileNotFoundException(path);
@@ -115,6 +129,42 @@ public final class Zip extends Proc {
     return (double) curr / total;
   }
 
+  /**
+   * Returns an input stream for the specified entry of a ZIP file.
+   * The checksum of the entry is validated when the end of the stream is reached.
+   * @param zf ZIP file
+   * @param ze entry
+   * @return input stream
+   * @throws IOException I/O exception
+   */
+  public static InputStream input(final ZipFile zf, final ZipEntry ze) throws IOException {
+    final long crc = ze.getCrc();
+    final CheckedInputStream cis = new CheckedInputStream(zf.getInputStream(ze), new CRC32());
+    return crc == -1 ? cis : new FilterInputStream(cis) {
+      @Override
+      public int read() throws IOException {
+        return check(super.read());
+      }
+
+      @Override
+      public int read(final byte[] b, final int off, final int len) throws IOException {
+        return check(super.read(b, off, len));
+      }
+
+      /**
+       * Validates the checksum if the end of the stream has been reached.
+       * @param n result of the read operation
+       * @return result of the read operation
+       * @throws ZipException invalid checksum
+       */
+      private int check(final int n) throws ZipException {
+        if(n == -1 && cis.getChecksum().getValue() != crc)
+          throw new ZipException("Invalid entry CRC: " + ze.getName());
+        return n;
+      }
+    };
+  }
+
   /**
    * Returns the contents of the specified entry.
    * @param in input stream
@@ -55,6 +55,19 @@ public final class BufferOutput extends OutputStream {
     buffer[pos++] = (byte) b;
   }
 
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    if(len >= bufsize) {
+      // write large arrays directly
+      flush();
+      os.write(b, off, len);
+    } else {
+      if(pos + len > bufsize) flush();
+      System.arraycopy(b, off, buffer, pos, len);
+      pos += len;
+    }
+  }
+
   @Override
   public void flush() throws IOException {
     os.write(buffer, 0, pos);
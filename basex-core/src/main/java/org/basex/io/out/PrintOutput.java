@@ -66,6 +66,13 @@ public class PrintOutput extends OutputStream {
     if(size++ < max) os.write(b);
   }
 
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    final long l = Math.min(len, max - size);
+    if(l > 0) os.write(b, off, (int) l);
+    size += len;
+  }
+
   /**
    * Prints a single codepoint.
    * @param cp codepoint to be printed
@@ -40,6 +40,10 @@ public abstract class CsvConverter extends Proc {
   private final CsvParserOptions copts;
   /** Current input. */
   protected NewlineInput nli;
+  /** Streaming mode (records will be returned one by one). */
+  protected boolean stream;
+  /** Parser (streaming mode). */
+  private CsvParser parser;
 
   /**
    * Constructor.
@@ -65,6 +69,37 @@ public abstract class CsvConverter extends Proc {
     return finish();
   }
 
+  /**
+   * Prepares the streamed conversion of the specified input.
+   * The records can then be requested via {@link #next()}.
+   * @param input input
+   * @throws IOException I/O exception
+   */
+  public final void stream(final NewlineInput input) throws IOException {
+    nli = input;
+    stream = true;
+    parser = new CsvParser(input.encoding(copts.get(CsvParserOptions.ENCODING)), copts, this);
+  }
+
+  /**
+   * Returns the next record of a streamed conversion.
+   * The input will be closed if no more records are found.
+   * @return record, or {@code null} if the input has been completely parsed
+   * @throws IOException I/O exception
+   */
+  public final Item next() throws IOException {
+    while(parser != null) {
+      final boolean more = parser.next();
+      final Item record = current();
+      if(!more) {
+        parser = null;
+        nli.close();
+      }
+      if(record != null) return record;
+    }
+    return null;
+  }
+
   /**
    * Returns a CSV converter for the given configuration.
    * @param copts options
@@ -96,6 +131,13 @@ public abstract class CsvConverter extends Proc {
    */
   protected abstract void entry(final byte[] value) throws IOException;
 
+  /**
+   * Returns and resets the current record (only called in streaming mode).
+   * @return record, or {@code null} if no record has been parsed since the last call
+   * @throws IOException I/O exception
+   */
+  protected abstract Item current() throws IOException;
+
   /**
    * Returns the resulting byte array.
    * @return result
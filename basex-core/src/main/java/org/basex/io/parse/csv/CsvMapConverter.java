@@ -18,7 +18,9 @@ final class CsvMapConverter extends CsvConverter {
   /** All records. */
   private final ArrayList<ItemList> records = new ArrayList<>(1);
   /** Current record. */
-  private ItemList record = new ItemList();
+  private ItemList record;
+  /** Current row. */
+  private int row;
 
   /**
    * Constructor.
@@ -37,8 +39,21 @@ final class CsvMapConverter extends CsvConverter {
   protected void record() {
     record = new ItemList();
     if(!headers.isEmpty()) record.add(Map.EMPTY);
-    records.add(record);
+    if(!stream) records.add(record);
     col = 0;
+    row++;
+  }
+
+  @Override
+  protected Map current() throws QueryIOException {
+    if(record == null) return null;
+    try {
+      return Map.EMPTY.put(Int.get(row), record.value(), null);
+    } catch(final QueryException ex) {
+      throw new QueryIOException(ex);
+    } finally {
+      record = null;
+    }
   }
 
   @Override
@@ -26,6 +26,8 @@ final class CsvParser {
   /** Parse quotes.  */
   private final boolean quotes;
 
+  /** Current entry. */
+  private final TokenBuilder entry = new TokenBuilder();
   /** First entry of a line. */
   private boolean first = true;
   /** Quoted state.  */
@@ -39,13 +41,14 @@ final class CsvParser {
    * @param opts options
    * @param conv converter
    */
-  private CsvParser(final TextInput input, final CsvParserOptions opts, final CsvConverter conv) {
+  CsvParser(final TextInput input, final CsvParserOptions opts, final CsvConverter conv) {
     this.input = input;
     this.conv = conv;
     header = opts.get(CsvOptions.HEADER);
     separator = opts.separator();
     quotes = opts.get(CsvOptions.QUOTES);
     backslashes = opts.get(CsvOptions.BACKSLASHES);
+    data = !header;
   }
 
   /**
@@ -58,17 +61,17 @@ final class CsvParser {
    */
   static void parse(final TextInput input, final CsvParserOptions opts, final CsvConverter conv)
       throws IOException {
-    new CsvParser(input, opts, conv).parse();
+    final CsvParser parser = new CsvParser(input, opts, conv);
+    while(parser.next());
   }
 
   /**
-   * Parses a CSV expression.
+   * Parses the next line of the CSV input. Newlines in quoted entries are treated as
+   * part of the entry.
+   * @return {@code true} if the end of the input has not been reached yet
    * @throws IOException query I/O exception
    */
-  private void parse() throws IOException {
-    final TokenBuilder entry = new TokenBuilder();
-    data = !header;
-
+  boolean next() throws IOException {
     int ch = input.read();
     while(ch != -1) {
       if(quoted) {
@@ -104,6 +107,7 @@ final class CsvParser {
         record(entry, !entry.isEmpty());
         first = true;
         data = true;
+        return true;
       } else {
         if(backslashes) {
           if(ch == '\\') ch = bs();
@@ -115,6 +119,7 @@ final class CsvParser {
       ch = input.read();
     }
     record(entry, !entry.isEmpty());
+    return false;
   }
 
   /**
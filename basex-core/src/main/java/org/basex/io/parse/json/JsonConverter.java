@@ -20,6 +20,8 @@ public abstract class JsonConverter {
   final JsonParserOptions jopts;
   /** Fallback function. */
   JsonFallback fallback;
+  /** Parser (streaming mode). */
+  private JsonParser parser;
 
   /**
    * Constructor.
@@ -62,6 +64,41 @@ public abstract class JsonConverter {
     return finish();
   }
 
+  /**
+   * Prepares the streamed conversion of the specified input.
+   * The values addressed by the path can then be requested via {@link #next()}.
+   * @param input input
+   * @param path path to the values to be returned: object keys or {@code *} (array members
+   *   or object values), separated by slashes (an empty path addresses the root value)
+   */
+  public final void stream(final byte[] input, final String path) {
+    parser = JsonParser.stream(Token.string(input), null, path, jopts, this);
+  }
+
+  /**
+   * Prepares the streamed conversion of the specified input stream.
+   * The input will be read incrementally while the values are requested via {@link #next()}.
+   * @param input input stream
+   * @param path path to the values to be returned (see {@link #stream(byte[], String)})
+   */
+  public final void stream(final TextInput input, final String path) {
+    parser = JsonParser.stream(null, input, path, jopts, this);
+  }
+
+  /**
+   * Returns the next converted value of a streamed conversion.
+   * Every value is converted to a separate item.
+   * @return value, or {@code null} if the input has been completely parsed
+   * @throws QueryIOException parse exception
+   * @throws IOException I/O exception
+   */
+  public final Item next() throws IOException {
+    if(parser == null) return null;
+    final Item item = parser.nextValue();
+    if(item == null) parser = null;
+    return item;
+  }
+
   /**
    * Returns a JSON converter for the given configuration.
    * @param jopts options
@@ -102,7 +139,7 @@ public abstract class JsonConverter {
   /**
    * Called when a JSON object is closed.
    */
-  abstract void closeObject();
+  abstract void closeObject() throws QueryIOException;
 
   /**
    * Called when a JSON array is opened.
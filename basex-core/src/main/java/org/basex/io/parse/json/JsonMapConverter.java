@@ -7,12 +7,13 @@ import java.util.*;
 import org.basex.build.json.*;
 import org.basex.build.json.JsonParserOptions.JsonDuplicates;
 import org.basex.query.*;
-import org.basex.query.util.list.*;
 import org.basex.query.value.*;
+import org.basex.query.value.array.*;
 import org.basex.query.value.item.*;
-import org.basex.query.value.map.Map;
+import org.basex.query.value.map.*;
 import org.basex.query.value.seq.*;
 import org.basex.util.*;
+import org.basex.util.hash.*;
 
 /**
  * <p>Provides a method for parsing a JSON string and converting it to an XQuery
@@ -36,12 +37,19 @@ import org.basex.util.*;
  * @author Leo Woerteler
  */
 public final class JsonMapConverter extends JsonConverter {
+  /** Maximum number of cached keys. */
+  private static final int MAX_KEYS = 1 << 12;
+
   /** Stack for intermediate values. */
   private final Stack<Value> stack = new Stack<>();
   /** Stack for intermediate array values. */
-  private final Stack<ValueList> arrays = new Stack<>();
-  /** Stack for intermediate maps values. */
-  private final Stack<Map> maps = new Stack<>();
+  private final Stack<ArrayBuilder> arrays = new Stack<>();
+  /** Builders for intermediate maps (reused for objects on the same level). */
+  private final ArrayList<MapBuilder> maps = new ArrayList<>();
+  /** Cached keys (object fields are usually repeated). */
+  private final TokenObjMap<Str> keys = new TokenObjMap<>();
+  /** Current object level. */
+  private int level;
 
   /**
    * Constructor.
@@ -63,12 +71,18 @@ public final class JsonMapConverter extends JsonConverter {
 
   @Override
   void openObject() {
-    maps.push(Map.EMPTY);
+    if(level == maps.size()) maps.add(new MapBuilder());
+    level++;
   }
 
   @Override
   void openPair(final byte[] key, final boolean add) {
-    stack.push(Str.get(key));
+    Str str = keys.get(key);
+    if(str == null) {
+      str = Str.get(key);
+      if(keys.size() < MAX_KEYS) keys.put(key, str);
+    }
+    stack.push(str);
   }
 
   @Override
@@ -77,7 +91,7 @@ public final class JsonMapConverter extends JsonConverter {
     final Item key = (Item) stack.pop();
     if(add) {
       try {
-        maps.push(maps.pop().put(key, val, null));
+        maps.get(level - 1).put(key, val, null);
       } catch(final QueryException ex) {
         throw new QueryIOException(ex);
       }
@@ -85,13 +99,17 @@ public final class JsonMapConverter extends JsonConverter {
   }
 
   @Override
-  void closeObject() {
-    stack.push(maps.pop());
+  void closeObject() throws QueryIOException {
+    try {
+      stack.push(maps.get(--level).freeze(null));
+    } catch(final QueryException ex) {
+      throw new QueryIOException(ex);
+    }
   }
 
   @Override
   void openArray() {
-    arrays.push(new ValueList());
+    arrays.push(new ArrayBuilder());
   }
 
   @Override
@@ -100,12 +118,12 @@ public final class JsonMapConverter extends JsonConverter {
 
   @Override
   void closeItem() {
-    arrays.peek().add(stack.pop());
+    arrays.peek().append(stack.pop());
   }
 
   @Override
   void closeArray() {
-    stack.push(arrays.pop().array());
+    stack.push(arrays.pop().freeze());
   }
 
   @Override
@@ -3,20 +3,28 @@ package org.basex.io.parse.json;
 import static org.basex.query.QueryError.*;
 import static org.basex.util.Token.*;
 
+import java.io.*;
+import java.util.*;
+
 import org.basex.build.json.*;
 import org.basex.build.json.JsonOptions.*;
 import org.basex.build.json.JsonParserOptions.JsonDuplicates;
+import org.basex.core.*;
+import org.basex.io.*;
+import org.basex.io.in.*;
 import org.basex.query.*;
+import org.basex.query.value.item.*;
 import org.basex.util.*;
 import org.basex.util.hash.*;
 
 /**
  * A JSON parser generating parse events similar to a SAX XML parser.
+ * If the parser is created for an input stream, the input will be read incrementally.
  *
  * @author BaseX Team 2005-16, BSD License
  * @author Leo Woerteler
  */
-final class JsonParser extends InputParser {
+final class JsonParser {
   /** Names of control characters not allowed in string literals. */
   private static final String[] CTRL = {
     // U+0000 -- U+001F
@@ -25,9 +33,28 @@ final class JsonParser extends InputParser {
     "DLE", "DC1", "DC2", "DC3", "DC4", "NAK", "SYN", "ETB",
     "CAN", "EM",  "SUB", "ESC", "FS",  "GS",  "RS",  "US",
   };
+  /** Number of parsed characters that will be kept in the buffer. */
+  private static final int KEEP = 16;
+
+  /** Input stream ({@code null} if the whole input is buffered). */
+  private final TextInput in;
+  /** Buffered characters. */
+  private char[] buffer;
+  /** Input position of the first buffered character. */
+  private int base;
+  /** Input position after the last buffered character. */
+  private int length;
+  /** Current input position. */
+  private int pos;
+  /** Input path (can be {@code null}). */
+  private String file;
+  /** Line of the first buffered character. */
+  private int line = 1;
+  /** Column of the first buffered character. */
+  private int col = 1;
 
   /** Converter. */
-  private final JsonConverter conv;
+  private JsonConverter conv;
   /** Spec. */
   private final boolean liberal;
   /** Escape flag. */
@@ -37,14 +64,35 @@ final class JsonParser extends InputParser {
   /** Token builder for string literals. */
   private final TokenBuilder tb = new TokenBuilder();
 
+  /** Path steps ({@code null}: array members or object values) (streaming mode). */
+  private byte[][] steps;
+  /** Object flags of open containers (streaming mode). */
+  private boolean[] objects;
+  /** Flags for open containers without parsed members (streaming mode). */
+  private boolean[] firsts;
+  /** Keys of open objects (streaming mode). */
+  private TokenSet[] keys;
+  /** Key of the last parsed object member (streaming mode). */
+  private byte[] key;
+  /** Indicates if the value of the last parsed object member will be ignored (streaming mode). */
+  private boolean ignore;
+  /** Number of open containers (streaming mode). */
+  private int depth;
+  /** Streaming state: 0 (not started), 1 (started), 2 (finished). */
+  private int state;
+
   /**
-   * Constructor taking the input string and the spec according to which it is parsed.
-   * @param in input string
+   * Constructor taking the input and the spec according to which it is parsed.
+   * @param input input string (ignored if an input stream is specified)
+   * @param in input stream (can be {@code null})
    * @param opts options
    * @param conv converter
    */
-  private JsonParser(final String in, final JsonParserOptions opts, final JsonConverter conv) {
-    super(in);
+  private JsonParser(final String input, final TextInput in, final JsonParserOptions opts,
+      final JsonConverter conv) {
+    this.in = in;
+    buffer = in != null ? new char[IO.BLOCKSIZE] : input.toCharArray();
+    length = in != null ? 0 : buffer.length;
     liberal = opts.get(JsonParserOptions.LIBERAL);
     escape = opts.get(JsonParserOptions.ESCAPE);
     final JsonDuplicates dupl = opts.get(JsonParserOptions.DUPLICATES);
@@ -64,16 +112,182 @@ final class JsonParser extends InputParser {
    */
   static void parse(final String input, final String path, final JsonParserOptions opts,
       final JsonConverter conv) throws QueryIOException {
-    final JsonParser parser = new JsonParser(input, opts, conv);
+    final JsonParser parser = new JsonParser(input, null, opts, conv);
     parser.file = path;
-    parser.parse();
+    try {
+      parser.parse();
+    } catch(final QueryIOException ex) {
+      throw ex;
+    } catch(final IOException ex) {
+      // string input: no other exceptions expected
+      throw Util.notExpected(ex);
+    }
+  }
+
+  /**
+   * Creates a parser for the streamed conversion of the input.
+   * The values addressed by the specified path can then be requested via {@link #nextValue()}.
+   * The path consists of object keys or {@code *} (array members or object values),
+   * separated by slashes. An empty path addresses the root value.
+   * @param input input string (ignored if an input stream is specified)
+   * @param in input stream (can be {@code null})
+   * @param path path to the values to be returned
+   * @param opts options
+   * @param conv converter (will be used as template for converting the single values)
+   * @return parser
+   */
+  static JsonParser stream(final String input, final TextInput in, final String path,
+      final JsonParserOptions opts, final JsonConverter conv) {
+    final JsonParser parser = new JsonParser(input, in, opts, conv);
+    final String[] names = path.isEmpty() ? new String[0] : Strings.split(path, '/');
+    final int sl = names.length;
+    parser.steps = new byte[sl][];
+    for(int s = 0; s < sl; s++) parser.steps[s] = names[s].equals("*") ? null : token(names[s]);
+    parser.objects = new boolean[sl];
+    parser.firsts = new boolean[sl];
+    parser.keys = new TokenSet[sl];
+    return parser;
+  }
+
+  /**
+   * Returns the next value addressed by the path (streaming mode).
+   * @return value, or {@code null} if no more values are found
+   * @throws QueryIOException parse exception
+   * @throws IOException I/O exception
+   */
+  Item nextValue() throws IOException {
+    if(state == 2) return null;
+    if(state == 0) {
+      state = 1;
+      consume('\uFEFF');
+      skipWs();
+      // empty path: return root value
+      if(steps.length == 0) {
+        final Item item = item();
+        close();
+        return item;
+      }
+      if(!open(0)) {
+        skip();
+        close();
+        return null;
+      }
+    }
+
+    while(depth > 0) {
+      final int d = depth - 1;
+      if(!member(d)) {
+        // container is closed
+        if(--depth == 0) close();
+        continue;
+      }
+      // skip members that do not match the current step
+      final byte[] step = steps[d];
+      if(ignore || step != null && !(objects[d] && eq(step, key))) {
+        skip();
+      } else if(d + 1 == steps.length) {
+        final Item item = item();
+        // skip null values of the map format
+        if(item != null) return item;
+      } else if(!open(d + 1)) {
+        skip();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Finishes streamed parsing.
+   * @throws IOException I/O exception
+   */
+  private void close() throws IOException {
+    state = 2;
+    if(more()) throw error("Unexpected trailing content: %", rest());
+  }
+
+  /**
+   * Tries to open a container for the specified step.
+   * @param d depth of the step
+   * @return success flag
+   * @throws IOException I/O exception
+   */
+  private boolean open(final int d) throws IOException {
+    final char ch = curr();
+    final boolean object = ch == '{';
+    if(!object && (ch != '[' || steps[d] != null)) return false;
+    consumeWs(ch, true);
+    objects[d] = object;
+    firsts[d] = true;
+    keys[d] = object ? new TokenSet() : null;
+    depth = d + 1;
+    return true;
+  }
+
+  /**
+   * Parses the start of the next member of the container at the specified depth.
+   * @param d depth
+   * @return {@code true} if a member was found, {@code false} if the container was closed
+   * @throws IOException I/O exception
+   */
+  private boolean member(final int d) throws IOException {
+    final boolean object = objects[d];
+    final char close = object ? '}' : ']';
+    if(firsts[d]) {
+      firsts[d] = false;
+      if(consumeWs(close, false)) return false;
+    } else if(!consumeWs(',', false) || liberal && curr() == close) {
+      consumeWs(close, true);
+      return false;
+    }
+    ignore = false;
+    if(object) {
+      key = !liberal || curr() == '"' ? string() : unquoted();
+      final boolean dupl = keys[d].contains(key);
+      if(dupl && duplicates == JsonDuplicates.REJECT)
+        throw error(BXJS_DUPLICATE_X, "Key '%' occurs more than once.", key);
+      // values of duplicate keys: return all values, or only the first one
+      ignore = dupl && duplicates == JsonDuplicates.USE_FIRST;
+      keys[d].put(key);
+      consumeWs(':', true);
+    }
+    return true;
+  }
+
+  /**
+   * Parses and converts a single value.
+   * @return resulting item (can be {@code null})
+   * @throws IOException I/O exception
+   */
+  private Item item() throws IOException {
+    final JsonConverter template = conv;
+    conv = JsonConverter.get(template.jopts).fallback(template.fallback);
+    try {
+      value();
+      return conv.finish();
+    } finally {
+      conv = template;
+    }
+  }
+
+  /**
+   * Parses a value without converting it.
+   * @throws IOException I/O exception
+   */
+  private void skip() throws IOException {
+    final JsonConverter template = conv;
+    conv = new JsonSkipConverter(template);
+    try {
+      value();
+    } finally {
+      conv = template;
+    }
   }
 
   /**
    * Parses a JSON expression.
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private void parse() throws QueryIOException {
+  private void parse() throws IOException {
     consume('\uFEFF');
     skipWs();
     value();
@@ -82,10 +296,10 @@ final class JsonParser extends InputParser {
 
   /**
    * Parses a JSON value.
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private void value() throws QueryIOException {
-    if(pos >= length) throw eof(", expected JSON value.");
+  private void value() throws IOException {
+    if(!more()) throw eof(", expected JSON value.");
     switch(curr()) {
       case '[':
         array();
@@ -123,9 +337,9 @@ final class JsonParser extends InputParser {
 
   /**
    * Parses a JSON object.
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private void object() throws QueryIOException {
+  private void object() throws IOException {
     consumeWs('{', true);
     conv.openObject();
     if(!consumeWs('}', false)) {
@@ -150,9 +364,9 @@ final class JsonParser extends InputParser {
 
   /**
    * Parses a JSON array.
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private void array() throws QueryIOException {
+  private void array() throws IOException {
     consumeWs('[', true);
     conv.openArray();
     if(!consumeWs(']', false)) {
@@ -169,17 +383,18 @@ final class JsonParser extends InputParser {
   /**
    * Reads an unquoted string literal.
    * @return the string
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private byte[] unquoted() throws QueryIOException {
-    int cp = more() ? input.codePointAt(pos) : -1;
+  private byte[] unquoted() throws IOException {
+    int cp = codePoint();
     if(cp < 0 || !Character.isJavaIdentifierStart(cp))
       throw error("Expected unquoted string, found %", rest());
     tb.reset();
     do {
       tb.add(cp);
-      cp = input.codePointAt(pos += cp < 0x10000 ? 1 : 2);
-    } while(Character.isJavaIdentifierPart(cp));
+      pos += Character.charCount(cp);
+      cp = codePoint();
+    } while(cp >= 0 && Character.isJavaIdentifierPart(cp));
     skipWs();
     return tb.toArray();
   }
@@ -187,9 +402,9 @@ final class JsonParser extends InputParser {
   /**
    * Parses a number literal.
    * @return string representation
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private byte[] number() throws QueryIOException {
+  private byte[] number() throws IOException {
     tb.reset();
 
     // integral part
@@ -263,13 +478,13 @@ final class JsonParser extends InputParser {
   /**
    * Parses a string literal.
    * @return the string
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
-  private byte[] string() throws QueryIOException {
+  private byte[] string() throws IOException {
     if(!consume('"')) throw error("Expected string, found '%'", curr());
     tb.reset();
     char high = 0; // cached high surrogate
-    while(pos < length) {
+    while(more()) {
       final int p = pos;
       int ch = consume();
 
@@ -305,7 +520,7 @@ final class JsonParser extends InputParser {
             ch = '\t';
             break;
           case 'u':
-            if(pos + 4 >= length) throw eof(", expected four-digit hex value");
+            if(!fill(5)) throw eof(", expected four-digit hex value");
             ch = 0;
             for(int i = 0; i < 4; i++) {
               final char x = consume();
@@ -375,14 +590,17 @@ final class JsonParser extends InputParser {
     } else if(conv.fallback == null) {
       tb.add(INVALID);
     } else {
-      tb.add(conv.fallback.convert(input.substring(s, e)));
+      tb.add(conv.fallback.convert(new String(buffer, s - base, e - s)));
     }
   }
 
-  /** Consumes all whitespace characters from the remaining query. */
-  private void skipWs() {
-    while(pos < length) {
-      switch(input.charAt(pos)) {
+  /**
+   * Consumes all whitespace characters from the remaining input.
+   * @throws IOException I/O exception
+   */
+  private void skipWs() throws IOException {
+    while(more()) {
+      switch(buffer[pos - base]) {
         case ' ':
         case '\t':
         case '\r':
@@ -402,9 +620,9 @@ final class JsonParser extends InputParser {
    * @param ch character to be consumed
    * @param err error flag
    * @return if the character was consumed
-   * @throws QueryIOException parse error
+   * @throws IOException I/O exception
    */
-  private boolean consumeWs(final char ch, final boolean err) throws QueryIOException {
+  private boolean consumeWs(final char ch, final boolean err) throws IOException {
     if(consume(ch)) {
       skipWs();
       return true;
@@ -413,11 +631,132 @@ final class JsonParser extends InputParser {
     return false;
   }
 
+  /**
+   * Checks if more characters are found.
+   * @return result of check
+   * @throws IOException I/O exception
+   */
+  private boolean more() throws IOException {
+    return fill(1);
+  }
+
+  /**
+   * Returns the current character.
+   * @return current character, or {@code 0} if the input is exhausted
+   * @throws IOException I/O exception
+   */
+  private char curr() throws IOException {
+    return fill(1) ? buffer[pos - base] : 0;
+  }
+
+  /**
+   * Returns the current codepoint.
+   * @return current codepoint, or {@code -1} if the input is exhausted
+   * @throws IOException I/O exception
+   */
+  private int codePoint() throws IOException {
+    if(!fill(1)) return -1;
+    final char ch = buffer[pos - base];
+    return Character.isHighSurrogate(ch) && fill(2) ?
+      Character.toCodePoint(ch, buffer[pos + 1 - base]) : ch;
+  }
+
+  /**
+   * Consumes the current character.
+   * @return consumed character, or {@code 0} if the input is exhausted
+   * @throws IOException I/O exception
+   */
+  private char consume() throws IOException {
+    return fill(1) ? buffer[pos++ - base] : 0;
+  }
+
+  /**
+   * Consumes the current character if it equals the specified one.
+   * @param ch character to consume
+   * @return true if character was found
+   * @throws IOException I/O exception
+   */
+  private boolean consume(final char ch) throws IOException {
+    if(!fill(1) || buffer[pos - base] != ch) return false;
+    pos++;
+    return true;
+  }
+
+  /**
+   * Consumes the specified string if it is found at the current position.
+   * @param str string to consume
+   * @return true if string was found
+   * @throws IOException I/O exception
+   */
+  private boolean consume(final String str) throws IOException {
+    final int sl = str.length();
+    if(!fill(sl)) return false;
+    for(int s = 0; s < sl; s++) {
+      if(buffer[pos + s - base] != str.charAt(s)) return false;
+    }
+    pos += sl;
+    return true;
+  }
+
+  /**
+   * Returns the remaining, unparsed input (shortened).
+   * @return input substring
+   * @throws IOException I/O exception
+   */
+  private String rest() throws IOException {
+    fill(15);
+    final StringBuilder sb = new StringBuilder();
+    final int pl = Math.min(length, pos + 15);
+    for(int p = pos; p < pl; p++) {
+      final char ch = buffer[p - base];
+      if(ch == '\n') break;
+      sb.append(ch);
+    }
+    return sb + (pl == length ? "" : Text.DOTS);
+  }
+
+  /**
+   * Buffers the specified number of characters, starting from the current position.
+   * @param n number of characters
+   * @return {@code false} if the input is exhausted
+   * @throws IOException I/O exception
+   */
+  private boolean fill(final int n) throws IOException {
+    while(length - pos < n) {
+      if(in == null) return false;
+      final int cp = in.read();
+      if(cp == -1) return false;
+
+      if(length - base + 2 > buffer.length) {
+        // discard parsed characters or enlarge buffer
+        final int d = pos - base - KEEP;
+        if(d > buffer.length >>> 1) {
+          for(int p = 0; p < d; p++) {
+            final char ch = buffer[p];
+            if(ch == '\n') { line++; col = 1; }
+            else if(ch != '\r' && !Character.isLowSurrogate(ch)) { col++; }
+          }
+          System.arraycopy(buffer, d, buffer, 0, length - base - d);
+          base += d;
+        } else {
+          buffer = Arrays.copyOf(buffer, buffer.length << 1);
+        }
+      }
+      if(Character.isBmpCodePoint(cp)) {
+        buffer[length++ - base] = (char) cp;
+      } else {
+        buffer[length++ - base] = Character.highSurrogate(cp);
+        buffer[length++ - base] = Character.lowSurrogate(cp);
+      }
+    }
+    return true;
+  }
+
   /**
    * Throws an end-of-input error.
    * @param desc description
    * @return never
-   * @throws QueryIOException query I/O exception
+   * @throws IOException I/O exception
    */
   private QueryIOException eof(final String desc) throws QueryIOException {
     throw error("Unexpected end of input%", desc);
@@ -441,7 +780,12 @@ final class JsonParser extends InputParser {
    * @return build exception
    */
   private QueryIOException error(final QueryError err, final String msg, final Object... ext) {
-    final InputInfo ii = new InputInfo(this);
-    return new QueryIOException(err.get(ii, ii.line(), ii.column(), Util.inf(msg, ext)));
+    int l = line, c = col;
+    for(int p = base; p < pos; p++) {
+      final char ch = buffer[p - base];
+      if(ch == '\n') { l++; c = 1; } else if(ch != '\r' && !Character.isLowSurrogate(ch)) { c++; }
+    }
+    final InputInfo ii = new InputInfo(file, l, c);
+    return new QueryIOException(err.get(ii, l, c, Util.inf(msg, ext)));
   }
 }
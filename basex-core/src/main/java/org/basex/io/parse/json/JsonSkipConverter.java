@@ -0,0 +1,61 @@
+package org.basex.io.parse.json;
+
+import org.basex.query.value.item.*;
+
+/**
+ * This class ignores all JSON parse events. It is used for skipping values that are not
+ * addressed in streaming mode.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+final class JsonSkipConverter extends JsonConverter {
+  /**
+   * Constructor.
+   * @param conv converter with the options to be adopted
+   */
+  JsonSkipConverter(final JsonConverter conv) {
+    super(conv.jopts);
+  }
+
+  @Override
+  void openObject() { }
+
+  @Override
+  void openPair(final byte[] key, final boolean add) { }
+
+  @Override
+  void closePair(final boolean add) { }
+
+  @Override
+  void closeObject() { }
+
+  @Override
+  void openArray() { }
+
+  @Override
+  void openItem() { }
+
+  @Override
+  void closeItem() { }
+
+  @Override
+  void closeArray() { }
+
+  @Override
+  void numberLit(final byte[] value) { }
+
+  @Override
+  void stringLit(final byte[] bs) { }
+
+  @Override
+  void nullLit() { }
+
+  @Override
+  void booleanLit(final byte[] b) { }
+
+  @Override
+  Item finish() {
+    return null;
+  }
+}
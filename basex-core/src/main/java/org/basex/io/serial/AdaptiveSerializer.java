@@ -48,6 +48,12 @@ public class AdaptiveSerializer extends OutputSerializer {
     return super.sc(sctx);
   }
 
+  @Override
+  public Serializer docs(final DocumentCache cache) {
+    if(xml != null) xml.docs(cache);
+    return super.docs(cache);
+  }
+
   @Override
   public final void serialize(final Item item) throws IOException {
     if(more) out.print(itemsep);
@@ -188,7 +194,7 @@ public class AdaptiveSerializer extends OutputSerializer {
   private XMLSerializer xml() throws IOException {
     if(xml == null) {
       xml = new XMLSerializer(os, sopts);
-      xml.sc(sc);
+      xml.sc(sc).docs(docs);
     }
     return xml;
   }
@@ -2,6 +2,7 @@ package org.basex.io.serial;
 
 import java.io.*;
 
+import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.value.array.*;
 import org.basex.query.value.item.*;
@@ -36,9 +37,7 @@ public final class BaseXSerializer extends AdaptiveSerializer {
     if(count == 0) {
       try {
         if(binary && item instanceof Bin) {
-          try(final InputStream is = item.input(null)) {
-            for(int b; (b = is.read()) != -1;) out.write(b);
-          }
+          binary((Bin) item);
         } else {
           printChars(item.string(null));
         }
@@ -50,6 +49,24 @@ public final class BaseXSerializer extends AdaptiveSerializer {
     }
   }
 
+  /**
+   * Writes binary data. Files are directly copied to the output.
+   * @param bin binary item
+   * @throws IOException I/O exception
+   * @throws QueryException query exception
+   */
+  private void binary(final Bin bin) throws IOException, QueryException {
+    final IOFile file = bin instanceof B64Stream ? ((B64Stream) bin).file() : null;
+    if(file != null && file.exists()) {
+      file.copyTo(out, 0, file.length());
+    } else {
+      final byte[] buffer = new byte[IO.BLOCKSIZE];
+      try(final InputStream is = bin.input(null)) {
+        for(int r; (r = is.read(buffer)) != -1;) out.write(buffer, 0, r);
+      }
+    }
+  }
+
   @Override
   protected void array(final Array item) throws IOException {
     ++count;
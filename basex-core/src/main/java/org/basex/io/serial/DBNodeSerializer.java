@@ -0,0 +1,247 @@
+package org.basex.io.serial;
+
+import static org.basex.data.DataText.*;
+import static org.basex.util.Token.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.data.*;
+import org.basex.io.out.*;
+import org.basex.query.value.node.*;
+import org.basex.util.list.*;
+
+/**
+ * This class serializes database nodes as XML. It is used by the {@link XMLSerializer} if the
+ * default parameters are assigned and if the output is UTF-8 encoded. Compared to the generic
+ * serialization of database nodes, no qualified names will be created, the markup of element
+ * and attribute names will be cached by their ids, and runs of characters that need not be
+ * escaped will be written in bulk.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+final class DBNodeSerializer {
+  /** Serializer. */
+  private final XMLSerializer ser;
+  /** Output stream. */
+  private final PrintOutput out;
+
+  /** Data reference of the cached names. */
+  private Data data;
+  /** Cached start tags, indexed by element name ids. */
+  private byte[][] starts;
+  /** Cached end tags, indexed by element name ids. */
+  private byte[][] ends;
+  /** Cached attribute names, indexed by attribute name ids. */
+  private byte[][] atts;
+  /** Id of the xml:space attribute ({@code 0} if it does not occur in the database). */
+  private int space;
+
+  /** Indicates if an element is currently being opened. */
+  private boolean opening;
+
+  /**
+   * Constructor.
+   * @param ser serializer
+   */
+  DBNodeSerializer(final XMLSerializer ser) {
+    this.ser = ser;
+    out = ser.out;
+  }
+
+  /**
+   * Serializes the specified node.
+   * @param node database node
+   * @return {@code false} if the node must be serialized by the generic serializer
+   * @throws IOException I/O exception
+   */
+  boolean node(final DBNode node) throws IOException {
+    final Data dt = node.data();
+    // full-text positions and namespaces are only supported by the generic serializer
+    if(node instanceof FTPosNode || !dt.nspaces.isEmpty()) return false;
+    int pre = node.pre();
+    final int kind = dt.kind(pre);
+    if(kind == Data.ATTR) return false;
+
+    if(dt != data) {
+      data = dt;
+      starts = new byte[dt.elemNames.size() + 1][];
+      ends = new byte[starts.length][];
+      atts = new byte[dt.attrNames.size() + 1][];
+      space = dt.attrNames.id(XML_SPACE);
+    }
+
+    final int size = pre + dt.size(pre, kind);
+    if(kind == Data.DOC) {
+      ser.sep = false;
+      pre++;
+    }
+    final IntList pars = new IntList(), names = new IntList();
+    final BoolList indt = new BoolList();
+    while(pre < size) {
+      final int k = dt.kind(pre), par = dt.parent(pre, k);
+
+      // close opened elements...
+      while(!pars.isEmpty() && pars.peek() >= par) {
+        close(names.pop());
+        ser.indent = indt.pop();
+        pars.pop();
+      }
+
+      if(k == Data.TEXT) {
+        prepare();
+        escape(dt.text(pre++, true), false);
+        ser.sep = false;
+      } else if(k == Data.COMM) {
+        prepare();
+        if(ser.sep) ser.indent();
+        out.write(COMM_O);
+        out.write(dt.text(pre++, true));
+        out.write(COMM_C);
+        ser.sep = true;
+      } else if(k == Data.PI) {
+        prepare();
+        if(ser.sep) ser.indent();
+        out.write(PI_O);
+        out.write(dt.name(pre, Data.PI));
+        out.write(' ');
+        out.write(dt.atom(pre++));
+        out.write(PI_C);
+        ser.sep = true;
+      } else {
+        // add element node
+        prepare();
+        final int id = dt.nameId(pre);
+        if(ser.sep) ser.indent();
+        out.write(start(id));
+        ser.sep = true;
+        opening = true;
+
+        // serialize attributes
+        indt.push(ser.indent);
+        final int as = pre + dt.attSize(pre, k);
+        while(++pre != as) {
+          final int an = dt.nameId(pre);
+          final byte[] value = dt.text(pre, false);
+          out.write(attribute(an));
+          escape(value, true);
+          out.write('"');
+          if(an == space && ser.indent) ser.indent = !eq(value, PRESERVE);
+        }
+        pars.push(par);
+        names.push(id);
+      }
+    }
+
+    // process remaining elements...
+    while(!pars.isEmpty()) {
+      close(names.pop());
+      ser.indent = indt.pop();
+      pars.pop();
+    }
+    return true;
+  }
+
+  /**
+   * Finishes an opening element if necessary.
+   * @throws IOException I/O exception
+   */
+  private void prepare() throws IOException {
+    if(!opening) return;
+    opening = false;
+    out.write('>');
+    ser.level++;
+  }
+
+  /**
+   * Closes an element.
+   * @param id id of element name
+   * @throws IOException I/O exception
+   */
+  private void close(final int id) throws IOException {
+    if(opening) {
+      out.write(ELEM_SC);
+      opening = false;
+    } else {
+      ser.level--;
+      if(ser.sep) ser.indent();
+      byte[] end = ends[id];
+      if(end == null) {
+        end = concat(ELEM_OS, data.elemNames.key(id), ELEM_C);
+        ends[id] = end;
+      }
+      out.write(end);
+    }
+    ser.sep = true;
+  }
+
+  /**
+   * Returns the start tag for the specified element name id.
+   * @param id id of element name
+   * @return start tag
+   */
+  private byte[] start(final int id) {
+    if(id >= starts.length) {
+      // names may have been added since the cache was created
+      starts = Arrays.copyOf(starts, data.elemNames.size() + 1);
+      ends = Arrays.copyOf(ends, starts.length);
+    }
+    byte[] start = starts[id];
+    if(start == null) {
+      start = concat(ELEM_O, data.elemNames.key(id));
+      starts[id] = start;
+    }
+    return start;
+  }
+
+  /**
+   * Returns the leading markup of an attribute with the specified name id.
+   * @param id id of attribute name
+   * @return markup
+   */
+  private byte[] attribute(final int id) {
+    if(id >= atts.length) atts = Arrays.copyOf(atts, data.attrNames.size() + 1);
+    byte[] att = atts[id];
+    if(att == null) {
+      att = concat(SPACE, data.attrNames.key(id), ATT1);
+      atts[id] = att;
+    }
+    return att;
+  }
+
+  /**
+   * Writes an escaped text or attribute value. Characters that need no escaping are written
+   * in bulk; all others are passed on to the serializer.
+   * @param value value
+   * @param att attribute flag
+   * @throws IOException I/O exception
+   */
+  private void escape(final byte[] value, final boolean att) throws IOException {
+    final int vl = value.length;
+    int s = 0;
+    for(int v = 0; v < vl;) {
+      final int b = value[v] & 0xFF;
+      if(b < 0x80 ? b >= 0x20 && b < 0x7F && b != '&' && b != '<' && b != '>' &&
+          (!att || b != '"') || !att && (b == '\n' || b == '\t') :
+        // C1 control characters (U+0080-U+009F), line separator (U+2028)
+        !(b == 0xC2 && v + 1 < vl && (value[v + 1] & 0xFF) < 0xA0 ||
+          b == 0xE2 && v + 2 < vl && value[v + 1] == (byte) 0x80 && value[v + 2] == (byte) 0xA8)) {
+        v++;
+        continue;
+      }
+      if(v > s) out.write(value, s, v - s);
+      final int cp = cp(value, v);
+      if(att && cp == '"') {
+        out.write(E_QUOT);
+      } else if(att && (cp == 0x9 || cp == 0xA)) {
+        ser.printHex(cp);
+      } else {
+        ser.printChar(cp);
+      }
+      v += cl(value, v);
+      s = v;
+    }
+    if(vl > s) out.write(value, s, vl - s);
+  }
+}
@@ -0,0 +1,160 @@
+package org.basex.io.serial;
+
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.core.locks.*;
+import org.basex.data.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * Bounded cache for serialized documents of persistent databases. Documents are cached with
+ * the serialization parameters that were used to serialize them. The total size of all cached
+ * documents is limited by {@link StaticOptions#CACHEDOCS}; least recently used documents are
+ * discarded first. All documents of a database are invalidated as soon as the database is
+ * updated.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class DocumentCache {
+  /** Cached documents (least recently used documents come first). */
+  private final LinkedHashMap<String, Doc> docs = new LinkedHashMap<>(16, 0.75f, true);
+  /** Static options. */
+  private final StaticOptions sopts;
+  /** Total size of all cached documents. */
+  private long size;
+
+  /**
+   * Constructor.
+   * @param sopts static options
+   */
+  public DocumentCache(final StaticOptions sopts) {
+    this.sopts = sopts;
+  }
+
+  /**
+   * Returns the maximum size of all cached documents.
+   * @return size in bytes ({@code 0} if caching is disabled)
+   */
+  long max() {
+    return sopts.get(StaticOptions.CACHEDOCS) * 1024L;
+  }
+
+  /**
+   * Returns the key for caching the specified document.
+   * @param data data reference
+   * @param pre pre value of the document node
+   * @param opts serialization parameters
+   * @return key
+   */
+  static String key(final Data data, final int pre, final SerializerOptions opts) {
+    return data.meta.name + '\0' + pre + '\0' + opts;
+  }
+
+  /**
+   * Returns a cached document.
+   * @param key key
+   * @param data data reference
+   * @return document, or {@code null} if no valid document was found
+   */
+  Doc get(final String key, final Data data) {
+    synchronized(docs) {
+      final Doc doc = docs.get(key);
+      if(doc == null) return null;
+      // skip documents that have been serialized before the last update
+      if(doc.time == data.meta.time) return doc;
+      docs.remove(key);
+      size -= doc.bytes.length;
+      return null;
+    }
+  }
+
+  /**
+   * Caches a document.
+   * @param key key
+   * @param doc document
+   */
+  void add(final String key, final Doc doc) {
+    final long max = max();
+    synchronized(docs) {
+      final Doc old = docs.put(key, doc);
+      if(old != null) size -= old.bytes.length;
+      size += doc.bytes.length;
+
+      // discard least recently used documents
+      final Iterator<Doc> iter = docs.values().iterator();
+      while(size > max && iter.hasNext()) {
+        size -= iter.next().bytes.length;
+        iter.remove();
+      }
+    }
+  }
+
+  /**
+   * Invalidates all documents of the specified databases.
+   * @param dbs names of databases (if {@code null}, all documents will be invalidated)
+   */
+  public void invalidate(final StringList dbs) {
+    final boolean all = dbs == null || dbs.contains(DBLocking.ADMIN) ||
+        dbs.contains(DBLocking.REPO);
+    synchronized(docs) {
+      if(docs.isEmpty()) return;
+      final Iterator<Doc> iter = docs.values().iterator();
+      while(iter.hasNext()) {
+        final Doc doc = iter.next();
+        if(all || doc.references(dbs)) {
+          size -= doc.bytes.length;
+          iter.remove();
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the number of cached documents.
+   * @return number of documents
+   */
+  public int size() {
+    synchronized(docs) { return docs.size(); }
+  }
+
+  /** Serialized document. */
+  static final class Doc {
+    /** Name of database. */
+    final String db;
+    /** Timestamp of the last update of the database. */
+    final long time;
+    /** Serialized document. */
+    final byte[] bytes;
+    /** Separator flag after serialization. */
+    final boolean sep;
+
+    /**
+     * Constructor.
+     * @param data data reference
+     * @param time timestamp of the last update of the database
+     * @param bytes serialized document
+     * @param sep separator flag after serialization
+     */
+    Doc(final Data data, final long time, final byte[] bytes, final boolean sep) {
+      db = data.meta.name;
+      this.time = time;
+      this.bytes = bytes;
+      this.sep = sep;
+    }
+
+    /**
+     * Checks if the document belongs to one of the specified databases.
+     * @param dbs names of databases
+     * @return result of check
+     */
+    private boolean references(final StringList dbs) {
+      for(final String name : dbs) {
+        if(Prop.CASE ? name.equals(db) : name.equalsIgnoreCase(db)) return true;
+      }
+      return false;
+    }
+  }
+}
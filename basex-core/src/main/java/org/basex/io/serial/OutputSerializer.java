@@ -9,6 +9,7 @@ import java.nio.charset.*;
 
 import org.basex.io.out.*;
 import org.basex.query.*;
+import org.basex.query.value.item.*;
 import org.basex.util.*;
 
 /**
@@ -31,6 +32,10 @@ public abstract class OutputSerializer extends Serializer {
   protected final int indents;
   /** Tabular character. */
   protected final char tab;
+  /** Number of items after which the output will be flushed (ignored if {@code 0}). */
+  private final int flush;
+  /** Number of items serialized since the last flush. */
+  private int items;
 
   /**
    * Constructor.
@@ -47,6 +52,7 @@ public abstract class OutputSerializer extends Serializer {
     // project-specific options
     indents = sopts.get(INDENTS);
     tab = sopts.yes(TABULATOR) ? '\t' : ' ';
+    flush = sopts.get(FLUSH);
 
     encoding = Strings.normEncoding(sopts.get(ENCODING), true);
     PrintOutput po;
@@ -67,6 +73,16 @@ public abstract class OutputSerializer extends Serializer {
     out = po;
   }
 
+  @Override
+  public void serialize(final Item item) throws IOException {
+    super.serialize(item);
+    // flush output after the specified number of top-level items
+    if(flush > 0 && level == 0 && ++items == flush) {
+      items = 0;
+      out.flush();
+    }
+  }
+
   @Override
   public void reset() {
     more = false;
@@ -46,6 +46,8 @@ public abstract class Serializer implements Closeable {
 
   /** Static context. */
   protected StaticContext sc;
+  /** Cache for serialized documents (can be {@code null}). */
+  protected DocumentCache docs;
   /** Indicates if at least one item was already serialized. */
   protected boolean more;
   /** Indicates if an element is currently being opened. */
@@ -145,6 +147,16 @@ public abstract class Serializer implements Closeable {
     return this;
   }
 
+  /**
+   * Assigns a cache for serialized documents.
+   * @param cache document cache (can be {@code null})
+   * @return self-reference
+   */
+  public Serializer docs(final DocumentCache cache) {
+    docs = cache;
+    return this;
+  }
+
   // PROTECTED METHODS ==================================================================
 
   /**
@@ -110,6 +110,9 @@ public final class SerializerOptions extends Options {
   /** Specific serialization parameter: maximum number of bytes to serialize. */
   public static final NumberOption LIMIT =
       new NumberOption("limit", -1);
+  /** Specific serialization parameter: number of items after which the output is flushed. */
+  public static final NumberOption FLUSH =
+      new NumberOption("flush", 0);
   /** Specific serialization parameter: binary serialization. */
   public static final EnumOption<YesNo> BINARY =
       new EnumOption<>("binary", YesNo.YES);
@@ -72,7 +72,7 @@ public abstract class StandardSerializer extends OutputSerializer {
 
   @Override
   public void serialize(final Item item) throws IOException {
-    if(more && itemsep != null) {
+    if(more && itemsep != null && level == 0) {
       out.print(itemsep);
       sep = false;
     }
@@ -1,13 +1,19 @@
 package org.basex.io.serial;
 
 import static org.basex.data.DataText.*;
+import static org.basex.io.serial.SerializerOptions.*;
 import static org.basex.query.QueryError.*;
 
 import java.io.*;
 
+import org.basex.data.*;
+import org.basex.io.out.*;
 import org.basex.query.*;
 import org.basex.query.util.ft.*;
 import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
 
 /**
  * This class serializes items as XML.
@@ -16,6 +22,10 @@ import org.basex.query.value.item.*;
  * @author Christian Gruen
  */
 public class XMLSerializer extends MarkupSerializer {
+  /** Serializer for database nodes ({@code null} if non-default parameters are assigned). */
+  private final DBNodeSerializer dbser;
+  /** Indicates if serialized documents can be cached. */
+  private final boolean cacheable;
   /** Indicates if root element has been serialized. */
   private boolean root;
 
@@ -27,6 +37,28 @@ public class XMLSerializer extends MarkupSerializer {
    */
   XMLSerializer(final OutputStream os, final SerializerOptions sopts) throws IOException {
     super(os, sopts, V10, V11);
+    // output of documents does not depend on the static context or preceding documents
+    cacheable = getClass() == XMLSerializer.class && sopts.get(LIMIT) == -1 && saomit &&
+      docsys == null && sopts.get(CDATA_SECTION_ELEMENTS).trim().isEmpty() &&
+      sopts.get(SUPPRESS_INDENTATION).trim().isEmpty();
+    // fast path: UTF-8 output (no newline conversions), default parameters
+    dbser = cacheable && encoding == Strings.UTF8 &&
+      !(out instanceof EncoderOutput || out instanceof NewlineOutput) && map == null &&
+      form == null ? new DBNodeSerializer(this) : null;
+  }
+
+  @Override
+  protected void node(final ANode node) throws IOException {
+    if(level == 0 && node instanceof DBNode && !(node instanceof FTPosNode)) {
+      final DBNode dbnode = (DBNode) node;
+      if(cacheable && docs != null && !atomic && node.type == NodeType.DOC &&
+          !dbnode.data().inMemory() && docs.max() > 0) {
+        document(dbnode);
+        return;
+      }
+      if(dbser != null && dbser.node(dbnode)) return;
+    }
+    super.node(node);
   }
 
   @Override
@@ -55,6 +87,37 @@ public class XMLSerializer extends MarkupSerializer {
     if(docsys != null) printDoctype(type, docpub, docsys);
   }
 
+  /**
+   * Serializes a database document. If possible, the serialized document is taken from or
+   * added to the document cache.
+   * @param node document node
+   * @throws IOException I/O exception
+   */
+  private void document(final DBNode node) throws IOException {
+    final Data data = node.data();
+    final String key = DocumentCache.key(data, node.pre(), sopts);
+    final DocumentCache.Doc doc = docs.get(key, data);
+    if(doc != null) {
+      out.write(doc.bytes);
+      sep = doc.sep;
+      return;
+    }
+
+    // serialize document with a new serializer, skip XML declaration
+    final long time = data.meta.time;
+    final Capture capture = new Capture(out, docs.max());
+    final XMLSerializer ser = new XMLSerializer(capture, sopts);
+    ser.sc(sc);
+    ser.out.flush();
+    capture.start();
+    ser.node(node);
+    ser.out.flush();
+    sep = ser.sep;
+
+    final byte[] bytes = capture.finish();
+    if(bytes != null) docs.add(key, new DocumentCache.Doc(data, time, bytes, sep));
+  }
+
   /**
    * Checks if document serialization is valid.
    * @throws QueryIOException query I/O exception
@@ -63,4 +126,62 @@ public class XMLSerializer extends MarkupSerializer {
     if(!saomit) throw SERSA.getIO();
     if(docsys != null) throw SERDT.getIO();
   }
+
+  /** Output stream that passes on serialized documents and caches them. */
+  private static final class Capture extends OutputStream {
+    /** Output stream. */
+    private final PrintOutput out;
+    /** Maximum size of a cached document. */
+    private final long max;
+    /** Cached bytes ({@code null} if the maximum size has been exceeded). */
+    private ArrayOutput cache;
+    /** Indicates if output is passed on. */
+    private boolean started;
+
+    /**
+     * Constructor.
+     * @param out output stream
+     * @param max maximum size of a cached document
+     */
+    private Capture(final PrintOutput out, final long max) {
+      this.out = out;
+      this.max = Math.min(max, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Starts passing on and caching output. All bytes written before are discarded.
+     */
+    private void start() {
+      started = true;
+      cache = new ArrayOutput();
+    }
+
+    /**
+     * Returns the cached bytes.
+     * @return bytes or {@code null}
+     */
+    private byte[] finish() {
+      return cache != null ? cache.finish() : null;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      if(!started) return;
+      out.write(b);
+      if(cache != null) {
+        if(cache.size() < max) cache.write(b);
+        else cache = null;
+      }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      if(!started) return;
+      out.write(b, off, len);
+      if(cache != null) {
+        if(cache.size() + len <= max) cache.write(b, off, len);
+        else cache = null;
+      }
+    }
+  }
 }
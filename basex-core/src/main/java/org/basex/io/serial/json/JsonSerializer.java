@@ -47,7 +47,8 @@ public abstract class JsonSerializer extends StandardSerializer {
 
   @Override
   public void serialize(final Item item) throws IOException {
-    if(sep) throw SERJSON.getIO();
+    // multiple items can only be serialized if an item separator has been specified
+    if(sep && itemsep == null) throw SERJSON.getIO();
     if(item == null) {
       out.print(JsonConstants.NULL);
     } else {
@@ -0,0 +1,247 @@
+package org.basex.query;
+
+import java.util.*;
+import java.util.Map.Entry;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.core.locks.*;
+import org.basex.data.*;
+import org.basex.io.serial.*;
+import org.basex.query.expr.Expr.Flag;
+import org.basex.query.func.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.type.*;
+import org.basex.query.var.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * Bounded cache for compiled queries. A compiled plan is reused by all queries with the same
+ * query string, user, options, base URI and externally bound values. Least recently used
+ * plans are discarded first. A plan is invalidated as soon as a database referenced by the
+ * plan is updated.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class QueryCache {
+  /** Cached plans (least recently used plans come first). */
+  private final LinkedHashMap<String, Plan> plans = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Returns the key for caching the specified query.
+   * @param query query string
+   * @param qc query context
+   * @param sc static context
+   * @return key, or {@code null} if the query cannot be cached
+   * @throws QueryException query exception
+   */
+  String key(final String query, final QueryContext qc, final StaticContext sc)
+      throws QueryException {
+
+    final Context ctx = qc.context;
+    if(ctx.soptions.get(StaticOptions.CACHEQUERY) == 0 || qc.ctxItem != null) return null;
+
+    // bound values: only atomic items are supported
+    final StringList bindings = new StringList();
+    for(final Entry<QNm, Value> binding : qc.bindings.entrySet()) {
+      final TokenBuilder tb = new TokenBuilder().add(binding.getKey().id());
+      for(final Item it : binding.getValue()) {
+        if(!(it.type instanceof AtomType) || it.type == AtomType.JAVA) return null;
+        tb.add(0).add(it.type.toString()).add(0).add(it.string(null));
+      }
+      bindings.add(tb.toString());
+    }
+
+    final StringBuilder sb = new StringBuilder(query).append('\0');
+    sb.append(ctx.user().name()).append('\0').append(ctx.options).append('\0');
+    sb.append(sc.baseURI()).append('\0');
+    for(final String binding : bindings.sort()) sb.append(binding).append('\0');
+    return sb.toString();
+  }
+
+  /**
+   * Returns a cached plan.
+   * @param key key
+   * @return plan, or {@code null} if no plan was found
+   */
+  Plan get(final String key) {
+    synchronized(plans) { return plans.get(key); }
+  }
+
+  /**
+   * Assigns a cached plan to the specified query context. This function must be called
+   * after the databases of the plan have been locked: plans are invalidated when a database
+   * is locked for updates, so a plan that is still cached at this point is up-to-date.
+   * @param key key
+   * @param plan plan
+   * @param qc query context
+   * @return {@code true} if the plan was still valid
+   */
+  boolean adopt(final String key, final Plan plan, final QueryContext qc) {
+    synchronized(plans) {
+      if(plans.get(key) != plan || !plan.valid()) return false;
+      // pin databases before the plan may be invalidated by another process
+      qc.resources.share(plan.datas);
+    }
+    qc.adopt(plan);
+    return true;
+  }
+
+  /**
+   * Caches the compiled plan of the specified query context, if it can be shared with other
+   * queries. Plans will not be cached if they are updating or non-deterministic, if they depend
+   * on the current time, the context value, imported modules, local options or main-memory
+   * databases, or if they contain lazy static variables (which are bound on evaluation) or other
+   * expressions with evaluation state (which must not be shared by concurrent queries).
+   * @param key key
+   * @param qc compiled query context
+   * @param locks locks of the parsed query
+   */
+  void add(final String key, final QueryContext qc, final LockResult locks) {
+    final MainModule root = qc.root;
+    if(root == null || qc.updating || qc.value != null || qc.time != null ||
+      !qc.tempOpts.isEmpty() || !qc.staticOpts.isEmpty() || root.expr.has(Flag.NDT) ||
+      root.expr.has(Flag.STA) || !qc.vars.bound()) return;
+
+    final Data[] datas = qc.resources.shared();
+    if(datas == null) return;
+
+    final Context ctx = qc.context;
+    final Plan plan = new Plan(qc, datas, locks);
+    synchronized(plans) {
+      if(plans.containsKey(key)) return;
+      for(final Data data : datas) {
+        synchronized(ctx.datas) { ctx.datas.pin(data); }
+      }
+      plans.put(key, plan);
+
+      // discard least recently used plans
+      final int max = ctx.soptions.get(StaticOptions.CACHEQUERY);
+      final Iterator<Plan> iter = plans.values().iterator();
+      while(plans.size() > max && iter.hasNext()) {
+        iter.next().close(ctx);
+        iter.remove();
+      }
+    }
+  }
+
+  /**
+   * Invalidates all plans that reference one of the specified databases.
+   * @param dbs names of databases (if {@code null}, all plans will be invalidated)
+   * @param ctx database context
+   */
+  public void invalidate(final StringList dbs, final Context ctx) {
+    final boolean all = dbs == null || dbs.contains(DBLocking.ADMIN) ||
+        dbs.contains(DBLocking.REPO);
+    synchronized(plans) {
+      if(plans.isEmpty()) return;
+      final Iterator<Plan> iter = plans.values().iterator();
+      while(iter.hasNext()) {
+        final Plan plan = iter.next();
+        if(all || plan.references(dbs)) {
+          plan.close(ctx);
+          iter.remove();
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the number of cached plans.
+   * @return number of plans
+   */
+  public int size() {
+    synchronized(plans) { return plans.size(); }
+  }
+
+  /** Compiled query plan. */
+  static final class Plan {
+    /** Root expression. */
+    final MainModule root;
+    /** Functions. */
+    final StaticFuncs funcs;
+    /** Static variables. */
+    final Variables vars;
+    /** Serialization parameters declared in the query (can be {@code null}). */
+    final SerializerOptions serParams;
+    /** Strings to lock defined by read-lock option. */
+    final StringList readLocks;
+    /** Strings to lock defined by write-lock option. */
+    final StringList writeLocks;
+    /** Databases referenced by the plan. */
+    final Data[] datas;
+    /** Timestamps of the last updates of the referenced databases. */
+    private final long[] times;
+    /** Locks of the parsed query. */
+    private final LockResult locks;
+
+    /**
+     * Constructor.
+     * @param qc compiled query context
+     * @param datas databases referenced by the plan
+     * @param locks locks of the parsed query
+     */
+    private Plan(final QueryContext qc, final Data[] datas, final LockResult locks) {
+      root = qc.root;
+      funcs = qc.funcs;
+      vars = qc.vars;
+      serParams = qc.declaredParams();
+      readLocks = qc.readLocks;
+      writeLocks = qc.writeLocks;
+      this.datas = datas;
+      this.locks = locks;
+      final int dl = datas.length;
+      times = new long[dl];
+      for(int d = 0; d < dl; d++) times[d] = datas[d].meta.time;
+    }
+
+    /**
+     * Adds the locks of the plan.
+     * @param lr lock result
+     */
+    void databases(final LockResult lr) {
+      lr.read.add(locks.read);
+      lr.write.add(locks.write);
+      lr.readAll |= locks.readAll;
+      lr.writeAll |= locks.writeAll;
+    }
+
+    /**
+     * Checks if none of the referenced databases has been updated since the plan was compiled.
+     * @return result of check
+     */
+    private boolean valid() {
+      final int dl = datas.length;
+      for(int d = 0; d < dl; d++) {
+        if(datas[d].meta.time != times[d]) return false;
+      }
+      return true;
+    }
+
+    /**
+     * Checks if the plan references one of the specified databases.
+     * @param dbs names of databases
+     * @return result of check
+     */
+    private boolean references(final StringList dbs) {
+      for(final Data data : datas) {
+        for(final String db : dbs) {
+          if(Prop.CASE ? db.equals(data.meta.name) : db.equalsIgnoreCase(data.meta.name))
+            return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Unpins the databases of the plan.
+     * @param ctx database context
+     */
+    private void close(final Context ctx) {
+      for(final Data data : datas) Close.close(data, ctx);
+    }
+  }
+}
@@ -49,12 +49,12 @@ import org.basex.util.options.*;
 public final class QueryContext extends Proc implements Closeable {
   /** The evaluation stack. */
   public final QueryStack stack = new QueryStack();
-  /** Static variables. */
-  public final Variables vars = new Variables();
-  /** Functions. */
-  public final StaticFuncs funcs = new StaticFuncs();
+  /** Static variables (will be replaced if a cached query plan is adopted). */
+  public Variables vars = new Variables();
+  /** Functions (will be replaced if a cached query plan is adopted). */
+  public StaticFuncs funcs = new StaticFuncs();
   /** Externally bound variables. */
-  private final HashMap<QNm, Value> bindings = new HashMap<>();
+  final HashMap<QNm, Value> bindings = new HashMap<>();
 
   /** Parent query context. */
   private final QueryContext parent;
@@ -112,6 +112,11 @@ public final class QueryContext extends Proc implements Closeable {
   /** Strings to lock defined by write-lock option. */
   public final StringList writeLocks = new StringList(0);
 
+  /** Number of parallel workers for evaluating FLWOR expressions (0: sequential evaluation). */
+  public int parallel;
+  /** Hashed operands of general comparisons (lazy instantiation). */
+  public IdentityHashMap<CmpG, CmpHash> hashes;
+
   /** Number of successive tail calls. */
   public int tailCalls;
   /** Maximum number of successive tail calls (will be set before compilation). */
@@ -256,6 +261,31 @@ public final class QueryContext extends Proc implements Closeable {
     updating = rt.expr.has(Flag.UPD);
   }
 
+  /**
+   * Assigns the serialization parameters of a cached query plan.
+   * @param plan compiled query plan
+   */
+  void declare(final QueryCache.Plan plan) {
+    if(plan.serParams != null) serParams = new SerializerOptions(plan.serParams);
+  }
+
+  /**
+   * Adopts a cached query plan. The plan replaces parsing and compilation.
+   * @param plan compiled query plan
+   */
+  void adopt(final QueryCache.Plan plan) {
+    root = plan.root;
+    funcs = plan.funcs;
+    vars = plan.vars;
+    readLocks.add(plan.readLocks);
+    writeLocks.add(plan.writeLocks);
+    maxCalls = context.options.get(MainOptions.TAILCALLS);
+    updating = false;
+    compInfo(QueryText.OPTCACHED);
+    info.runtime = true;
+    compiled = true;
+  }
+
   /**
    * Compiles and optimizes the expression.
    * @throws QueryException query exception
@@ -552,6 +582,14 @@ public final class QueryContext extends Proc implements Closeable {
     return serParams;
   }
 
+  /**
+   * Returns the serialization parameters that have been declared in the query.
+   * @return serialization parameters or {@code null}
+   */
+  SerializerOptions declaredParams() {
+    return defaultOutput ? null : serParams;
+  }
+
   /**
    * Returns the current full-text options. Creates a new instance if called first.
    * @return full-text options
@@ -51,6 +51,8 @@ public enum QueryError {
   BASX_UPMODIFY(BASX, 9, "Transform expressions must all be updating or return an empty sequence."),
   /** XQST0010. */
   BASX_OPTDECL_X(BASX, 10, "Database option not allowed in library module: %."),
+  /** BASX0011. */
+  BASX_PARALLEL_X(BASX, 11, "Invalid number of parallel workers: '%'."),
 
   // Admin module
 
@@ -184,6 +186,10 @@ public enum QueryError {
   BXJS_SERIAL_X(BXJS, 2, "JSON serializer: %."),
   /** BXJS0003. */
   BXJS_INVALID_X(BXJS, 1, "'%':'%' is not supported by the target format."),
+  /** BXJS0001. */
+  BXJS_PATH_X(BXJS, 1, "Invalid path: '%'."),
+  /** BXJS0001. */
+  BXJS_PATHOPT_X_X(BXJS, 1, "'%':'%' is not supported if a path is specified."),
 
   // Output module
 
@@ -337,6 +343,8 @@ public enum QueryError {
   /** ARCH0003. */
   ARCH_LEVEL_X(ARCH, 3, "Invalid compression level: '%'."),
   /** ARCH0003. */
+  ARCH_PARALLEL_X(ARCH, 3, "Invalid number of compression threads: '%'."),
+  /** ARCH0003. */
   ARCH_DATETIME_X(ARCH, 3, "xs:dateTime value is invalid : '%'."),
   /** ARCH0004. */
   ARCH_ENCODING_X(ARCH, 4, "Unknown encoding '%'."),
@@ -449,6 +457,8 @@ public enum QueryError {
   HC_URL(HC, 5, "No URL supplied."),
   /** HC0006. */
   HC_PARAMS(HC, 6, "Specify request element or HTTP URI."),
+  /** HC0007. */
+  HC_PARALLEL_X(HC, 7, "Invalid number of parallel requests: %."),
 
   /** ZIP0001. */
   ZIP_NOTFOUND_X(ZIP, 1, "Path '%' not found."),
@@ -35,6 +35,14 @@ public final class QueryProcessor extends Proc implements Closeable {
   private final String query;
   /** Parsed flag. */
   private boolean parsed;
+  /** Indicates if the compiled query may be cached. */
+  private boolean cache = true;
+  /** Key for caching the compiled query (can be {@code null}). */
+  private String key;
+  /** Cached plan, which will be adopted when the query is compiled (can be {@code null}). */
+  private QueryCache.Plan plan;
+  /** Locks of the parsed query (assigned if the compiled query may be cached). */
+  private LockResult locks;
 
   /**
    * Default constructor.
@@ -54,7 +62,16 @@ public final class QueryProcessor extends Proc implements Closeable {
   public void parse() throws QueryException {
     if(parsed) return;
     try {
-      qc.parseMain(query, null, sc);
+      final QueryCache qcache = qc.context.cache;
+      key = cache ? qcache.key(query, qc, sc) : null;
+      plan = key != null ? qcache.get(key) : null;
+      if(plan != null) {
+        // the plan will be adopted after the databases have been locked
+        qc.info.query = query;
+        qc.declare(plan);
+      } else {
+        parseMain();
+      }
     } finally {
       parsed = true;
       updating = qc.updating;
@@ -67,7 +84,29 @@ public final class QueryProcessor extends Proc implements Closeable {
    */
   public void compile() throws QueryException {
     parse();
+    if(plan != null) {
+      // parse the query if the plan has been invalidated in the meantime
+      if(qc.context.cache.adopt(key, plan, qc)) key = null;
+      else parseMain();
+      plan = null;
+    }
     qc.compile();
+    if(key != null) {
+      qc.context.cache.add(key, qc, locks);
+      key = null;
+    }
+  }
+
+  /**
+   * Parses the query, and assigns its locks if the compiled query may be cached.
+   * @throws QueryException query exception
+   */
+  private void parseMain() throws QueryException {
+    qc.parseMain(query, null, sc);
+    if(key != null) {
+      locks = new LockResult();
+      qc.databases(locks);
+    }
   }
 
   /**
@@ -77,7 +116,7 @@ public final class QueryProcessor extends Proc implements Closeable {
    * @throws QueryException query exception
    */
   public Iter iter() throws QueryException {
-    parse();
+    compile();
     return qc.iter();
   }
 
@@ -97,7 +136,7 @@ public final class QueryProcessor extends Proc implements Closeable {
    * @throws QueryException query exception
    */
   public Value value() throws QueryException {
-    parse();
+    compile();
     return qc.iter().value();
   }
 
@@ -110,7 +149,7 @@ public final class QueryProcessor extends Proc implements Closeable {
    * @throws QueryException query exception
    */
   public Value cache(final int max) throws QueryException {
-    parse();
+    compile();
     return qc.cache(max);
   }
 
@@ -209,6 +248,7 @@ public final class QueryProcessor extends Proc implements Closeable {
    */
   public QueryProcessor namespace(final String prefix, final String uri) throws QueryException {
     sc.namespace(prefix, uri);
+    cache = false;
     return this;
   }
 
@@ -219,6 +259,7 @@ public final class QueryProcessor extends Proc implements Closeable {
    */
   public QueryProcessor uriResolver(final UriResolver resolver) {
     sc.resolver = resolver;
+    cache = false;
     return this;
   }
 
@@ -234,7 +275,7 @@ public final class QueryProcessor extends Proc implements Closeable {
   public Serializer getSerializer(final OutputStream os) throws IOException, QueryException {
     compile();
     try {
-      return Serializer.get(os, qc.serParams()).sc(sc);
+      return Serializer.get(os, qc.serParams()).sc(sc).docs(qc.context.documents);
     } catch(final QueryIOException ex) {
       throw ex.getCause();
     }
@@ -247,6 +288,7 @@ public final class QueryProcessor extends Proc implements Closeable {
    */
   public void module(final String uri, final String file) {
     qc.modDeclared.put(uri, file);
+    cache = false;
   }
 
   /**
@@ -264,7 +306,8 @@ public final class QueryProcessor extends Proc implements Closeable {
 
   @Override
   public void databases(final LockResult lr) {
-    qc.databases(lr);
+    if(plan != null) plan.databases(lr);
+    else qc.databases(lr);
   }
 
   /**
@@ -117,6 +117,28 @@ public final class QueryResources {
     }
   }
 
+  /**
+   * Returns the databases that have been opened so far, or {@code null} if the resources
+   * cannot be shared with other queries.
+   * @return databases or {@code null}
+   */
+  synchronized Data[] shared() {
+    if(globalData || modules != null || external != null) return null;
+    for(final Data data : datas) if(data.inMemory()) return null;
+    return datas.toArray(new Data[datas.size()]);
+  }
+
+  /**
+   * Pins and adds the databases of a shared query plan.
+   * @param dts databases
+   */
+  synchronized void share(final Data[] dts) {
+    for(final Data data : dts) {
+      synchronized(qc.context.datas) { qc.context.datas.pin(data); }
+      addData(data);
+    }
+  }
+
   /**
    * Opens a new database or returns a reference to an already opened database.
    * @param name name of database
@@ -199,6 +199,7 @@ public interface QueryText {
   /** Parser token. */ String READ_LOCK = "read-lock";
   /** Parser token. */ String WRITE_LOCK = "write-lock";
   /** Parser token. */ String NON_DETERMNISTIC = "non-deterministic";
+  /** Parser token. */ String PARALLEL = "parallel";
 
   // PARSER KEYWORDS (IGNORED BY THE SYNTAX HIGHLIGHTER) ==========================================
 
@@ -383,11 +384,15 @@ public interface QueryText {
   /** Query Info. */ String MAX = "max";
   /** Query Info. */ String INF = "inf";
   /** Query Info. */ String TCL = "tailCall";
+  /** Query Info. */ String COSTS = "costs";
 
   // OPTIMIZATIONS ================================================================================
 
   /** Optimization info. */ String OPTDESC = "rewriting descendant-or-self step(s)";
+  /** Optimization info. */ String OPTCACHED = "adopting cached query plan";
+  /** Optimization info. */ String OPTPREDS_X = "ordering predicates by selectivity: %";
   /** Optimization info. */ String OPTATOMIC_X = "atomic evaluation of %";
+  /** Optimization info. */ String OPTJOIN_X = "binding join operand to variable: %";
   /** Optimization info. */ String OPTPRE_X = "pre-evaluating %";
   /** Optimization info. */ String OPTTYPE_X = "type check removed: %";
   /** Optimization info. */ String OPTREWRITE_X = "rewriting %";
@@ -122,6 +122,8 @@ public enum Annotation {
   /** XQuery annotation. */
   _REST_SINGLE("single([key])", arg(STR), REST_URI),
   /** XQuery annotation. */
+  _REST_CACHE("cache()", arg(), REST_URI),
+  /** XQuery annotation. */
   _REST_GET("GET()", arg(), REST_URI),
   /** XQuery annotation. */
   _REST_POST("POST([body])", arg(STR), REST_URI),
@@ -1,5 +1,7 @@
 package org.basex.query.expr;
 
+import static org.basex.query.QueryError.*;
+
 import org.basex.query.*;
 import org.basex.query.expr.Expr.Flag;
 import org.basex.query.value.item.*;
@@ -12,6 +14,9 @@ import org.basex.util.*;
  * @author Leo Woerteler
  */
 public final class BaseXPragma extends Pragma {
+  /** Cached number of parallel workers. */
+  private int old;
+
   /**
    * Constructor.
    * @param name name of pragma
@@ -22,16 +27,33 @@ public final class BaseXPragma extends Pragma {
   }
 
   @Override
-  void init(final QueryContext qc, final InputInfo info) {
+  void init(final QueryContext qc, final InputInfo info) throws QueryException {
+    if(!is(QueryText.PARALLEL)) return;
+    final int workers = value.length == 0 ? Runtime.getRuntime().availableProcessors() :
+      Token.toInt(value);
+    if(workers < 1) throw BASX_PARALLEL_X.get(info, value);
+    old = qc.parallel;
+    qc.parallel = workers;
   }
 
   @Override
   void finish(final QueryContext qc) {
+    if(is(QueryText.PARALLEL)) qc.parallel = old;
   }
 
   @Override
   public boolean has(final Flag flag) {
-    return flag == Flag.NDT && Token.eq(name.local(), Token.token(QueryText.NON_DETERMNISTIC));
+    return flag == Flag.NDT && is(QueryText.NON_DETERMNISTIC) ||
+        flag == Flag.STA && is(QueryText.PARALLEL);
+  }
+
+  /**
+   * Checks if the pragma has the specified local name.
+   * @param local local name
+   * @return result of check
+   */
+  private boolean is(final String local) {
+    return Token.eq(name.local(), Token.token(local));
   }
 
   @Override
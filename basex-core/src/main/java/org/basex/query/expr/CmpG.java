@@ -3,6 +3,8 @@ package org.basex.query.expr;
 import static org.basex.query.QueryError.*;
 import static org.basex.query.QueryText.*;
 
+import java.util.*;
+
 import org.basex.index.*;
 import org.basex.query.*;
 import org.basex.query.expr.CmpV.*;
@@ -11,6 +13,7 @@ import org.basex.query.func.fn.*;
 import org.basex.query.iter.*;
 import org.basex.query.util.*;
 import org.basex.query.util.collation.*;
+import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
 import org.basex.query.value.type.*;
@@ -239,6 +242,10 @@ public final class CmpG extends Cmp {
     final long is2 = ir2.size();
     if(is2 == 0) return Bln.FALSE;
 
+    // hash items of one operand if a larger number of comparisons is expected
+    final int hash = hashed(is1, is2);
+    if(hash != 0) return Bln.get(hash(ir1, ir2, hash == 1, qc));
+
     // evaluate single items
     final boolean s2 = is2 == 1;
     if(s1 && s2) return Bln.get(eval(ir1.next(), ir2.next()));
@@ -277,6 +284,67 @@ public final class CmpG extends Cmp {
     return Bln.FALSE;
   }
 
+  /**
+   * Chooses the operand whose items will be hashed.
+   * @param is1 number of items of the first operand ({@code -1} if unknown)
+   * @param is2 number of items of the second operand ({@code -1} if unknown)
+   * @return {@code 1} or {@code 2} for the operand to be hashed, {@code 0} for pairwise comparisons
+   */
+  private int hashed(final long is1, final long is2) {
+    if(op != OpG.EQ || coll != null) return 0;
+
+    // prefer values and variable references (hashed items will be reused)
+    final boolean v1 = cached(exprs[0]), v2 = cached(exprs[1]);
+    if(is1 == 1) return v2 && (is2 == -1 || is2 >= CmpHash.MIN) ? 2 : 0;
+    if(is2 == 1) return v1 && (is1 == -1 || is1 >= CmpHash.MIN) ? 1 : 0;
+    if(is1 != -1 && is2 != -1 && is1 * is2 < CmpHash.MIN) return 0;
+    return v1 && !v2 || v1 == v2 && is1 != -1 && (is2 == -1 || is1 < is2) ? 1 : 2;
+  }
+
+  /**
+   * Checks if the hashed items of the specified operand can be reused.
+   * @param expr operand
+   * @return result of check
+   */
+  private static boolean cached(final Expr expr) {
+    return expr instanceof Value || expr instanceof VarRef;
+  }
+
+  /**
+   * Compares the items of both operands by hashing the items of one operand.
+   * @param ir1 first iterator
+   * @param ir2 second iterator
+   * @param first hash items of first operand
+   * @param qc query context
+   * @return result of check
+   * @throws QueryException query exception
+   */
+  private boolean hash(final Iter ir1, final Iter ir2, final boolean first,
+      final QueryContext qc) throws QueryException {
+
+    final Expr expr = exprs[first ? 0 : 1];
+    CmpHash hash;
+    if(cached(expr)) {
+      // reuse hashed items if the operand yields the same value
+      final Value value = expr.value(qc);
+      if(qc.hashes == null) qc.hashes = new IdentityHashMap<>();
+      hash = qc.hashes.get(this);
+      if(hash == null || hash.value != value) {
+        hash = new CmpHash(value.atomIter(qc, info), value, this, first);
+        qc.hashes.put(this, hash);
+      }
+    } else {
+      hash = new CmpHash(first ? ir1 : ir2, null, this, first);
+    }
+
+    // probe items of other operand
+    final Iter iter = first ? ir2 : ir1;
+    for(Item it; (it = iter.next()) != null;) {
+      if(hash.contains(it)) return true;
+    }
+    return false;
+  }
+
   /**
    * Compares a single item.
    * @param it1 first item to be compared
@@ -284,7 +352,7 @@ public final class CmpG extends Cmp {
    * @return result of check
    * @throws QueryException query exception
    */
-  private boolean eval(final Item it1, final Item it2) throws QueryException {
+  boolean eval(final Item it1, final Item it2) throws QueryException {
     final Type t1 = it1.type, t2 = it2.type;
     if(!(it1 instanceof FItem || it2 instanceof FItem) &&
         (t1 == t2 || t1.isUntyped() || t2.isUntyped() ||
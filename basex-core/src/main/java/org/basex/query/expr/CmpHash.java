@@ -0,0 +1,172 @@
+package org.basex.query.expr;
+
+import org.basex.query.*;
+import org.basex.query.iter.*;
+import org.basex.query.util.hash.*;
+import org.basex.query.util.list.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+
+/**
+ * Hashed items of an operand of a general comparison.
+ * Strings and untyped items are indexed by their string values, numbers by their numeric values.
+ * Integers, doubles and untyped items are additionally indexed by their double values, as
+ * untyped items will be cast to doubles if they are compared with numbers.
+ * All other pairs of items will be compared one by one.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class CmpHash {
+  /** Minimum number of expected item comparisons for hashing operands. */
+  static final long MIN = 64;
+
+  /** Value from which the items were retrieved (can be {@code null}). */
+  final Value value;
+  /** String values of strings and untyped items. */
+  private final TokenSet strings = new TokenSet();
+  /** Strings and untyped items. */
+  private final ItemList strItems = new ItemList();
+  /** Numbers (without NaN). */
+  private final HashItemSet numbers = new HashItemSet();
+  /** Numbers. */
+  private final ItemList numItems = new ItemList();
+  /** Integers and doubles (without NaN), indexed by their double values. */
+  private final HashItemSet dbls = new HashItemSet();
+  /** Numbers other than integers and doubles. */
+  private final ItemList decItems = new ItemList();
+  /** Double values of untyped items (without NaN). */
+  private final HashItemSet untyped = new HashItemSet();
+  /** Indicates if all strings are untyped items that can be cast to doubles. */
+  private boolean castable = true;
+  /** Items of other types. */
+  private final ItemList others = new ItemList();
+  /** Comparison expression. */
+  private final CmpG cmp;
+  /** Indicates if the hashed items belong to the first operand. */
+  private final boolean first;
+
+  /**
+   * Constructor.
+   * @param iter atomized items to be hashed
+   * @param value value from which the items were retrieved (can be {@code null})
+   * @param cmp comparison expression
+   * @param first indicates if the hashed items belong to the first operand
+   * @throws QueryException query exception
+   */
+  CmpHash(final Iter iter, final Value value, final CmpG cmp, final boolean first)
+      throws QueryException {
+
+    this.value = value;
+    this.cmp = cmp;
+    this.first = first;
+    final InputInfo info = cmp.info;
+    for(Item it; (it = iter.next()) != null;) {
+      if(string(it)) {
+        strings.add(it.string(info));
+        strItems.add(it);
+        if(castable) {
+          final Dbl d = it.type.isUntyped() ? dbl(it) : null;
+          if(d == null) castable = false;
+          else if(!Double.isNaN(d.dbl())) untyped.add(d, info);
+        }
+      } else if(it instanceof ANum) {
+        final double d = it.dbl(info);
+        if(!Double.isNaN(d)) {
+          numbers.add(it, info);
+          if(doubles(it)) dbls.add(Dbl.get(d), info);
+        }
+        if(!doubles(it)) decItems.add(it);
+        numItems.add(it);
+      } else {
+        others.add(it);
+      }
+    }
+  }
+
+  /**
+   * Checks if the specified item is equal to one of the hashed items.
+   * @param it item to be compared
+   * @return result of check
+   * @throws QueryException query exception
+   */
+  boolean contains(final Item it) throws QueryException {
+    final InputInfo info = cmp.info;
+    if(string(it)) {
+      // strings and untyped items: strings may only be compared with untyped items
+      if(strings.contains(it.string(info))) return true;
+      if(!numItems.isEmpty()) {
+        // untyped items will be cast to doubles; items that cannot be cast raise an error
+        final Dbl d = it.type.isUntyped() ? dbl(it) : null;
+        if(d == null) {
+          if(eval(it, numItems)) return true;
+        } else if(!Double.isNaN(d.dbl()) && dbls.id(d, info) != 0 || eval(it, decItems)) {
+          return true;
+        }
+      }
+      return eval(it, others);
+    }
+    if(it instanceof ANum) {
+      // numbers: untyped items will be cast to numbers
+      final double d = it.dbl(info);
+      if(!Double.isNaN(d) && numbers.id(it, info) != 0) return true;
+      if(!strItems.isEmpty()) {
+        if(castable && doubles(it)) {
+          if(!Double.isNaN(d) && untyped.id(Dbl.get(d), info) != 0) return true;
+        } else if(eval(it, strItems)) {
+          return true;
+        }
+      }
+      return eval(it, others);
+    }
+    return eval(it, strItems) || eval(it, numItems) || eval(it, others);
+  }
+
+  /**
+   * Casts an item to a double.
+   * @param it item
+   * @return double, or {@code null} if the item cannot be cast
+   */
+  private Dbl dbl(final Item it) {
+    try {
+      return Dbl.get(it.dbl(cmp.info));
+    } catch(final QueryException ex) {
+      Util.debug(ex);
+      return null;
+    }
+  }
+
+  /**
+   * Checks if the specified number is compared with untyped items via its double value.
+   * @param it number
+   * @return result of check
+   */
+  private static boolean doubles(final Item it) {
+    return it instanceof Int || it instanceof Dbl;
+  }
+
+  /**
+   * Compares an item with all specified items.
+   * @param it item to be compared
+   * @param items items
+   * @return result of check
+   * @throws QueryException query exception
+   */
+  private boolean eval(final Item it, final ItemList items) throws QueryException {
+    for(final Item i : items) {
+      if(first ? cmp.eval(i, it) : cmp.eval(it, i)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Checks if the specified item is a string or untyped.
+   * @param it item
+   * @return result of check
+   */
+  private static boolean string(final Item it) {
+    return it instanceof AStr || it.type.isUntyped();
+  }
+}
@@ -50,7 +50,8 @@ public final class DBPragma extends Pragma {
 
   @Override
   public boolean has(final Flag flag) {
-    return false;
+    // original option value is cached during evaluation
+    return flag == Flag.STA;
   }
 
   @Override
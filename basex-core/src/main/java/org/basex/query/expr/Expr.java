@@ -48,6 +48,9 @@ public abstract class Expr extends ExprInfo {
     /** Function invocation. Used to suppress pre-evaluation of built-in functions with
      * functions arguments. Example: fold-left. */
     HOF,
+    /** Evaluation state. Expressions must not be evaluated by multiple threads at the same time.
+     * Examples: full-text expression, dynamic function call. */
+    STA,
   }
 
   /**
@@ -2,8 +2,11 @@ package org.basex.query.expr;
 
 import static org.basex.query.expr.path.Axis.*;
 
+import java.util.*;
+
 import org.basex.query.*;
 import org.basex.query.expr.gflwor.*;
+import org.basex.query.expr.gflwor.GFLWOR.Clause;
 import org.basex.query.expr.path.*;
 import org.basex.query.func.*;
 import org.basex.query.func.fn.*;
@@ -21,6 +24,8 @@ import org.basex.util.*;
  * @author Christian Gruen
  */
 public abstract class Filter extends Preds {
+  /** Name of join variables. */
+  private static final byte[] JOIN = Token.token("join");
   /** Expression. */
   public Expr root;
 
@@ -129,6 +134,10 @@ public abstract class Filter extends Preds {
       qc.value = cv;
     }
 
+    // bind context-independent join operands to variables (will be hashed only once)
+    final LinkedList<Clause> joins = joins(qc, scp);
+    if(joins != null) return new GFLWOR(info, joins, optimize(qc, scp)).optimize(qc, scp);
+
     // check result size
     seqType(root.seqType(), root.size());
     if(size == 0) return optPre(qc);
@@ -197,6 +206,43 @@ public abstract class Filter extends Preds {
     return get(info, root, preds);
   }
 
+  /**
+   * Binds context-independent operands of join predicates to variables.
+   * Example: {@code $nodes[@id = db:open('refs')//@ref]}.
+   * @param qc query context
+   * @param scp variable scope
+   * @return let clauses, or {@code null}
+   * @throws QueryException query exception
+   */
+  private LinkedList<Clause> joins(final QueryContext qc, final VarScope scp)
+      throws QueryException {
+
+    // skip filters with single root items (operands will only be evaluated once)
+    final long sz = root.size();
+    if(sz >= 0 && sz <= 1 || root.seqType().zeroOrOne()) return null;
+
+    LinkedList<Clause> clauses = null;
+    for(final Expr pred : preds) {
+      if(!(pred instanceof CmpG)) continue;
+      final CmpG cmp = (CmpG) pred;
+      if(cmp.op != CmpG.OpG.EQ || cmp.coll != null) continue;
+      for(int o = 0; o < 2; o++) {
+        final Expr expr = cmp.exprs[o];
+        if(expr instanceof Value || expr instanceof VarRef || expr.seqType().zeroOrOne() ||
+            !cmp.exprs[1 - o].has(Flag.CTX) || expr.has(Flag.CTX) || expr.has(Flag.NDT) ||
+            expr.has(Flag.POS) || expr.has(Flag.UPD) || expr.has(Flag.CNS) ||
+            expr.has(Flag.HOF)) continue;
+
+        qc.compInfo(QueryText.OPTJOIN_X, expr);
+        final Var var = scp.addNew(new QNm(JOIN), null, false, qc, info);
+        if(clauses == null) clauses = new LinkedList<>();
+        clauses.add(new Let(var, expr, false).optimize(qc, scp));
+        cmp.exprs[o] = new VarRef(info, var);
+      }
+    }
+    return clauses;
+  }
+
   @Override
   public final boolean has(final Flag flag) {
     return root.has(flag) || flag != Flag.CTX && super.has(flag);
@@ -396,6 +396,8 @@ public final class FTWords extends FTExpr {
 
   @Override
   public boolean has(final Flag flag) {
+    // matches and query positions are assigned during evaluation
+    if(flag == Flag.STA) return true;
     if(occ != null) for(final Expr o : occ) if(o.has(flag)) return true;
     return query.has(flag);
   }
@@ -68,6 +68,11 @@ public final class GFLWOR extends ParseExpr {
 
   @Override
   public Value value(final QueryContext qc) throws QueryException {
+    if(qc.parallel > 1) {
+      final Value v = parallel(qc);
+      if(v != null) return v;
+    }
+
     final Eval eval = newEval();
     if(!eval.next(qc)) return Empty.SEQ;
     final Value v1 = ret.value(qc);
@@ -80,6 +85,47 @@ public final class GFLWOR extends ParseExpr {
     return vb.value();
   }
 
+  /**
+   * Evaluates the tuples of a leading for clause in parallel.
+   * Returns {@code null} if the clauses or the return expression do not allow parallel
+   * evaluation (positional or score variables, grouping, ordering, updates, non-deterministic
+   * code, or expressions with evaluation state, which are shared by all workers).
+   * @param qc query context
+   * @return resulting value or {@code null}
+   * @throws QueryException query exception
+   */
+  private Value parallel(final QueryContext qc) throws QueryException {
+    final Clause first = clauses.getFirst();
+    if(!(first instanceof For) || ret.has(Flag.UPD) || ret.has(Flag.NDT) || ret.has(Flag.STA))
+      return null;
+    final For fr = (For) first;
+    if(fr.pos != null || fr.score != null || fr.empty) return null;
+    final java.util.List<Clause> rest = clauses.subList(1, clauses.size());
+    for(final Clause cls : rest) {
+      if(!(cls instanceof ForLet || cls instanceof Where) || cls.has(Flag.UPD) ||
+          cls.has(Flag.NDT) || cls.has(Flag.STA)) return null;
+    }
+
+    final int workers = qc.parallel;
+    qc.parallel = 0;
+    try {
+      final Value input = qc.value(fr.expr);
+      final long is = input.size();
+      if(is == 0) return Empty.SEQ;
+      qc.initDateTime();
+
+      // the number of chunks limits the number of concurrently evaluated tasks
+      final long chunk = (is + workers - 1) / workers;
+      try {
+        return ParallelTask.POOL.invoke(new ParallelTask(input, fr, rest, ret, qc, chunk, 0, is));
+      } catch(final QueryRTException ex) {
+        throw ex.getCause();
+      }
+    } finally {
+      qc.parallel = workers;
+    }
+  }
+
   @Override
   public Iter iter(final QueryContext qc) {
     return new Iter() {
@@ -842,7 +888,7 @@ public final class GFLWOR extends ParseExpr {
   }
 
   /** Start evaluator, doing nothing, once. */
-  private static final class StartEval extends Eval {
+  static final class StartEval extends Eval {
     /** First-evaluation flag. */
     private boolean first = true;
     @Override
@@ -0,0 +1,119 @@
+package org.basex.query.expr.gflwor;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import org.basex.query.*;
+import org.basex.query.expr.*;
+import org.basex.query.expr.gflwor.GFLWOR.Clause;
+import org.basex.query.expr.gflwor.GFLWOR.Eval;
+import org.basex.query.expr.gflwor.GFLWOR.StartEval;
+import org.basex.query.value.*;
+
+/**
+ * Evaluates chunks of the tuples of a FLWOR expression in parallel and rejoins the results
+ * in their original order.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+final class ParallelTask extends RecursiveTask<Value> {
+  /** Pool shared by all parallel evaluations. */
+  static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+  /** Serial version. */
+  private static final long serialVersionUID = 1L;
+
+  /** Input of the for clause. */
+  private final Value input;
+  /** For clause. */
+  private final For fr;
+  /** Remaining clauses. */
+  private final List<Clause> clauses;
+  /** Return expression. */
+  private final Expr ret;
+  /** Parent query context. */
+  private final QueryContext qc;
+  /** Maximum number of items to be evaluated by a single worker. */
+  private final long chunk;
+  /** First item to evaluate. */
+  private final long start;
+  /** Last item to evaluate. */
+  private final long end;
+
+  /**
+   * Constructor.
+   * @param input input of the for clause
+   * @param fr for clause
+   * @param clauses remaining clauses
+   * @param ret return expression
+   * @param qc parent query context
+   * @param chunk maximum number of items to be evaluated by a single worker
+   * @param start first item to evaluate
+   * @param end last item to evaluate
+   */
+  ParallelTask(final Value input, final For fr, final List<Clause> clauses, final Expr ret,
+      final QueryContext qc, final long chunk, final long start, final long end) {
+    this.input = input;
+    this.fr = fr;
+    this.clauses = clauses;
+    this.ret = ret;
+    this.qc = qc;
+    this.chunk = chunk;
+    this.start = start;
+    this.end = end;
+  }
+
+  @Override
+  protected Value compute() {
+    final ValueBuilder vb = new ValueBuilder();
+    final long s = start, e = end, l = e - s;
+    if(l <= chunk) {
+      // perform the work
+      final QueryContext wqc = worker();
+      try {
+        for(long i = s; i < e; i++) {
+          // the parent context will be stopped if the query is interrupted or times out
+          qc.checkStop();
+          wqc.stack.set(fr.var, input.itemAt(i), wqc);
+          Eval ev = new StartEval();
+          for(final Clause cls : clauses) ev = cls.eval(ev);
+          while(ev.next(wqc)) {
+            qc.checkStop();
+            vb.add(ret.value(wqc));
+          }
+        }
+      } catch(final QueryException ex) {
+        throw new QueryRTException(ex);
+      } finally {
+        wqc.close();
+      }
+    } else {
+      // split the work and join the results in the correct order
+      final long m = s + l / 2;
+      final ParallelTask task2 = new ParallelTask(input, fr, clauses, ret, qc, chunk, m, e);
+      task2.fork();
+      final ParallelTask task1 = new ParallelTask(input, fr, clauses, ret, qc, chunk, s, m);
+      vb.add(task1.invoke()).add(task2.join());
+    }
+    return vb.value();
+  }
+
+  /**
+   * Creates a query context for a single worker, which inherits the variable bindings,
+   * the focus and the date and time context of the parent context.
+   * @return query context
+   */
+  private QueryContext worker() {
+    final QueryContext wqc = new QueryContext(qc);
+    wqc.stack.copyFrame(qc.stack);
+    wqc.value = qc.value;
+    wqc.pos = qc.pos;
+    wqc.size = qc.size;
+    wqc.time = qc.time;
+    wqc.date = qc.date;
+    wqc.datm = qc.datm;
+    wqc.zone = qc.zone;
+    wqc.nano = qc.nano;
+    return wqc;
+  }
+}
@@ -15,6 +15,8 @@ import org.basex.util.*;
 public abstract class IndexAccess extends Simple {
   /** Index context. */
   final IndexContext ictx;
+  /** Estimated number of results ({@code -1}: unknown). */
+  int costs = -1;
 
   /**
    * Constructor.
@@ -35,6 +37,14 @@ public abstract class IndexAccess extends Simple {
     seqType = seqType().withSize(s);
   }
 
+  /**
+   * Assigns the estimated number of results.
+   * @param c estimated number of results
+   */
+  public void costs(final int c) {
+    costs = c;
+  }
+
   @Override
   public abstract NodeIter iter(final QueryContext qc) throws QueryException;
 
@@ -201,7 +201,9 @@ public final class ValueAccess extends IndexAccess {
 
   @Override
   public Expr copy(final QueryContext qc, final VarScope scp, final IntObjMap<Var> vs) {
-    return copyType(new ValueAccess(info, expr.copy(qc, scp, vs), type, test, ictx));
+    final ValueAccess va = new ValueAccess(info, expr.copy(qc, scp, vs), type, test, ictx);
+    va.costs = costs;
+    return copyType(va);
   }
 
   @Override
@@ -216,7 +218,8 @@ public final class ValueAccess extends IndexAccess {
 
   @Override
   public void plan(final FElem plan) {
-    addPlan(plan, planElem(DATA, ictx.data.meta.name, TYP, type, NAM, test), expr);
+    addPlan(plan, planElem(DATA, ictx.data.meta.name, TYP, type, NAM, test,
+        COSTS, costs < 0 ? null : costs), expr);
   }
 
   @Override
@@ -24,12 +24,8 @@ public abstract class AxisPath extends Path {
     /** Caching is disabled. */ DISABLED
   }
 
-  /** Current state. */
-  private Caching state = Caching.INIT;
-  /** Cached result. */
-  private Value cached;
-  /** Cached context value. */
-  private Value cvalue;
+  /** Current state (replaced as a whole, as paths may be evaluated by multiple threads). */
+  private volatile Cache cache = Cache.INIT;
 
   /**
    * Constructor.
@@ -43,47 +39,47 @@ public abstract class AxisPath extends Path {
 
   @Override
   public final Iter iter(final QueryContext qc) throws QueryException {
-    switch(state) {
+    final Cache c = cache;
+    switch(c.state) {
       case INIT:
         // initialize caching flag
-        state = !hasFreeVars() && !has(Flag.NDT) && !has(Flag.UPD)
-            ? Caching.ENABLED : Caching.DISABLED;
+        cache = !hasFreeVars() && !has(Flag.NDT) && !has(Flag.UPD)
+            ? Cache.ENABLED : Cache.DISABLED;
         return iter(qc);
       case ENABLED:
         // caching is possible: remember context value
-        cvalue = qc.value instanceof DBNode ? ((DBNode) qc.value).finish() : qc.value;
-        state = Caching.READY;
+        cache = new Cache(Caching.READY,
+            qc.value instanceof DBNode ? ((DBNode) qc.value).finish() : qc.value, null);
         break;
       case READY:
         // values are ready to cache
-        if(sameContext(qc)) {
-          cached = nodeIter(qc).value();
-          state = Caching.CACHED;
-        } else {
-          // disable caching if context has changed (expected to change frequently)
-          state = Caching.DISABLED;
+        if(sameContext(c.value, qc)) {
+          final Value cached = nodeIter(qc).value();
+          cache = new Cache(Caching.CACHED, c.value, cached);
+          return cached.iter();
         }
+        // disable caching if context has changed (expected to change frequently)
+        cache = Cache.DISABLED;
         break;
       case CACHED:
-        // last result was cached
-        if(!sameContext(qc)) {
-          // disable caching if context has changed (expected to change frequently)
-          cached = null;
-          state = Caching.DISABLED;
-        }
+        // return cached values
+        if(sameContext(c.value, qc)) return c.cached.iter();
+        // disable caching if context has changed (expected to change frequently)
+        cache = Cache.DISABLED;
         break;
       case DISABLED:
     }
-    // return new iterator or cached values
-    return cached == null ? nodeIter(qc) : cached.iter();
+    // return new iterator
+    return nodeIter(qc);
   }
 
   /**
    * Checks if the specified context value is different to the cached one.
+   * @param cvalue cached context value
    * @param qc query context
    * @return result of check
    */
-  private boolean sameContext(final QueryContext qc) {
+  private boolean sameContext(final Value cvalue, final QueryContext qc) {
     final Value cv = qc.value;
     // context value has not changed...
     if(cv == cvalue && (cv == null || cv.sameAs(cvalue))) return true;
@@ -147,4 +143,33 @@ public abstract class AxisPath extends Path {
     }
     return true;
   }
+
+  /** Caching state, cached context value and result. */
+  private static final class Cache {
+    /** Initial state. */
+    private static final Cache INIT = new Cache(Caching.INIT, null, null);
+    /** Caching is possible. */
+    private static final Cache ENABLED = new Cache(Caching.ENABLED, null, null);
+    /** Caching is disabled. */
+    private static final Cache DISABLED = new Cache(Caching.DISABLED, null, null);
+
+    /** State. */
+    private final Caching state;
+    /** Cached context value. */
+    private final Value value;
+    /** Cached result. */
+    private final Value cached;
+
+    /**
+     * Constructor.
+     * @param state state
+     * @param value cached context value
+     * @param cached cached result
+     */
+    private Cache(final Caching state, final Value value, final Value cached) {
+      this.state = state;
+      this.value = value;
+      this.cached = cached;
+    }
+  }
 }
@@ -641,6 +641,8 @@ public abstract class Path extends ParseExpr {
 
     // cache index access costs
     IndexInfo index = null;
+    // index information on the predicates of the chosen step
+    IndexInfo[] iInfos = null;
     // cheapest predicate and step
     int iPred = 0, iStep = 0;
 
@@ -656,8 +658,9 @@ public abstract class Path extends ParseExpr {
       final boolean iter = pathNodes(data, s) != null;
       final IndexContext ictx = new IndexContext(data, iter);
 
-      // choose cheapest index access
+      // estimate costs of all predicates
       final int pl = step.preds.length;
+      final IndexInfo[] infos = new IndexInfo[pl];
       for(int p = 0; p < pl; p++) {
         final IndexInfo ii = new IndexInfo(ictx, qc, step);
         if(!step.preds[p].indexAccessible(ii)) continue;
@@ -667,9 +670,17 @@ public abstract class Path extends ParseExpr {
           qc.compInfo(OPTNOINDEX, this);
           return Empty.SEQ;
         }
+        infos[p] = ii;
+      }
+      // evaluate most selective predicates first
+      order(step, infos, qc);
 
-        if(index == null || index.costs > ii.costs) {
+      // choose cheapest index access
+      for(int p = 0; p < pl; p++) {
+        final IndexInfo ii = infos[p];
+        if(ii != null && (index == null || index.costs > ii.costs)) {
           index = ii;
+          iInfos = infos;
           iPred = p;
           iStep = s;
         }
@@ -682,6 +693,22 @@ public abstract class Path extends ParseExpr {
     // rewrite for index access
     qc.compInfo(index.optInfo);
 
+    // intersect the results of other predicates of the index step if their costs are similar
+    final int ipl = iInfos.length;
+    final boolean[] indexed = new boolean[ipl];
+    indexed[iPred] = true;
+    final ExprList inter = new ExprList();
+    final long max = Math.min(data.meta.size, index.costs * 4L);
+    for(int p = 0; p < ipl; p++) {
+      final IndexInfo ii = iInfos[p];
+      if(ii == null || p == iPred || ii.costs > max) continue;
+      if(inter.isEmpty()) inter.add(index.expr);
+      inter.add(ii.expr);
+      indexed[p] = true;
+      qc.compInfo(ii.optInfo);
+    }
+    final Expr indexExpr = inter.isEmpty() ? index.expr : new InterSect(info, inter.finish());
+
     // invert steps that occur before index step and add them as predicate
     final ExprList newPreds = new ExprList();
     final Test test = InvDocTest.get(rt);
@@ -705,18 +732,18 @@ public abstract class Path extends ParseExpr {
     final Step indexStep = index.step;
     final int pl = indexStep.preds.length;
     for(int p = 0; p < pl; p++) {
-      if(p != iPred) newPreds.add(indexStep.preds[p]);
+      if(!indexed[p]) newPreds.add(indexStep.preds[p]);
     }
 
     // create resulting expression
     final ExprList resultSteps = new ExprList();
     final Expr resultRoot;
-    if(index.expr instanceof Path) {
-      final Path p = (Path) index.expr;
+    if(indexExpr instanceof Path) {
+      final Path p = (Path) indexExpr;
       resultRoot = p.root;
       resultSteps.add(p.steps);
     } else {
-      resultRoot = index.expr;
+      resultRoot = indexExpr;
     }
 
     // only one hit:
@@ -745,6 +772,45 @@ public abstract class Path extends ParseExpr {
     return resultSteps.isEmpty() ? resultRoot : get(info, resultRoot, resultSteps.finish());
   }
 
+  /**
+   * Orders the predicates of a step by their estimated costs. Predicates with the smallest
+   * number of estimated results will be evaluated first; predicates without cost estimates
+   * are moved to the end. The predicates will not be reordered if they are non-deterministic.
+   * @param step step
+   * @param infos index information for each predicate (entries can be {@code null})
+   * @param qc query context
+   */
+  private static void order(final Step step, final IndexInfo[] infos, final QueryContext qc) {
+    final Expr[] preds = step.preds;
+    final int pl = preds.length;
+    if(pl < 2 || step.has(Flag.NDT)) return;
+
+    final Integer[] order = new Integer[pl];
+    for(int p = 0; p < pl; p++) order[p] = p;
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override
+      public int compare(final Integer i1, final Integer i2) {
+        final IndexInfo ii1 = infos[i1], ii2 = infos[i2];
+        return ii1 == null ? ii2 == null ? 0 : 1 : ii2 == null ? -1 :
+          Integer.compare(ii1.costs, ii2.costs);
+      }
+    });
+
+    boolean changed = false;
+    for(int p = 0; p < pl; p++) changed |= order[p] != p;
+    if(!changed) return;
+
+    final Expr[] prds = new Expr[pl];
+    final IndexInfo[] iis = new IndexInfo[pl];
+    for(int p = 0; p < pl; p++) {
+      prds[p] = preds[order[p]];
+      iis[p] = infos[order[p]];
+    }
+    System.arraycopy(iis, 0, infos, 0, pl);
+    step.preds = prds;
+    qc.compInfo(OPTPREDS_X, step);
+  }
+
   /**
    * Checks if steps before index step need to be inverted and traversed.
    * @param data data reference
@@ -204,7 +204,8 @@ public final class DynFuncCall extends FuncCall {
 
   @Override
   public boolean has(final Flag flag) {
-    return flag == Flag.UPD ? upd : flag == Flag.NDT ? ndt : super.has(flag);
+    // invoked function is unknown at compile time
+    return flag == Flag.UPD ? upd : flag == Flag.NDT ? ndt : flag == Flag.STA || super.has(flag);
   }
 
   @Override
@@ -750,7 +750,7 @@ public enum Function {
   /* CSV Module. */
 
   /** XQuery function. */
-  _CSV_PARSE(CsvParse.class, "parse(string[,config])", arg(STR, MAP_O), ITEM, CSV_URI),
+  _CSV_PARSE(CsvParse.class, "parse(string[,config])", arg(STR, MAP_O), ITEM_ZM, CSV_URI),
   /** XQuery function. */
   _CSV_SERIALIZE(CsvSerialize.class, "serialize(item[,params])", arg(ITEM_ZO, ITEM_ZO), STR,
       CSV_URI),
@@ -914,8 +914,9 @@ public enum Function {
   _FILE_READ_TEXT(FileReadText.class, "read-text(path[,encoding])",
       arg(STR, STR), STR, flag(NDT), FILE_URI),
   /** XQuery function. */
-  _FILE_READ_TEXT_LINES(FileReadTextLines.class, "read-text-lines(path[,encoding])",
-      arg(STR, STR), STR_ZM, flag(NDT), FILE_URI),
+  _FILE_READ_TEXT_LINES(FileReadTextLines.class,
+      "read-text-lines(path[,encoding[,offset[,length]]])",
+      arg(STR, STR, ITR, ITR), STR_ZM, flag(NDT), FILE_URI),
   /** XQuery function. */
   _FILE_READ_BINARY(FileReadBinary.class, "read-binary(path[,offset[,length]])",
       arg(STR, ITR, ITR), B64, flag(NDT), FILE_URI),
@@ -1034,6 +1035,9 @@ public enum Function {
   /** XQuery function. */
   _HTTP_SEND_REQUEST(HttpSendRequest.class, "send-request(request[,href,[bodies]])",
       arg(NOD, STR_ZO, ITEM_ZM), ITEM_ZM, flag(NDT), HTTP_URI),
+  /** XQuery function. */
+  _HTTP_SEND_REQUESTS(HttpSendRequests.class, "send-requests(requests[,parallel])",
+      arg(ELM_ZM, ITR), ARRAY_ZM, flag(NDT), HTTP_URI),
 
   /* Index Module. */
 
@@ -1079,7 +1083,7 @@ public enum Function {
   /* JSON Module. */
 
   /** XQuery function. */
-  _JSON_PARSE(JsonParse.class, "parse(string[,config])", arg(STR, MAP_O), ITEM, JSON_URI),
+  _JSON_PARSE(JsonParse.class, "parse(string[,config])", arg(STR, MAP_O), ITEM_ZM, JSON_URI),
   /** XQuery function. */
   _JSON_SERIALIZE(JsonSerialize.class, "serialize(items[,params])", arg(ITEM_ZO, ITEM_ZO), STR,
       JSON_URI),
@@ -1166,10 +1170,14 @@ public enum Function {
   /** XQuery function. */
   _SQL_PREPARE(SqlPrepare.class, "prepare(id,statement)", arg(ITR, STR), ITR, flag(NDT), SQL_URI),
   /** XQuery function. */
-  _SQL_EXECUTE(SqlExecute.class, "execute(id,query)", arg(ITR, STR), ELM_ZM, flag(NDT), SQL_URI),
+  _SQL_EXECUTE(SqlExecute.class, "execute(id,query[,options])",
+      arg(ITR, STR, MAP_O), ELM_ZM, flag(NDT), SQL_URI),
+  /** XQuery function. */
+  _SQL_EXECUTE_PREPARED(SqlExecutePrepared.class, "execute-prepared(id[,params[,options]])",
+      arg(ITR, ELM, MAP_O), ELM_ZM, flag(NDT), SQL_URI),
   /** XQuery function. */
-  _SQL_EXECUTE_PREPARED(SqlExecutePrepared.class, "execute-prepared(id[,params])",
-      arg(ITR, ELM), ELM_ZM, flag(NDT), SQL_URI),
+  _SQL_EXECUTE_BATCH(SqlExecuteBatch.class, "execute-batch(id,params)",
+      arg(ITR, ELM_ZM), ITR_ZM, flag(NDT), SQL_URI),
   /** XQuery function. */
   _SQL_CLOSE(SqlClose.class, "close(id)", arg(ITR), EMP, flag(NDT), SQL_URI),
   /** XQuery function. */
@@ -127,6 +127,8 @@ public abstract class StandardFunc extends Arr {
     return sig.has(flag) ||
       // update, mix updates: check if function invokes another function
       flag == Flag.UPD && sc.mixUpdates && sig.has(Flag.HOF) ||
+      // evaluation state: check if function invokes another function
+      flag == Flag.STA && sig.has(Flag.HOF) ||
       // otherwise, check arguments (function invocation only applies to function itself)
       flag != Flag.HOF && super.has(flag);
   }
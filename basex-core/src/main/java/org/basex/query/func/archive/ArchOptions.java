@@ -15,4 +15,6 @@ public final class ArchOptions extends Options {
   public static final StringOption FORMAT = new StringOption("format", ZIP);
   /** Archiving algorithm. */
   public static final StringOption ALGORITHM = new StringOption("algorithm", DEFLATE);
+  /** Number of compression threads. */
+  public static final NumberOption PARALLEL = new NumberOption("parallel", 1);
 }
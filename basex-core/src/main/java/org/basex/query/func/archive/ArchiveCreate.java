@@ -29,10 +29,11 @@ public class ArchiveCreate extends ArchiveFn {
 
     // check options
     final String format = opts.get(ArchOptions.FORMAT);
-    final int level = level(opts);
+    final int level = level(opts), parallel = parallel(opts);
 
     try(final ArchiveOut out = ArchiveOut.get(format.toLowerCase(Locale.ENGLISH), info)) {
       out.level(level);
+      out.parallel(parallel);
       try {
         int e = 0, c = 0;
         while(true) {
@@ -50,6 +51,7 @@ public class ArchiveCreate extends ArchiveFn {
           e++;
           c++;
         }
+        out.flush();
       } catch(final IOException ex) {
         throw ARCH_FAIL_X.get(info, ex);
       }
@@ -78,6 +80,18 @@ public class ArchiveCreate extends ArchiveFn {
     return level;
   }
 
+  /**
+   * Returns the number of compression threads, which is limited by the number of processors.
+   * @param options options
+   * @return number of threads
+   * @throws QueryException query exception
+   */
+  protected int parallel(final ArchOptions options) throws QueryException {
+    final int parallel = options.get(ArchOptions.PARALLEL);
+    if(parallel < 1) throw ARCH_PARALLEL_X.get(info, parallel);
+    return Math.min(parallel, ArchiveDeflater.THREADS);
+  }
+
   /**
    * Adds the specified entry to the output stream.
    * @param entry entry descriptor
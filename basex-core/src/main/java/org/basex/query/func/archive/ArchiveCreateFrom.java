@@ -38,11 +38,12 @@ public class ArchiveCreateFrom extends ArchiveCreate {
     }
 
     final String format = opts.get(ArchOptions.FORMAT);
-    final int level = level(opts);
+    final int level = level(opts), parallel = parallel(opts);
     if(!root.isDir()) throw FILE_NO_DIR_X.get(info, root);
 
     try(final ArchiveOut out = ArchiveOut.get(format.toLowerCase(Locale.ENGLISH), info)) {
       out.level(level);
+      out.parallel(parallel);
       try {
         while(true) {
           Item en = entries.next();
@@ -53,6 +54,7 @@ public class ArchiveCreateFrom extends ArchiveCreate {
           if(file.isDir()) throw FILE_IS_DIR_X.get(info, file);
           add(en, new B64(file.read()), out, level, qc);
         }
+        out.flush();
       } catch(final IOException ex) {
         throw ARCH_FAIL_X.get(info, ex);
       }
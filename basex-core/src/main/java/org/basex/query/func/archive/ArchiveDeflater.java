@@ -0,0 +1,150 @@
+package org.basex.query.func.archive;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
+
+import org.basex.io.*;
+import org.basex.io.out.*;
+
+/**
+ * Compresses data on a pool of worker threads, which is shared by all archiving operations.
+ * Results are returned in the order in which the data was submitted.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+final class ArchiveDeflater implements Closeable {
+  /** Maximum number of worker threads. */
+  static final int THREADS = Runtime.getRuntime().availableProcessors();
+  /** Pool shared by all compressions. */
+  private static final ForkJoinPool POOL = new ForkJoinPool(THREADS);
+
+  /** Pending tasks. */
+  private final ArrayDeque<Future<Deflated>> pending = new ArrayDeque<>();
+  /** Maximum number of pending tasks. */
+  private final int max;
+
+  /**
+   * Constructor.
+   * @param threads number of worker threads (between 1 and {@link #THREADS})
+   */
+  ArchiveDeflater(final int threads) {
+    max = threads * 2;
+  }
+
+  /**
+   * Submits data to be compressed.
+   * @param data data
+   * @param level compression level
+   * @param gzip create GZIP member (otherwise, raw deflate data will be created)
+   */
+  void submit(final byte[] data, final int level, final boolean gzip) {
+    pending.add(POOL.submit(new Callable<Deflated>() {
+      @Override
+      public Deflated call() throws IOException {
+        return gzip ? gzip(data) : deflate(data, level);
+      }
+    }));
+  }
+
+  /**
+   * Indicates if the result of the oldest task should be consumed before new data is submitted.
+   * @return result of check
+   */
+  boolean full() {
+    return pending.size() >= max;
+  }
+
+  /**
+   * Indicates if results are pending.
+   * @return result of check
+   */
+  boolean isEmpty() {
+    return pending.isEmpty();
+  }
+
+  /**
+   * Waits for the oldest task and returns its result.
+   * @return compressed data
+   * @throws IOException I/O exception
+   */
+  Deflated next() throws IOException {
+    try {
+      return pending.remove().get();
+    } catch(final ExecutionException ex) {
+      final Throwable th = ex.getCause();
+      throw th instanceof IOException ? (IOException) th : new IOException(th);
+    } catch(final InterruptedException ex) {
+      throw new InterruptedIOException(ex.getMessage());
+    }
+  }
+
+  @Override
+  public void close() {
+    // skip tasks that have not been started yet
+    for(final Future<Deflated> task : pending) task.cancel(true);
+    pending.clear();
+  }
+
+  /**
+   * Creates raw deflate data.
+   * @param data data
+   * @param level compression level
+   * @return compressed data
+   */
+  private static Deflated deflate(final byte[] data, final int level) {
+    final CRC32 crc = new CRC32();
+    crc.update(data);
+    final Deflater deflater = new Deflater(level, true);
+    try {
+      deflater.setInput(data);
+      deflater.finish();
+      final ArrayOutput ao = new ArrayOutput();
+      final byte[] buffer = new byte[IO.BLOCKSIZE];
+      while(!deflater.finished()) {
+        ao.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return new Deflated(ao.finish(), data.length, crc.getValue());
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Creates a GZIP member.
+   * @param data data
+   * @return compressed data
+   * @throws IOException I/O exception
+   */
+  private static Deflated gzip(final byte[] data) throws IOException {
+    final ArrayOutput ao = new ArrayOutput();
+    try(final GZIPOutputStream gzos = new GZIPOutputStream(ao)) {
+      gzos.write(data);
+    }
+    return new Deflated(ao.finish(), data.length, 0);
+  }
+
+  /** Compressed data. */
+  static final class Deflated {
+    /** Compressed data. */
+    final byte[] data;
+    /** Size of uncompressed data. */
+    final long size;
+    /** CRC-32 checksum of uncompressed data. */
+    final long crc;
+
+    /**
+     * Constructor.
+     * @param data compressed data
+     * @param size size of uncompressed data
+     * @param crc CRC-32 checksum
+     */
+    Deflated(final byte[] data, final long size, final long crc) {
+      this.data = data;
+      this.size = size;
+      this.crc = crc;
+    }
+  }
+}
@@ -9,6 +9,7 @@ import org.basex.io.*;
 import org.basex.io.in.*;
 import org.basex.io.out.*;
 import org.basex.query.*;
+import org.basex.query.value.item.*;
 import org.basex.util.*;
 
 /**
@@ -21,6 +22,27 @@ abstract class ArchiveIn implements Closeable {
   /** Buffer. */
   private final byte[] data = new byte[IO.BLOCKSIZE];
 
+  /**
+   * Returns a new instance of an archive reader.
+   * If the archive is a local ZIP file, its entries will be accessed randomly.
+   * @param archive archive
+   * @param info input info
+   * @return reader
+   * @throws QueryException query exception
+   */
+  static ArchiveIn get(final B64 archive, final InputInfo info) throws QueryException {
+    final IOFile file = archive instanceof B64Stream ? ((B64Stream) archive).file() : null;
+    if(file != null) {
+      try {
+        return new ZIPFileIn(new ZipFile(file.file()));
+      } catch(final IOException ex) {
+        // no ZIP file: read archive sequentially
+        Util.debug(ex);
+      }
+    }
+    return get(archive.input(info), info);
+  }
+
   /**
    * Returns a new instance of an archive reader.
    * @param bi buffer input
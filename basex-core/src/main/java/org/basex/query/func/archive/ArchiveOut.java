@@ -46,6 +46,12 @@ abstract class ArchiveOut implements Closeable {
    */
   public abstract void level(final int l);
 
+  /**
+   * Sets the number of threads that will be used for compressing data.
+   * @param threads number of threads ({@code 1}: compress data in the calling thread)
+   */
+  public abstract void parallel(final int threads);
+
   /**
    * Writes data from the specified archive.
    * @param in input archive
@@ -61,6 +67,12 @@ abstract class ArchiveOut implements Closeable {
    */
   public abstract void write(final ZipEntry entry, final byte[] value) throws IOException;
 
+  /**
+   * Writes all pending data.
+   * @throws IOException I/O exception
+   */
+  public abstract void flush() throws IOException;
+
   @Override
   public abstract void close();
 
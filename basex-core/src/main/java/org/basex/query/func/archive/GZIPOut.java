@@ -1,19 +1,26 @@
 package org.basex.query.func.archive;
 
 import java.io.*;
+import java.util.*;
 import java.util.zip.*;
 
 import org.basex.util.*;
 
 /**
- * GZIP output.
+ * GZIP output. If parallel compression is enabled, the input is split into blocks,
+ * which are compressed independently and concatenated as GZIP members.
  *
  * @author BaseX Team 2005-16, BSD License
  * @author Christian Gruen
  */
 final class GZIPOut extends ArchiveOut {
+  /** Size of blocks that are compressed in parallel. */
+  private static final int BLOCK = 1 << 20;
+
   /** ZIP output stream. */
   private final GZIPOutputStream zos;
+  /** Parallel compression (can be {@code null}). */
+  private ArchiveDeflater deflater;
 
   /**
    * Writing constructor.
@@ -28,18 +35,62 @@ final class GZIPOut extends ArchiveOut {
     // ignore compression level
   }
 
+  @Override
+  public void parallel(final int threads) {
+    if(threads > 1) {
+      deflater = new ArchiveDeflater(threads);
+      // discard the header that has already been written by the serial stream
+      ao.reset();
+    }
+  }
+
   @Override
   public void write(final ArchiveIn in) throws IOException {
+    if(deflater != null) {
+      write(null, in.read());
+      return;
+    }
     for(int c; (c = in.read(data)) != -1;) zos.write(data, 0, c);
   }
 
   @Override
   public void write(final ZipEntry entry, final byte[] value) throws IOException {
+    if(deflater != null) {
+      // empty input: a single empty member will be written
+      final int vl = value.length;
+      int v = 0;
+      do {
+        if(deflater.full()) writeNext();
+        deflater.submit(Arrays.copyOfRange(value, v, Math.min(v + BLOCK, vl)), 0, true);
+        v += BLOCK;
+      } while(v < vl);
+      return;
+    }
     zos.write(value);
   }
 
+  @Override
+  public void flush() throws IOException {
+    if(deflater != null) {
+      while(!deflater.isEmpty()) writeNext();
+    }
+  }
+
   @Override
   public void close() {
-    try { zos.close(); } catch(final IOException ex) { Util.debug(ex); }
+    if(deflater != null) {
+      deflater.close();
+    } else {
+      try { zos.close(); } catch(final IOException ex) { Util.debug(ex); }
+    }
+  }
+
+  /**
+   * Writes the next compressed member (parallel compression).
+   * @throws IOException I/O exception
+   */
+  private void writeNext() throws IOException {
+    final byte[] member = deflater.next().data;
+    ao.write(member, 0, member.length);
   }
 }
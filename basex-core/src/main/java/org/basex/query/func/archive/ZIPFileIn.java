@@ -0,0 +1,77 @@
+package org.basex.query.func.archive;
+
+import static org.basex.query.func.archive.ArchiveText.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.*;
+
+import org.basex.io.*;
+import org.basex.util.*;
+
+/**
+ * ZIP file input. Entries are retrieved from the central directory, and contents are only
+ * decompressed if they are requested.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+final class ZIPFileIn extends ArchiveIn {
+  /** ZIP file. */
+  private final ZipFile file;
+  /** Entries. */
+  private final Enumeration<? extends ZipEntry> entries;
+  /** Current entry. */
+  private ZipEntry entry;
+  /** Input stream of current entry (opened on demand). */
+  private InputStream input;
+
+  /**
+   * Constructor.
+   * @param file ZIP file
+   */
+  ZIPFileIn(final ZipFile file) {
+    this.file = file;
+    entries = file.entries();
+  }
+
+  @Override
+  public boolean more() {
+    closeEntry();
+    if(!entries.hasMoreElements()) return false;
+    entry = entries.nextElement();
+    return true;
+  }
+
+  @Override
+  public ZipEntry entry() {
+    return entry;
+  }
+
+  @Override
+  public int read(final byte[] d) throws IOException {
+    if(input == null) input = Zip.input(file, entry);
+    return input.read(d);
+  }
+
+  @Override
+  public String format() {
+    return ZIP;
+  }
+
+  @Override
+  public void close() {
+    closeEntry();
+    try { file.close(); } catch(final IOException ex) { Util.debug(ex); }
+  }
+
+  /**
+   * Closes the input stream of the current entry.
+   */
+  private void closeEntry() {
+    if(input != null) {
+      try { input.close(); } catch(final IOException ex) { Util.debug(ex); }
+      input = null;
+    }
+  }
+}
@@ -1,9 +1,12 @@
 package org.basex.query.func.archive;
 
 import java.io.*;
+import java.util.*;
 import java.util.zip.*;
 
+import org.basex.query.func.archive.ArchiveDeflater.Deflated;
 import org.basex.util.*;
+import org.basex.util.list.*;
 
 /**
  * ZIP output.
@@ -14,6 +17,19 @@ import org.basex.util.*;
 final class ZIPOut extends ArchiveOut {
   /** ZIP output stream. */
   private final ZipOutputStream zos;
+  /** Current compression level. */
+  private int level = Deflater.DEFAULT_COMPRESSION;
+
+  /** Parallel compression (can be {@code null}). */
+  private ArchiveDeflater deflater;
+  /** Pending entries (parallel compression). */
+  private final ArrayDeque<ZipEntry> pending = new ArrayDeque<>();
+  /** Central directory (parallel compression). */
+  private final ByteList central = new ByteList();
+  /** Number of written entries (parallel compression). */
+  private long count;
+  /** Indicates if the output has been closed. */
+  private boolean closed;
 
   /**
    * Writing constructor.
@@ -25,6 +41,12 @@ final class ZIPOut extends ArchiveOut {
   @Override
   public void level(final int l) {
     zos.setLevel(l);
+    level = l;
+  }
+
+  @Override
+  public void parallel(final int threads) {
+    if(threads > 1) deflater = new ArchiveDeflater(threads);
   }
 
   @Override
@@ -33,6 +55,10 @@ final class ZIPOut extends ArchiveOut {
     final ZipEntry zo = new ZipEntry(zi.getName());
     zo.setTime(zi.getTime());
     zo.setComment(zi.getComment());
+    if(deflater != null) {
+      write(zo, in.read());
+      return;
+    }
     zos.putNextEntry(zo);
     for(int c; (c = in.read(data)) != -1;) zos.write(data, 0, c);
     zos.closeEntry();
@@ -40,13 +66,172 @@ final class ZIPOut extends ArchiveOut {
 
   @Override
   public void write(final ZipEntry entry, final byte[] value) throws IOException {
+    if(deflater != null) {
+      if(deflater.full()) writeNext();
+      deflater.submit(value, level, false);
+      pending.add(entry);
+      return;
+    }
     zos.putNextEntry(entry);
     zos.write(value);
     zos.closeEntry();
   }
 
+  @Override
+  public void flush() throws IOException {
+    if(deflater != null) {
+      while(!deflater.isEmpty()) writeNext();
+    }
+  }
+
   @Override
   public void close() {
-    try { zos.close(); } catch(final IOException ex) { Util.debug(ex); }
+    if(closed) return;
+    closed = true;
+    if(deflater != null) {
+      deflater.close();
+      writeEnd();
+    } else {
+      try { zos.close(); } catch(final IOException ex) { Util.debug(ex); }
+    }
+  }
+
+  /**
+   * Writes the next compressed entry (parallel compression).
+   * @throws IOException I/O exception
+   */
+  private void writeNext() throws IOException {
+    final Deflated df = deflater.next();
+    final ZipEntry ze = pending.remove();
+    final byte[] name = Token.token(ze.getName());
+    final String cmt = ze.getComment();
+    final byte[] comment = cmt == null ? Token.EMPTY : Token.token(cmt);
+    final long time = ze.getTime(), offset = ao.size();
+    final int dos = dos(time == -1 ? System.currentTimeMillis() : time);
+    if(offset > 0xFFFFFFFFL || df.size > 0xFFFFFFFFL) throw new ZipException("ZIP64 required");
+
+    // local file header
+    final ByteList header = new ByteList();
+    int32(header, 0x04034b50);
+    int16(header, 20);
+    int16(header, 0x0800);
+    int16(header, ZipEntry.DEFLATED);
+    int32(header, dos);
+    int32(header, (int) df.crc);
+    int32(header, df.data.length);
+    int32(header, (int) df.size);
+    int16(header, name.length);
+    int16(header, 0);
+    header.add(name);
+    write(header.finish());
+    write(df.data);
+
+    // central directory header
+    int32(central, 0x02014b50);
+    int16(central, 20);
+    int16(central, 20);
+    int16(central, 0x0800);
+    int16(central, ZipEntry.DEFLATED);
+    int32(central, dos);
+    int32(central, (int) df.crc);
+    int32(central, df.data.length);
+    int32(central, (int) df.size);
+    int16(central, name.length);
+    int16(central, 0);
+    int16(central, comment.length);
+    int16(central, 0);
+    int16(central, 0);
+    int32(central, 0);
+    int32(central, (int) offset);
+    central.add(name).add(comment);
+    count++;
+  }
+
+  /**
+   * Writes the central directory and the end records (parallel compression).
+   */
+  private void writeEnd() {
+    final long offset = ao.size(), size = central.size();
+    final ByteList end = new ByteList();
+    if(count >= 0xFFFF) {
+      // ZIP64 end of central directory record and locator
+      int32(end, 0x06064b50);
+      int64(end, 44);
+      int16(end, 45);
+      int16(end, 45);
+      int32(end, 0);
+      int32(end, 0);
+      int64(end, count);
+      int64(end, count);
+      int64(end, size);
+      int64(end, offset);
+      int32(end, 0x07064b50);
+      int32(end, 0);
+      int64(end, offset + size);
+      int32(end, 1);
+    }
+    final int cnt = (int) Math.min(count, 0xFFFF);
+    int32(end, 0x06054b50);
+    int16(end, 0);
+    int16(end, 0);
+    int16(end, cnt);
+    int16(end, cnt);
+    int32(end, (int) size);
+    int32(end, (int) offset);
+    int16(end, 0);
+    write(central.finish());
+    write(end.finish());
+  }
+
+  /**
+   * Writes bytes to the output.
+   * @param bytes bytes
+   */
+  private void write(final byte[] bytes) {
+    ao.write(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Converts a Java time to DOS date and time.
+   * @param time Java time
+   * @return DOS date and time
+   */
+  private static int dos(final long time) {
+    final Calendar cal = Calendar.getInstance();
+    cal.setTimeInMillis(time);
+    final int year = cal.get(Calendar.YEAR);
+    if(year < 1980) return 1 << 21 | 1 << 16;
+    return year - 1980 << 25 | cal.get(Calendar.MONTH) + 1 << 21 |
+        cal.get(Calendar.DAY_OF_MONTH) << 16 | cal.get(Calendar.HOUR_OF_DAY) << 11 |
+        cal.get(Calendar.MINUTE) << 5 | cal.get(Calendar.SECOND) >> 1;
+  }
+
+  /**
+   * Adds a 16 bit value in little endian order.
+   * @param bl byte list
+   * @param value value
+   */
+  private static void int16(final ByteList bl, final int value) {
+    bl.add(value).add(value >>> 8);
+  }
+
+  /**
+   * Adds a 32 bit value in little endian order.
+   * @param bl byte list
+   * @param value value
+   */
+  private static void int32(final ByteList bl, final int value) {
+    int16(bl, value);
+    int16(bl, value >>> 16);
+  }
+
+  /**
+   * Adds a 64 bit value in little endian order.
+   * @param bl byte list
+   * @param value value
+   */
+  private static void int64(final ByteList bl, final long value) {
+    int32(bl, (int) value);
+    int32(bl, (int) (value >>> 32));
   }
 }
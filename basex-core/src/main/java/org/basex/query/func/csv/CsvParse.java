@@ -6,10 +6,12 @@ import java.io.*;
 
 import org.basex.build.csv.*;
 import org.basex.io.*;
+import org.basex.io.in.*;
 import org.basex.io.parse.csv.*;
 import org.basex.query.*;
+import org.basex.query.func.fn.*;
+import org.basex.query.iter.*;
 import org.basex.query.value.item.*;
-import org.basex.util.*;
 
 /**
  * Function implementation.
@@ -19,11 +21,35 @@ import org.basex.util.*;
  */
 public final class CsvParse extends CsvFn {
   @Override
-  public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
-    final byte[] input = toToken(exprs[0], qc);
+  public Iter iter(final QueryContext qc) throws QueryException {
+    final Item it = toAtomItem(exprs[0], qc);
+    final byte[] input = it instanceof StrStream ? null : toToken(it);
     final CsvParserOptions opts = toOptions(1, Q_OPTIONS, new CsvParserOptions(), qc);
+    final CsvConverter conv = CsvConverter.get(opts);
     try {
-      return CsvConverter.get(opts).convert(new IOContent(input));
+      if(!opts.get(CsvParserOptions.STREAM)) {
+        return conv.convert(new IOContent(input != null ? input : toToken(it))).iter();
+      }
+
+      // streaming mode: parse and return records one by one
+      // inputs that are not consumed completely will be closed with the query
+      final NewlineInput nli = it instanceof StrStream ? ((StrStream) it).lines(info) :
+        new NewlineInput(new ArrayInput(input));
+      final TextInputs inputs = TextInputs.get(qc);
+      inputs.add(nli);
+      conv.stream(nli);
+      return new Iter() {
+        @Override
+        public Item next() throws QueryException {
+          try {
+            final Item record = conv.next();
+            if(record == null) inputs.close(nli);
+            return record;
+          } catch(final IOException ex) {
+            throw BXCS_PARSE_X.get(info, ex);
+          }
+        }
+      };
     } catch(final IOException ex) {
       throw BXCS_PARSE_X.get(info, ex);
     }
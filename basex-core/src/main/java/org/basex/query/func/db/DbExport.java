@@ -5,6 +5,7 @@ import static org.basex.util.Token.*;
 
 import java.io.*;
 
+import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.basex.data.*;
 import org.basex.io.serial.*;
@@ -28,7 +29,7 @@ public final class DbExport extends DbAccess {
     final Item so = exprs.length > 2 ? exprs[2].item(qc, info) : null;
     final SerializerOptions sopts = FuncOptions.serializer(so, info);
     try {
-      Export.export(data, path, sopts, null);
+      Export.export(data, path, sopts, qc.context.options.get(MainOptions.EXPORTTHREADS), null);
     } catch(final IOException ex) {
       throw SER_X.get(info, ex);
     }
@@ -1,5 +1,7 @@
 package org.basex.query.func.file;
 
+import static org.basex.query.QueryError.*;
+
 import org.basex.query.*;
 import org.basex.query.func.fn.*;
 import org.basex.query.iter.*;
@@ -14,6 +16,9 @@ public final class FileReadTextLines extends FileRead {
   @Override
   public Iter iter(final QueryContext qc) throws QueryException {
     checkCreate(qc);
-    return Parse.textIter(text(qc).string(info));
+    final long off = exprs.length > 2 ? toLong(exprs[2], qc) : 0;
+    final long len = exprs.length > 3 ? toLong(exprs[3], qc) : Long.MAX_VALUE;
+    if(off < 0 || len < 0) throw FILE_OUT_OF_RANGE_X_X.get(info, off, off + len);
+    return Parse.textIter(text(qc), off, len, qc, info);
   }
 }
@@ -34,6 +34,20 @@ public abstract class Parse extends StandardFunc {
    */
   Item unparsedText(final QueryContext qc, final boolean check, final boolean encoding)
       throws QueryException {
+    return unparsedText(qc, check, encoding, false);
+  }
+
+  /**
+   * Performs the unparsed-text function.
+   * @param qc query context
+   * @param check only check if text is available
+   * @param encoding parse encoding
+   * @param stream return streamable string (contents will be read and validated lazily)
+   * @return content string or boolean success flag
+   * @throws QueryException query exception
+   */
+  Item unparsedText(final QueryContext qc, final boolean check, final boolean encoding,
+      final boolean stream) throws QueryException {
 
     checkCreate(qc);
     final Item it = exprs[0].atomItem(qc, info);
@@ -67,6 +81,7 @@ public abstract class Parse extends StandardFunc {
       }
 
       try(final InputStream is = io.inputStream()) {
+        if(stream) return new StrStream(io, enc, INVCHARS_X, true);
         final TextInput ti = new TextInput(io).encoding(enc).validate(true);
         if(!check) return Str.get(ti.content());
         while(ti.read() != -1);
@@ -77,14 +92,27 @@ public abstract class Parse extends StandardFunc {
       throw ex;
     } catch(final IOException ex) {
       if(check) return Bln.FALSE;
-      if(ex instanceof InputException) {
-        final boolean inv = ex instanceof EncodingException || enc != null;
-        throw (inv ? INVCHARS_X : WHICHCHARS_X).get(info, ex);
-      }
-      throw RESNF_X.get(info, io);
+      throw error(ex, io, enc, info);
     }
   }
 
+  /**
+   * Returns an error for an exception raised while reading an unparsed text.
+   * @param ex exception
+   * @param io input
+   * @param enc encoding (may be {@code null})
+   * @param ii input info
+   * @return query exception
+   */
+  private static QueryException error(final IOException ex, final IO io, final String enc,
+      final InputInfo ii) {
+    if(ex instanceof InputException) {
+      final boolean inv = ex instanceof EncodingException || enc != null;
+      return (inv ? INVCHARS_X : WHICHCHARS_X).get(ii, ex);
+    }
+    return RESNF_X.get(ii, io);
+  }
+
   /**
    * Returns a document node for the parsed XML input.
    * @param qc query context
@@ -110,6 +138,71 @@ public abstract class Parse extends StandardFunc {
     }
   }
 
+  /**
+   * Returns the lines of the specified streamable string.
+   * The input will be read lazily. It will be closed when the last line has been returned,
+   * or when the query is closed.
+   * @param str streamable string
+   * @param offset number of lines to skip
+   * @param length maximum number of lines to return
+   * @param qc query context
+   * @param ii input info
+   * @return result
+   * @throws QueryException query exception
+   */
+  public static Iter textIter(final StrStream str, final long offset, final long length,
+      final QueryContext qc, final InputInfo ii) throws QueryException {
+    return textIter(str, offset, length, false, qc, ii);
+  }
+
+  /**
+   * Returns the lines of the specified streamable string.
+   * @param str streamable string
+   * @param offset number of lines to skip
+   * @param length maximum number of lines to return
+   * @param unparsed raise the errors of the unparsed-text functions
+   * @param qc query context
+   * @param ii input info
+   * @return result
+   * @throws QueryException query exception
+   */
+  static Iter textIter(final StrStream str, final long offset, final long length,
+      final boolean unparsed, final QueryContext qc, final InputInfo ii) throws QueryException {
+
+    final NewlineInput nli = str.lines(ii);
+    final TextInputs inputs = TextInputs.get(qc);
+    inputs.add(nli);
+    final TokenBuilder tb = new TokenBuilder();
+    return new Iter() {
+      /** Number of lines to be skipped. */
+      long skip = offset;
+      /** Number of remaining lines. */
+      long left = length;
+
+      @Override
+      public Item next() throws QueryException {
+        try {
+          if(left > 0) {
+            for(; skip > 0; skip--) {
+              if(!nli.readLine(tb)) break;
+            }
+            if(skip == 0 && nli.readLine(tb)) {
+              left--;
+              return Str.get(tb.toArray());
+            }
+            left = 0;
+            inputs.close(nli);
+          }
+          return null;
+        } catch(final IOException ex) {
+          left = 0;
+          try { inputs.close(nli); } catch(final IOException ignore) { }
+          throw unparsed ? error(ex, str.io(), str.encoding(), ii) : str.error().get(ii, ex);
+        }
+      }
+    };
+  }
+
   /**
    * Returns the specified text as lines.
    * @param str text input
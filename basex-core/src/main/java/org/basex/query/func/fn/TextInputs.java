@@ -0,0 +1,66 @@
+package org.basex.query.func.fn;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.query.*;
+import org.basex.util.*;
+
+/**
+ * Text inputs that are read lazily. Inputs that have not been consumed completely
+ * will be closed after the query has been evaluated.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class TextInputs implements QueryResource {
+  /** Opened inputs. */
+  private final Set<Closeable> inputs =
+      Collections.newSetFromMap(new IdentityHashMap<Closeable, Boolean>());
+
+  /**
+   * Returns the text inputs of the specified query.
+   * @param qc query context
+   * @return text inputs
+   */
+  public static TextInputs get(final QueryContext qc) {
+    synchronized(qc.resources) {
+      TextInputs res = qc.resources.get(TextInputs.class);
+      if(res == null) {
+        res = new TextInputs();
+        qc.resources.add(res);
+      }
+      return res;
+    }
+  }
+
+  /**
+   * Registers an opened input.
+   * @param input input
+   */
+  public synchronized void add(final Closeable input) {
+    inputs.add(input);
+  }
+
+  /**
+   * Closes an input and removes it from the list of opened inputs.
+   * @param input input
+   * @throws IOException I/O exception
+   */
+  public void close(final Closeable input) throws IOException {
+    synchronized(this) { inputs.remove(input); }
+    input.close();
+  }
+
+  @Override
+  public synchronized void close() {
+    for(final Closeable input : inputs) {
+      try {
+        input.close();
+      } catch(final IOException ex) {
+        Util.debug(ex);
+      }
+    }
+    inputs.clear();
+  }
+}
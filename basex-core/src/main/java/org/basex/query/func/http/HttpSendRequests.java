@@ -0,0 +1,55 @@
+package org.basex.query.func.http;
+
+import static org.basex.query.QueryError.*;
+
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.iter.*;
+import org.basex.query.util.list.*;
+import org.basex.query.value.*;
+import org.basex.query.value.array.Array;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
+import org.basex.util.http.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class HttpSendRequests extends StandardFunc {
+  /** Default number of concurrent requests. */
+  private static final int PARALLEL = 8;
+
+  @Override
+  public Iter iter(final QueryContext qc) throws QueryException {
+    return value(qc).iter();
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    checkCreate(qc);
+
+    // get request nodes
+    final ANodeList list = new ANodeList();
+    final Iter iter = qc.iter(exprs[0]);
+    for(Item it; (it = iter.next()) != null;) {
+      list.add((ANode) checkType(it, NodeType.ELM));
+    }
+    final long parallel = exprs.length > 1 ? toLong(exprs[1], qc) : PARALLEL;
+    if(parallel < 1) throw HC_PARALLEL_X.get(info, parallel);
+
+    // send HTTP requests
+    final ItemList[] responses = new HttpClient(info, qc.context.options).sendRequests(
+        list, (int) Math.min(Integer.MAX_VALUE, parallel));
+    final ValueBuilder vb = new ValueBuilder();
+    for(final ItemList response : responses) {
+      final Value[] members = new Value[response.size()];
+      for(int m = 0; m < members.length; m++) members[m] = response.get(m);
+      vb.add(Array.from(members));
+    }
+    return vb.value();
+  }
+}
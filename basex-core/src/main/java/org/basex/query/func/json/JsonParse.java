@@ -1,9 +1,21 @@
 package org.basex.query.func.json;
 
+import static org.basex.query.QueryError.*;
+
+import java.io.*;
+
 import org.basex.build.json.*;
+import org.basex.build.json.JsonParserOptions.JsonDuplicates;
+import org.basex.io.in.*;
 import org.basex.io.parse.json.*;
 import org.basex.query.*;
+import org.basex.query.expr.*;
+import org.basex.query.func.fn.*;
+import org.basex.query.iter.*;
 import org.basex.query.value.item.*;
+import org.basex.query.value.seq.*;
+import org.basex.query.value.type.*;
+import org.basex.query.var.*;
 import org.basex.util.*;
 
 /**
@@ -14,13 +26,115 @@ import org.basex.util.*;
  */
 public final class JsonParse extends JsonFn {
   @Override
-  public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
-    final byte[] input = toToken(exprs[0], qc);
+  public Iter iter(final QueryContext qc) throws QueryException {
+    final Item it = toAtomItem(exprs[0], qc);
+    final StrStream ss = it instanceof StrStream ? (StrStream) it : null;
+    final byte[] input = ss != null ? null : toToken(it);
     final JsonParserOptions opts = toOptions(1, Q_OPTIONS, new JsonParserOptions(), qc);
+    final boolean lines = opts.get(JsonParserOptions.LINES);
+    final String path = opts.get(JsonParserOptions.PATH);
+    if(!path.isEmpty()) {
+      // path steps must not be empty
+      if(path.startsWith("/") || path.endsWith("/") || path.contains("//"))
+        throw BXJS_PATH_X.get(info, path);
+      // values are returned before the last duplicate of a key is known
+      final JsonDuplicates dupl = opts.get(JsonParserOptions.DUPLICATES);
+      if(dupl == JsonDuplicates.USE_LAST)
+        throw BXJS_PATHOPT_X_X.get(info, JsonParserOptions.DUPLICATES.name(), dupl);
+    }
+    final JsonConverter conv;
     try {
-      return JsonConverter.get(opts).convert(input, null);
+      conv = JsonConverter.get(opts);
+      if(!lines && path.isEmpty()) {
+        final Item item = conv.convert(input != null ? input : toToken(it), null);
+        return item == null ? Empty.ITER : item.iter();
+      }
     } catch(final QueryIOException ex) {
       throw ex.getCause(info);
     }
+
+    // streaming mode: inputs that are not consumed completely will be closed with the query
+    final TextInputs inputs = TextInputs.get(qc);
+    if(!lines) {
+      // return addressed values one by one
+      final TextInput ti;
+      try {
+        if(ss != null) {
+          final BufferInput bi = ss.input(info);
+          ti = bi instanceof TextInput ? (TextInput) bi : new TextInput(bi);
+          inputs.add(ti);
+          conv.stream(ti, path);
+        } else {
+          ti = null;
+          conv.stream(input, path);
+        }
+      } catch(final IOException ex) {
+        throw ss.error().get(info, ex);
+      }
+      return new Iter() {
+        @Override
+        public Item next() throws QueryException {
+          try {
+            final Item item = conv.next();
+            if(item == null && ti != null) inputs.close(ti);
+            return item;
+          } catch(final IOException ex) {
+            throw error(ex, ss);
+          }
+        }
+      };
+    }
+
+    // newline-delimited input: parse lines one by one
+    final NewlineInput nli;
+    try {
+      nli = ss != null ? ss.lines(info) : new NewlineInput(new ArrayInput(input));
+    } catch(final IOException ex) {
+      throw Util.notExpected(ex);
+    }
+    inputs.add(nli);
+    final TokenBuilder tb = new TokenBuilder();
+    return new Iter() {
+      @Override
+      public Item next() throws QueryException {
+        try {
+          while(true) {
+            final Item item = conv.next();
+            if(item != null) return item;
+            // skip empty lines
+            byte[] line;
+            do {
+              if(!nli.readLine(tb)) {
+                inputs.close(nli);
+                return null;
+              }
+              line = tb.toArray();
+            } while(Token.ws(line));
+            conv.stream(line, path);
+          }
+        } catch(final IOException ex) {
+          throw error(ex, ss);
+        }
+      }
+    };
+  }
+
+  @Override
+  protected Expr opt(final QueryContext qc, final VarScope scp) {
+    // without options, a single item will be returned
+    if(exprs.length < 2) seqType = SeqType.ITEM;
+    return this;
+  }
+
+  /**
+   * Returns a query exception for an exception raised in streaming mode.
+   * @param ex exception
+   * @param ss streamable input (can be {@code null})
+   * @return query exception
+   */
+  private QueryException error(final IOException ex, final StrStream ss) {
+    if(ex instanceof QueryIOException) return ((QueryIOException) ex).getCause(info);
+    if(ss == null) throw Util.notExpected(ex);
+    return ss.error().get(info, ex);
   }
 }
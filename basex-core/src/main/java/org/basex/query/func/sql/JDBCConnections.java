@@ -1,10 +1,12 @@
 package org.basex.query.func.sql;
 
 import java.sql.*;
+import java.util.*;
 
 import org.basex.query.*;
 import org.basex.util.*;
 import org.basex.util.hash.*;
+import org.basex.util.list.*;
 
 /**
  * JDBC connections.
@@ -13,10 +15,32 @@ import org.basex.util.hash.*;
  * @author Rositsa Shadura
  */
 final class JDBCConnections implements QueryResource {
+  /** Connection pool. */
+  private final JDBCPool pool;
   /** Last inserted id. */
   private int lastId = -1;
   /** Map with all open connections and prepared statements with unique ids. */
   private final IntObjMap<Object> conns = new IntObjMap<>();
+  /** Keys of pooled connections. */
+  private final IdentityHashMap<Connection, String> keys = new IdentityHashMap<>();
+  /** Statements with results that have not been completely consumed yet. */
+  private final ArrayList<Statement> results = new ArrayList<>();
+
+  /**
+   * Constructor.
+   * @param pool connection pool
+   */
+  JDBCConnections(final JDBCPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Returns the connection pool.
+   * @return connection pool
+   */
+  JDBCPool pool() {
+    return pool;
+  }
 
   /**
    * Adds a connection or prepared statement to depot.
@@ -28,6 +52,17 @@ final class JDBCConnections implements QueryResource {
     return lastId;
   }
 
+  /**
+   * Adds a connection that will be returned to the connection pool when it is closed.
+   * @param conn connection
+   * @param key connection key
+   * @return connection id
+   */
+  int add(final Connection conn, final String key) {
+    keys.put(conn, key);
+    return add(conn);
+  }
+
   /**
    * Returns connection or prepared statement with the given id.
    * @param id id
@@ -38,26 +73,88 @@ final class JDBCConnections implements QueryResource {
   }
 
   /**
-   * Removes either a connection or a prepared statement from the depot.
+   * Registers a statement with results that will be returned lazily.
+   * @param stmt statement
+   */
+  void open(final Statement stmt) {
+    results.add(stmt);
+  }
+
+  /**
+   * Closes a statement that has been registered via {@link #open(Statement)}.
+   * @param stmt statement
+   * @throws SQLException SQL exception
+   */
+  void close(final Statement stmt) throws SQLException {
+    results.remove(stmt);
+    stmt.close();
+  }
+
+  /**
+   * Closes and removes either a connection or a prepared statement from the depot.
+   * The statements of a connection will be closed as well, and pooled connections are
+   * returned to the pool.
    * @param id connection/prepared statement id
+   * @throws SQLException SQL exception
    */
-  void remove(final int id) {
+  void close(final int id) throws SQLException {
+    final Object obj = conns.get(id);
+    if(obj instanceof Connection) {
+      final Connection conn = (Connection) obj;
+      // close statements before the connection is closed or returned to the pool
+      final IntList ids = new IntList();
+      for(int i = 1; i <= conns.size(); i++) {
+        final Object o = conns.get(conns.key(i));
+        if(o instanceof Statement && ((Statement) o).getConnection() == conn) {
+          ids.add(conns.key(i));
+        }
+      }
+      for(final int i : ids.finish()) close(i);
+      for(final Statement stmt : new ArrayList<>(results)) {
+        if(stmt.isClosed() || stmt.getConnection() == conn) close(stmt);
+      }
+      release(conn);
+    } else if(obj != null) {
+      ((Statement) obj).close();
+    }
     conns.delete(id);
   }
 
   @Override
   public void close() {
-    final int is = conns.size();
-    for(int i = 0; i < is; i++) {
-      final int key = conns.key(i);
-      final Object obj = conns.get(key);
-      if(obj == null) continue;
+    // close statements before connections are closed or returned to the pool
+    final ArrayList<Statement> stmts = new ArrayList<>(results);
+    final ArrayList<Connection> cns = new ArrayList<>();
+    for(final Object obj : conns.values()) {
+      if(obj instanceof Statement) stmts.add((Statement) obj);
+      else if(obj instanceof Connection) cns.add((Connection) obj);
+    }
+    for(final Statement stmt : stmts) {
+      try {
+        stmt.close();
+      } catch(final SQLException ex) {
+        Util.debug(ex);
+      }
+    }
+    for(final Connection conn : cns) {
       try {
-        if(obj instanceof Connection) ((Connection) obj).close();
-        else ((Statement) obj).close();
+        release(conn);
       } catch(final SQLException ex) {
         Util.debug(ex);
       }
     }
+    results.clear();
+    conns.clear();
+  }
+
+  /**
+   * Closes a connection or returns it to the pool.
+   * @param conn connection
+   * @throws SQLException SQL exception
+   */
+  private void release(final Connection conn) throws SQLException {
+    final String key = keys.remove(conn);
+    if(key != null) pool.release(key, conn);
+    else conn.close();
   }
 }
@@ -0,0 +1,160 @@
+package org.basex.query.func.sql;
+
+import java.sql.*;
+import java.util.*;
+
+import org.basex.query.*;
+import org.basex.util.*;
+
+/**
+ * Pool of idle JDBC connections, which is shared by all queries of a database context.
+ * Connections are only pooled if this was requested when they were opened. They are grouped
+ * by their connection key, which is composed of the URL, the credentials and the connection
+ * options.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class JDBCPool implements QueryResource {
+  /** Maximum number of idle connections per key. */
+  private static final int MAX_IDLE = 8;
+  /** Time after which idle connections will be closed (ms). */
+  private static final long TIMEOUT = 60000;
+  /** Timeout for checking the validity of a connection (s). */
+  private static final int VALID = 1;
+
+  /** Idle connections. */
+  private final HashMap<String, ArrayDeque<Idle>> idle = new HashMap<>();
+
+  /**
+   * Returns a valid idle connection for the specified key, or {@code null}.
+   * @param key connection key
+   * @return connection or {@code null}
+   */
+  Connection get(final String key) {
+    evict();
+    while(true) {
+      final Idle conn;
+      synchronized(idle) {
+        final ArrayDeque<Idle> conns = idle.get(key);
+        conn = conns == null ? null : conns.pollLast();
+      }
+      if(conn == null) return null;
+      if(!conn.expired() && valid(conn.conn)) return conn.conn;
+      close(conn.conn);
+    }
+  }
+
+  /**
+   * Returns a connection to the pool. Uncommitted changes will be rolled back.
+   * If the connection cannot be reused, it will be closed.
+   * @param key connection key
+   * @param conn connection
+   */
+  void release(final String key, final Connection conn) {
+    try {
+      if(conn.isClosed()) return;
+      if(!conn.getAutoCommit()) conn.rollback();
+      conn.clearWarnings();
+    } catch(final SQLException ex) {
+      Util.debug(ex);
+      close(conn);
+      return;
+    }
+
+    synchronized(idle) {
+      ArrayDeque<Idle> conns = idle.get(key);
+      if(conns == null) {
+        conns = new ArrayDeque<>();
+        idle.put(key, conns);
+      }
+      conns.addLast(new Idle(conn));
+    }
+    evict();
+  }
+
+  /**
+   * Closes all connections that have been idle for too long, and connections exceeding
+   * the maximum number of idle connections per key.
+   */
+  void evict() {
+    final ArrayList<Connection> closed = new ArrayList<>();
+    synchronized(idle) {
+      final Iterator<ArrayDeque<Idle>> iter = idle.values().iterator();
+      while(iter.hasNext()) {
+        final ArrayDeque<Idle> conns = iter.next();
+        while(!conns.isEmpty() && (conns.size() > MAX_IDLE || conns.peekFirst().expired())) {
+          closed.add(conns.pollFirst().conn);
+        }
+        if(conns.isEmpty()) iter.remove();
+      }
+    }
+    for(final Connection conn : closed) close(conn);
+  }
+
+  /**
+   * Closes all idle connections. Called when the database context is closed.
+   */
+  @Override
+  public void close() {
+    final ArrayList<Connection> closed = new ArrayList<>();
+    synchronized(idle) {
+      for(final ArrayDeque<Idle> conns : idle.values()) {
+        for(final Idle conn : conns) closed.add(conn.conn);
+      }
+      idle.clear();
+    }
+    for(final Connection conn : closed) close(conn);
+  }
+
+  /**
+   * Checks if the specified connection is still valid.
+   * @param conn connection
+   * @return result of check
+   */
+  private static boolean valid(final Connection conn) {
+    try {
+      return conn.isValid(VALID);
+    } catch(final SQLException | AbstractMethodError ex) {
+      // isValid is not supported by old drivers
+      Util.debug(ex);
+      return false;
+    }
+  }
+
+  /**
+   * Closes a connection.
+   * @param conn connection
+   */
+  private static void close(final Connection conn) {
+    try {
+      conn.close();
+    } catch(final SQLException ex) {
+      Util.debug(ex);
+    }
+  }
+
+  /** Idle connection. */
+  private static final class Idle {
+    /** Connection. */
+    final Connection conn;
+    /** Time when the connection was released. */
+    final long time = System.currentTimeMillis();
+
+    /**
+     * Constructor.
+     * @param conn connection
+     */
+    Idle(final Connection conn) {
+      this.conn = conn;
+    }
+
+    /**
+     * Checks if the connection has been idle for too long.
+     * @return result of check
+     */
+    boolean expired() {
+      return System.currentTimeMillis() - time > TIMEOUT;
+    }
+  }
+}
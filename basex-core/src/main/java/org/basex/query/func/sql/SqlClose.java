@@ -20,14 +20,7 @@ public final class SqlClose extends SqlFn {
     checkCreate(qc);
     try {
       final int id = (int) toLong(exprs[0], qc);
-      final JDBCConnections jdbc = jdbc(qc);
-      final Object obj = jdbc.get(id);
-      if(obj instanceof Connection) {
-        ((Connection) obj).close();
-      } else {
-        ((PreparedStatement) obj).close();
-      }
-      jdbc.remove(id);
+      jdbc(qc).close(id);
       return null;
     } catch(final SQLException ex) {
       throw BXSQ_ERROR_X.get(info, ex);
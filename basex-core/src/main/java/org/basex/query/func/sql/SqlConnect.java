@@ -26,6 +26,8 @@ public final class SqlConnect extends SqlFn {
 
   /** Auto-commit mode. */
   private static final String AUTO_COMM = "autocommit";
+  /** Connection pooling. */
+  private static final String POOL = "pool";
   /** User. */
   private static final String USER = "user";
   /** Password. */
@@ -38,40 +40,69 @@ public final class SqlConnect extends SqlFn {
     final String url = string(toToken(exprs[0], qc));
     final JDBCConnections jdbc = jdbc(qc);
     try {
+      String user = null, pass = null;
+      boolean ac = true, pool = false;
+      Properties props = null;
       if(exprs.length > 2) {
         // credentials
-        final String user = string(toToken(exprs[1], qc));
-        final String pass = string(toToken(exprs[2], qc));
+        user = string(toToken(exprs[1], qc));
+        pass = string(toToken(exprs[2], qc));
         if(exprs.length == 4) {
           // connection options
           final Options opts = toOptions(3, Q_OPTIONS, new Options(), qc);
           // extract auto-commit mode from options
-          boolean ac = true;
           final HashMap<String, String> options = opts.free();
           final String commit = options.get(AUTO_COMM);
           if(commit != null) {
             ac = Strings.yes(commit);
             options.remove(AUTO_COMM);
           }
+          // extract pooling flag from options
+          final String pl = options.remove(POOL);
+          if(pl != null) pool = Strings.yes(pl);
           // connection properties
-          final Properties props = connProps(options);
+          props = connProps(options);
           props.setProperty(USER, user);
           props.setProperty(PASS, pass);
-
-          // open connection
-          final Connection conn = getConnection(url, props);
-          // set auto/commit mode
-          conn.setAutoCommit(ac);
-          return Int.get(jdbc.add(conn));
         }
-        return Int.get(jdbc.add(getConnection(url, user, pass)));
       }
-      return Int.get(jdbc.add(getConnection(url)));
+
+      // reuse pooled connection or open new connection
+      final String key = pool ? key(url, user, pass, props) : null;
+      Connection conn = key != null ? jdbc.pool().get(key) : null;
+      if(conn == null) {
+        conn = props != null ? getConnection(url, props) : user != null ?
+          getConnection(url, user, pass) : getConnection(url);
+      }
+      final int id = key != null ? jdbc.add(conn, key) : jdbc.add(conn);
+      // set auto/commit mode
+      if(conn.getAutoCommit() != ac) conn.setAutoCommit(ac);
+      return Int.get(id);
     } catch(final SQLException ex) {
       throw BXSQ_ERROR_X.get(info, ex);
     }
   }
 
+  /**
+   * Returns the key of a connection, which is used to group connections in the pool.
+   * @param url URL
+   * @param user user (can be {@code null})
+   * @param pass password (can be {@code null})
+   * @param props connection properties (can be {@code null})
+   * @return key
+   */
+  private static String key(final String url, final String user, final String pass,
+      final Properties props) {
+    final StringBuilder sb = new StringBuilder(url);
+    if(user != null) sb.append('\n').append(user).append('\n').append(Strings.md5(pass));
+    if(props != null) {
+      for(final Entry<Object, Object> entry : new TreeMap<>(props).entrySet()) {
+        if(!PASS.equals(entry.getKey())) sb.append('\n').append(entry);
+      }
+    }
+    return sb.toString();
+  }
+
   /**
    * Parses connection options.
    * @param options options
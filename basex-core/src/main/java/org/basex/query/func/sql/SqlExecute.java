@@ -14,6 +14,7 @@ import org.basex.query.value.item.*;
 import org.basex.query.value.node.*;
 import org.basex.query.value.seq.*;
 import org.basex.util.*;
+import org.basex.util.options.*;
 
 /**
  * Functions on relational databases.
@@ -22,6 +23,14 @@ import org.basex.util.*;
  * @author Rositsa Shadura
  */
 public class SqlExecute extends SqlFn {
+  /** Statement options. */
+  public static class StatementOptions extends Options {
+    /** Number of rows to be fetched from the database at once ({@code 0}: driver default). */
+    public static final NumberOption FETCH_SIZE = new NumberOption("fetch-size", 0);
+  }
+
+  /** QName. */
+  static final QNm Q_OPTIONS = new QNm(SQL_PREFIX, "options", SQL_URI);
   /** QName. */
   private static final QNm Q_ROW = new QNm(SQL_PREFIX, "row", SQL_URI);
   /** QName. */
@@ -35,24 +44,47 @@ public class SqlExecute extends SqlFn {
     final int id = (int) toLong(exprs[0], qc);
     final String query = string(toToken(exprs[1], qc));
 
-    final Object obj = jdbc(qc).get(id);
+    final JDBCConnections jdbc = jdbc(qc);
+    final Object obj = jdbc.get(id);
     if(!(obj instanceof Connection)) throw BXSQ_CONN_X.get(info, id);
+    final StatementOptions options = toOptions(2, Q_OPTIONS, new StatementOptions(), qc);
+    Statement stmt = null;
     try {
-      final Statement stmt = ((Connection) obj).createStatement();
-      return stmt.execute(query) ? iter(stmt, true) : Empty.ITER;
+      stmt = ((Connection) obj).createStatement();
+      options(stmt, options);
+      if(stmt.execute(query)) {
+        // statement will be closed after the last result, or when the connection is closed
+        jdbc.open(stmt);
+        return iter(stmt, jdbc);
+      }
+      stmt.close();
+      return Empty.ITER;
     } catch(final SQLException ex) {
+      if(stmt != null) try { stmt.close(); } catch(final SQLException e) { Util.debug(e); }
       throw BXSQ_ERROR_X.get(info, ex);
     }
   }
 
+  /**
+   * Assigns options to a statement.
+   * @param stmt SQL statement
+   * @param options options
+   * @throws SQLException SQL exception
+   */
+  static void options(final Statement stmt, final StatementOptions options)
+      throws SQLException {
+    final int fetch = options.get(StatementOptions.FETCH_SIZE);
+    if(fetch > 0) stmt.setFetchSize(fetch);
+  }
+
   /**
    * Returns a result iterator.
    * @param stmt SQL statement
-   * @param close close statement after last result
+   * @param jdbc JDBC connections, or {@code null} if the statement will be closed by the caller
    * @return iterator
    * @throws QueryException query exception
    */
-  final Iter iter(final Statement stmt, final boolean close) throws QueryException {
+  final Iter iter(final Statement stmt, final JDBCConnections jdbc) throws QueryException {
     try {
       final ResultSet rs = stmt.getResultSet();
       final ResultSetMetaData md = rs.getMetaData();
@@ -63,7 +95,7 @@ public class SqlExecute extends SqlFn {
           try {
             if(!rs.next()) {
               rs.close();
-              if(close) stmt.close();
+              if(jdbc != null) jdbc.close(stmt);
               return null;
             }
 
@@ -0,0 +1,71 @@
+package org.basex.query.func.sql;
+
+import static org.basex.query.QueryError.*;
+
+import java.sql.*;
+
+import org.basex.query.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.seq.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * Functions on relational databases.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class SqlExecuteBatch extends SqlExecutePrepared {
+  /** Maximum number of parameter sets sent to the database at once. */
+  private static final int BATCH = 1 << 12;
+
+  @Override
+  public Iter iter(final QueryContext qc) throws QueryException {
+    return value(qc).iter();
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    checkCreate(qc);
+    final PreparedStatement stmt = prepared(qc);
+    final Iter iter = qc.iter(exprs[1]);
+    final LongList counts = new LongList();
+    try {
+      int b = 0;
+      for(Item it; (it = iter.next()) != null;) {
+        qc.checkStop();
+        parameters((ANode) checkType(it, NodeType.ELM), stmt);
+        stmt.addBatch();
+        if(++b == BATCH) {
+          execute(stmt, counts);
+          b = 0;
+        }
+      }
+      if(b != 0) execute(stmt, counts);
+      return IntSeq.get(counts.finish(), AtomType.ITR);
+    } catch(final SQLException ex) {
+      try {
+        stmt.clearBatch();
+      } catch(final SQLException e) {
+        Util.debug(e);
+      }
+      throw BXSQ_ERROR_X.get(info, ex);
+    }
+  }
+
+  /**
+   * Executes the current batch and adds the update counts to the specified list.
+   * @param stmt prepared statement
+   * @param counts update counts
+   * @throws SQLException SQL exception
+   */
+  private static void execute(final PreparedStatement stmt, final LongList counts)
+      throws SQLException {
+    for(final int count : stmt.executeBatch()) counts.add(count);
+  }
+}
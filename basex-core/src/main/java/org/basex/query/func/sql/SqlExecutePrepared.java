@@ -19,7 +19,7 @@ import org.basex.query.value.type.*;
  * @author BaseX Team 2005-16, BSD License
  * @author Rositsa Shadura
  */
-public final class SqlExecutePrepared extends SqlExecute {
+public class SqlExecutePrepared extends SqlExecute {
   /** QName. */
   private static final QNm Q_PARAMETERS = new QNm(SQL_PREFIX, "parameters", SQL_URI);
   /** QName. */
@@ -52,26 +52,49 @@ public final class SqlExecutePrepared extends SqlExecute {
   @Override
   public Iter iter(final QueryContext qc) throws QueryException {
     checkCreate(qc);
-    final int id = (int) toLong(exprs[0], qc);
-    long c = 0;
-    ANode params = null;
-    if(exprs.length > 1) {
-      params = toElem(exprs[1], qc);
-      if(!params.qname().eq(Q_PARAMETERS)) throw INVALIDOPTION_X.get(info, params.qname().local());
-      c = countParams(params);
+    final PreparedStatement stmt = prepared(qc);
+    final ANode params = exprs.length > 1 ? toElem(exprs[1], qc) : null;
+    final StatementOptions options = toOptions(2, Q_OPTIONS, new StatementOptions(), qc);
+    try {
+      parameters(params, stmt);
+      options(stmt, options);
+      return stmt.execute() ? iter(stmt, null) : Empty.ITER;
+    } catch(final SQLException ex) {
+      throw BXSQ_ERROR_X.get(info, ex);
     }
+  }
 
+  /**
+   * Returns the prepared statement referenced by the first argument.
+   * @param qc query context
+   * @return prepared statement
+   * @throws QueryException query exception
+   */
+  final PreparedStatement prepared(final QueryContext qc) throws QueryException {
+    final int id = (int) toLong(exprs[0], qc);
     final Object obj = jdbc(qc).get(id);
     if(!(obj instanceof PreparedStatement)) throw BXSQ_STATE_X.get(info, id);
-    try {
-      final PreparedStatement stmt = (PreparedStatement) obj;
-      // Check if number of parameters equals number of place holders
-      if(c != stmt.getParameterMetaData().getParameterCount()) throw BXSQ_PARAMS.get(info);
-      if(params != null) setParameters(params.children(), stmt);
-      return stmt.execute() ? iter(stmt, false) : Empty.ITER;
-    } catch(final SQLException ex) {
-      throw BXSQ_ERROR_X.get(info, ex);
+    return (PreparedStatement) obj;
+  }
+
+  /**
+   * Assigns parameters to a prepared statement.
+   * @param params element {@code <sql:parameters/>} (can be {@code null})
+   * @param stmt prepared statement
+   * @throws QueryException query exception
+   * @throws SQLException SQL exception
+   */
+  final void parameters(final ANode params, final PreparedStatement stmt)
+      throws QueryException, SQLException {
+
+    long c = 0;
+    if(params != null) {
+      if(!params.qname().eq(Q_PARAMETERS)) throw INVALIDOPTION_X.get(info, params.qname().local());
+      c = countParams(params);
     }
+    // Check if number of parameters equals number of place holders
+    if(c != stmt.getParameterMetaData().getParameterCount()) throw BXSQ_PARAMS.get(info);
+    if(params != null) setParameters(params.children(), stmt);
   }
 
   /**
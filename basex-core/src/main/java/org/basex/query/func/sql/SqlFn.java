@@ -35,7 +35,7 @@ abstract class SqlFn extends StandardFunc {
   static JDBCConnections jdbc(final QueryContext qc) {
     JDBCConnections res = qc.resources.get(JDBCConnections.class);
     if(res == null) {
-      res = new JDBCConnections();
+      res = new JDBCConnections(qc.context.resource(JDBCPool.class));
       qc.resources.add(res);
     }
     return res;
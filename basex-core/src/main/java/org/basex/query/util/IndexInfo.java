@@ -137,6 +137,7 @@ public final class IndexInfo {
           if(c < 0) return false;
           if(c > 0) {
             final ValueAccess va = new ValueAccess(info, it, type, test, ic).trim(trim);
+            va.costs(c);
             tmp.add(va);
             if(c == 1) va.seqType = va.seqType().withOcc(Occ.ZERO_ONE);
             costs += c;
@@ -158,7 +159,9 @@ public final class IndexInfo {
 
       // estimate costs (tend to worst case)
       costs = Math.max(1, data.meta.size / 10);
-      root = new ValueAccess(info, value, type, test, ic);
+      final ValueAccess va = new ValueAccess(info, value, type, test, ic);
+      va.costs(costs);
+      root = va;
     }
 
     create(root, false, info, Util.info(OPTINDEX_X_X, type, value));
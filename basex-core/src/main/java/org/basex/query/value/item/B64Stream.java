@@ -46,6 +46,15 @@ public final class B64Stream extends B64 implements Streamable {
     }
   }
 
+  /**
+   * Returns the streamed file, or {@code null} if the input is no local file or has already
+   * been materialized.
+   * @return file or {@code null}
+   */
+  public IOFile file() {
+    return data == null && input instanceof IOFile ? (IOFile) input : null;
+  }
+
   @Override
   public void materialize(final InputInfo ii) throws QueryException {
     try {
@@ -34,11 +34,23 @@ public final class StrStream extends AStr implements Streamable {
    */
   public StrStream(final IO input, final String encoding, final QueryError error,
       final QueryContext qc) {
+    this(input, encoding, error, qc.context.options.get(MainOptions.CHECKSTRINGS));
+  }
+
+  /**
+   * Constructor.
+   * @param input input
+   * @param encoding encoding (may be null)
+   * @param error error message to be thrown
+   * @param validate validation flag
+   */
+  public StrStream(final IO input, final String encoding, final QueryError error,
+      final boolean validate) {
 
     this.input = input;
     this.encoding = encoding;
     this.error = error;
-    validate = qc.context.options.get(MainOptions.CHECKSTRINGS);
+    this.validate = validate;
   }
 
   @Override
@@ -67,6 +79,49 @@ public final class StrStream extends AStr implements Streamable {
     }
   }
 
+  /**
+   * Returns an input for reading the lines of the string.
+   * Line breaks will be normalized to newline characters.
+   * @param ii input info
+   * @return input
+   * @throws QueryException query exception
+   */
+  public NewlineInput lines(final InputInfo ii) throws QueryException {
+    NewlineInput nli = null;
+    try {
+      nli = value != null ? new NewlineInput(new ArrayInput(value)) : new NewlineInput(input);
+      nli.encoding(value != null ? null : encoding).validate(validate);
+      return nli;
+    } catch(final IOException ex) {
+      if(nli != null) try { nli.close(); } catch(final IOException ignore) { }
+      throw error.get(ii, ex);
+    }
+  }
+
+  /**
+   * Returns the input reference.
+   * @return input
+   */
+  public IO io() {
+    return input;
+  }
+
+  /**
+   * Returns the encoding.
+   * @return encoding (may be {@code null})
+   */
+  public String encoding() {
+    return encoding;
+  }
+
+  /**
+   * Returns the error message that will be thrown if the input cannot be read.
+   * @return error
+   */
+  public QueryError error() {
+    return error;
+  }
+
   @Override
   public void materialize(final InputInfo ii) throws QueryException {
     try {
@@ -40,7 +40,7 @@ public final class Map extends FItem {
    * Constructor.
    * @param root map
    */
-  private Map(final TrieNode root) {
+  Map(final TrieNode root) {
     super(SeqType.ANY_MAP, new AnnList());
     this.root = root;
   }
@@ -0,0 +1,169 @@
+package org.basex.query.value.map;
+
+import java.util.*;
+
+import org.basex.query.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+
+/**
+ * A builder for creating a {@link Map} from a number of bindings.
+ * In contrast to successive calls of {@link Map#put}, the trie is built in a single pass,
+ * and no intermediate nodes are created.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class MapBuilder {
+  /** Keys. */
+  private Item[] keys;
+  /** Values. */
+  private Value[] values;
+  /** Hash codes of the keys. */
+  private int[] hashes;
+  /** Number of bindings. */
+  private int size;
+
+  /**
+   * Constructor.
+   */
+  public MapBuilder() {
+    this(Array.CAPACITY);
+  }
+
+  /**
+   * Constructor, specifying an initial capacity.
+   * @param capacity initial capacity
+   */
+  public MapBuilder(final int capacity) {
+    keys = new Item[capacity];
+    values = new Value[capacity];
+    hashes = new int[capacity];
+  }
+
+  /**
+   * Adds a binding. If the key has already been added, the last value will be adopted.
+   * @param key key to insert (must not be {@code null})
+   * @param value value to insert
+   * @param ii input info
+   * @return self reference
+   * @throws QueryException query exception
+   */
+  public MapBuilder put(final Item key, final Value value, final InputInfo ii)
+      throws QueryException {
+    final int hash = key.hash(ii);
+    if(size == keys.length) {
+      final int s = Array.newSize(size);
+      keys = Arrays.copyOf(keys, s);
+      values = Arrays.copyOf(values, s);
+      hashes = Arrays.copyOf(hashes, s);
+    }
+    keys[size] = key;
+    values[size] = value;
+    hashes[size++] = hash;
+    return this;
+  }
+
+  /**
+   * Returns the number of added bindings.
+   * @return number of bindings
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Creates a map from the added bindings and resets the builder.
+   * @param ii input info
+   * @return map
+   * @throws QueryException query exception
+   */
+  public Map freeze(final InputInfo ii) throws QueryException {
+    final int s = size;
+    final Map map;
+    if(s == 0) {
+      map = Map.EMPTY;
+    } else {
+      final int[] order = new int[s];
+      for(int o = 0; o < s; o++) order[o] = o;
+      map = new Map(node(order, new int[s], 0, s, 0, ii));
+      Arrays.fill(keys, 0, s, null);
+      Arrays.fill(values, 0, s, null);
+    }
+    size = 0;
+    return map;
+  }
+
+  /**
+   * Recursively creates a trie node for the specified range of bindings.
+   * @param order binding offsets
+   * @param tmp temporary array
+   * @param start start offset (inclusive)
+   * @param end end offset (exclusive)
+   * @param level current level
+   * @param ii input info
+   * @return node
+   * @throws QueryException query exception
+   */
+  private TrieNode node(final int[] order, final int[] tmp, final int start, final int end,
+      final int level, final InputInfo ii) throws QueryException {
+
+    final int first = order[start], hash = hashes[first];
+    int o = start;
+    while(++o < end && hashes[order[o]] == hash);
+    if(o == end) return collisions(order, start, end, ii);
+
+    // distribute bindings to child slots (insertion order is retained)
+    final int[] counts = new int[TrieNode.KIDS + 1];
+    for(o = start; o < end; o++) counts[TrieNode.key(hashes[order[o]], level) + 1]++;
+    for(int k = 1; k <= TrieNode.KIDS; k++) counts[k] += counts[k - 1];
+    final int[] pos = counts.clone();
+    for(o = start; o < end; o++) {
+      final int b = order[o];
+      tmp[start + pos[TrieNode.key(hashes[b], level)]++] = b;
+    }
+    System.arraycopy(tmp, start, order, start, end - start);
+
+    final TrieNode[] kids = new TrieNode[TrieNode.KIDS];
+    int used = 0, sz = 0;
+    for(int k = 0; k < TrieNode.KIDS; k++) {
+      final int s = start + counts[k], e = start + counts[k + 1];
+      if(s == e) continue;
+      final TrieNode kid = node(order, tmp, s, e, level + 1, ii);
+      kids[k] = kid;
+      used |= 1 << k;
+      sz += kid.size;
+    }
+    return new TrieBranch(kids, used, sz);
+  }
+
+  /**
+   * Creates a leaf or collision list for bindings with the same hash code.
+   * @param order binding offsets
+   * @param start start offset (inclusive)
+   * @param end end offset (exclusive)
+   * @param ii input info
+   * @return node
+   * @throws QueryException query exception
+   */
+  private TrieNode collisions(final int[] order, final int start, final int end,
+      final InputInfo ii) throws QueryException {
+
+    final int hash = hashes[order[start]];
+    final Item[] ks = new Item[end - start];
+    final Value[] vs = new Value[end - start];
+    int s = 0;
+    for(int o = start; o < end; o++) {
+      final int b = order[o];
+      final Item key = keys[b];
+      int i = 0;
+      while(i < s && !ks[i].sameKey(key, ii)) i++;
+      ks[i] = key;
+      vs[i] = values[b];
+      if(i == s) s++;
+    }
+    return s == 1 ? new TrieLeaf(hash, ks[0], vs[0]) :
+      new TrieList(hash, Arrays.copyOf(ks, s), Arrays.copyOf(vs, s));
+  }
+}
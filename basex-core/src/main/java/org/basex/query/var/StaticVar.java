@@ -168,6 +168,8 @@ public final class StaticVar extends StaticDecl {
    * @return {@code true} if the expression has the given flag, {@code false} otherwise
    */
   boolean has(final Flag flag) {
+    // variable will be bound when it is evaluated for the first time
+    if(flag == Flag.STA && val == null) return true;
     if(dontEnter || expr == null) return false;
     dontEnter = true;
     final boolean res = expr.has(flag);
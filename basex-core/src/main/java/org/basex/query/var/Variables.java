@@ -114,6 +114,18 @@ public final class Variables extends ExprInfo implements Iterable<StaticVar> {
     }
   }
 
+  /**
+   * Checks if all static variables have been bound to values.
+   * Lazy variables will only be bound when they are evaluated for the first time.
+   * @return result of check
+   */
+  public boolean bound() {
+    for(final StaticVar var : this) {
+      if(var.val == null) return false;
+    }
+    return true;
+  }
+
   @Override
   public Iterator<StaticVar> iterator() {
     final Iterator<Entry<QNm, VarEntry>> iter = vars.entrySet().iterator();
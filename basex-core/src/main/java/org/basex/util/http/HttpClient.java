@@ -10,6 +10,8 @@ import java.io.*;
 import java.lang.reflect.*;
 import java.net.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 import java.util.Map.Entry;
 
 import org.basex.core.*;
@@ -34,6 +36,23 @@ import org.basex.util.options.Options.*;
  * @author Rositsa Shadura
  */
 public final class HttpClient {
+  /** Maximum number of threads for sending concurrent requests. */
+  private static final int THREADS = 64;
+  /** Pool shared by all concurrent requests (idle threads will be discarded). */
+  private static final ThreadPoolExecutor POOL = new ThreadPoolExecutor(THREADS, THREADS,
+      60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable runnable) {
+          final Thread thread = new Thread(runnable, "HttpClient");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+
+  static {
+    POOL.allowCoreThreadTimeOut(true);
+  }
+
   /** Input information. */
   private final InputInfo info;
   /** Database options. */
@@ -59,8 +78,67 @@ public final class HttpClient {
    */
   public Iter sendRequest(final byte[] href, final ANode request, final Iter bodies)
       throws QueryException {
+    return send(href, new HttpRequestParser(info).parse(request, bodies)).iter();
+  }
 
-    final HttpRequest req = new HttpRequestParser(info).parse(request, bodies);
+  /**
+   * Sends several HTTP requests concurrently and returns the responses in the order of the
+   * requests. Each request must specify its own URL. The requests are sent by a pool of threads
+   * that is shared by all clients.
+   * @param requests request data
+   * @param parallel maximum number of concurrent requests (must be positive)
+   * @return HTTP responses
+   * @throws QueryException query exception
+   */
+  public ItemList[] sendRequests(final ANodeList requests, final int parallel)
+      throws QueryException {
+
+    final int rl = requests.size();
+    final ItemList[] responses = new ItemList[rl];
+    if(rl == 0) return responses;
+
+    // parse all requests before the first one is sent
+    final HttpRequest[] reqs = new HttpRequest[rl];
+    for(int r = 0; r < rl; r++) reqs[r] = new HttpRequestParser(info).parse(requests.get(r), null);
+
+    // each worker sends the next pending request until all requests have been sent
+    final AtomicInteger next = new AtomicInteger();
+    final int wl = Math.min(parallel, rl);
+    final ArrayList<Future<?>> workers = new ArrayList<>(wl);
+    try {
+      for(int w = 0; w < wl; w++) {
+        workers.add(POOL.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws QueryException {
+            for(int r; (r = next.getAndIncrement()) < rl;) responses[r] = send(null, reqs[r]);
+            return null;
+          }
+        }));
+      }
+      for(final Future<?> worker : workers) worker.get();
+      return responses;
+    } catch(final ExecutionException ex) {
+      final Throwable th = ex.getCause();
+      throw th instanceof QueryException ? (QueryException) th : HC_ERROR_X.get(info, th);
+    } catch(final InterruptedException ex) {
+      throw HC_ERROR_X.get(info, ex);
+    } finally {
+      // skip pending requests, interrupt running ones
+      next.set(rl);
+      for(final Future<?> worker : workers) worker.cancel(true);
+    }
+  }
+
+  /**
+   * Sends an HTTP request and returns the response.
+   * If the response has been completely consumed, the underlying connection is not closed.
+   * Instead, it will be reused for subsequent requests to the same host.
+   * @param href URL to send the request to (can be {@code null})
+   * @param req request data
+   * @return HTTP response
+   * @throws QueryException query exception
+   */
+  private ItemList send(final byte[] href, final HttpRequest req) throws QueryException {
     HttpURLConnection conn = null;
     try {
       // parse request data, set properties
@@ -77,11 +155,14 @@ public final class HttpClient {
         setRequestContent(conn.getOutputStream(), req);
       }
 
-      return new HttpResponse(info, options).getResponse(conn, body, mediaType).iter();
+      final ItemList response = new HttpResponse(info, options).getResponse(conn, body, mediaType);
+      conn = null;
+      return response;
 
     } catch(final IOException ex) {
       throw HC_ERROR_X.get(info, ex);
     } finally {
+      // close connection if response was not successfully read
       if(conn != null) conn.disconnect();
     }
   }
@@ -24,6 +24,20 @@ public interface HttpText {
   String LOCATION = "Location";
   /** HTTP header: Accept. */
   String ACCEPT = "Accept";
+  /** HTTP header: Content-Length. */
+  String CONTENT_LENGTH = "Content-Length";
+  /** HTTP header: Range. */
+  String RANGE = "Range";
+  /** HTTP header: Accept-Ranges. */
+  String ACCEPT_RANGES = "Accept-Ranges";
+  /** HTTP header: Content-Range. */
+  String CONTENT_RANGE = "Content-Range";
+  /** HTTP header: ETag. */
+  String ETAG = "ETag";
+  /** HTTP header: If-None-Match. */
+  String IF_NONE_MATCH = "If-None-Match";
+  /** Range unit: bytes. */
+  String BYTES = "bytes";
 
   /** HTTP basic authentication. */
   String BASIC = "Basic";
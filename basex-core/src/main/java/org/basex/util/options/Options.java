@@ -100,12 +100,10 @@ public class Options implements Iterable<Option<?>> {
    * @param opts options
    */
   protected Options(final Options opts) {
-    for(final Entry<String, Option<?>> e : opts.options.entrySet())
-      options.put(e.getKey(), e.getValue());
-    for(final Entry<String, Object> e : opts.values.entrySet())
-      values.put(e.getKey(), e.getValue());
-    for(final Entry<String, String> e : opts.free.entrySet())
-      free.put(e.getKey(), e.getValue());
+    // sorted maps are copied in linear time
+    options.putAll(opts.options);
+    values.putAll(opts.values);
+    free.putAll(opts.free);
     user.add(opts.user);
     file = opts.file;
   }
@@ -0,0 +1,93 @@
+package org.basex.io.serial;
+
+import static org.junit.Assert.*;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * Tests for caching serialized documents.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class DocumentCacheTest extends SandboxTest {
+  /** Query. */
+  private static final String QUERY = "db:open('" + NAME + "', 'a.xml')";
+
+  /** Enables the cache and creates the test database. */
+  @Before
+  public void init() {
+    context.soptions.set(StaticOptions.CACHEDOCS, 1);
+    execute(new CreateDB(NAME));
+    execute(new Add("a.xml", "<a><b>x</b><!--c--></a>"));
+    execute(new Add("b.xml", "<b/>"));
+    execute(new Close());
+  }
+
+  /** Disables the cache and drops the test database. */
+  @After
+  public void finish() {
+    execute(new DropDB(NAME));
+    context.documents.invalidate(null);
+    context.soptions.set(StaticOptions.CACHEDOCS, 0);
+  }
+
+  /** Reuses and invalidates cached documents. */
+  @Test
+  public void reuse() {
+    final String result = "<a>\n  <b>x</b>\n  <!--c-->\n</a>";
+    assertEquals(result, execute(new XQuery(QUERY)));
+    assertEquals(1, context.documents.size());
+    assertEquals(result, execute(new XQuery(QUERY)));
+    assertEquals(1, context.documents.size());
+
+    // documents are cached per serialization parameters
+    final String indent = SerializerOptions.INDENT.arg("no");
+    assertEquals("<a><b>x</b><!--c--></a>", execute(new XQuery(indent + QUERY)));
+    assertEquals(2, context.documents.size());
+    assertEquals("<a><b>x</b><!--c--></a>\n<b/>",
+        execute(new XQuery(indent + "db:open('" + NAME + "')")));
+    assertEquals(3, context.documents.size());
+
+    // updates invalidate the documents
+    execute(new XQuery("insert node <c/> into " + QUERY + "/a"));
+    assertEquals(0, context.documents.size());
+    assertEquals("<a><b>x</b><!--c--><c/></a>", execute(new XQuery(indent + QUERY)));
+  }
+
+  /** Documents that are not cached. */
+  @Test
+  public void skip() {
+    // nodes other than documents
+    execute(new XQuery(QUERY + "/a"));
+    // preceding atomic items
+    final String method = SerializerOptions.METHOD.arg("xml");
+    assertEquals("1<a><b>x</b><!--c--></a>",
+        execute(new XQuery(method + SerializerOptions.INDENT.arg("no") + "1, " + QUERY)));
+    // main-memory documents
+    execute(new XQuery("document { <a/> }"));
+    assertEquals(0, context.documents.size());
+
+    // documents exceeding the maximum size
+    execute(new Open(NAME));
+    execute(new Add("c.xml", "<c>" + new String(new char[2000]).replace('\0', 'c') + "</c>"));
+    execute(new XQuery("db:open('" + NAME + "', 'c.xml')"));
+    assertEquals(0, context.documents.size());
+  }
+
+  /** Least recently used documents are discarded. */
+  @Test
+  public void evict() {
+    execute(new Open(NAME));
+    for(int i = 0; i < 20; i++) {
+      execute(new Add(i + ".xml", "<d>" + new String(new char[100]).replace('\0', 'd') + "</d>"));
+    }
+    execute(new XQuery("db:open('" + NAME + "')"));
+    final int size = context.documents.size();
+    assertTrue(Integer.toString(size), size > 0 && size < 20);
+  }
+}
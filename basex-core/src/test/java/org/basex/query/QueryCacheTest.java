@@ -0,0 +1,122 @@
+package org.basex.query;
+
+import static org.junit.Assert.*;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * Tests for caching compiled queries.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class QueryCacheTest extends SandboxTest {
+  /** Query. */
+  private static final String QUERY = "db:open('" + NAME + "')//a[@id = '1']/text()";
+
+  /** Enables the cache and creates the test database. */
+  @Before
+  public void init() {
+    context.soptions.set(StaticOptions.CACHEQUERY, 2);
+    execute(new CreateDB(NAME, "<r><a id='1'>x</a><a id='2'>y</a></r>"));
+    execute(new Close());
+  }
+
+  /** Disables the cache and drops the test database. */
+  @After
+  public void finish() {
+    execute(new DropDB(NAME));
+    context.cache.invalidate(null, context);
+    context.soptions.set(StaticOptions.CACHEQUERY, 0);
+  }
+
+  /** Reuses and invalidates cached plans. */
+  @Test
+  public void reuse() {
+    assertEquals("x", execute(new XQuery(QUERY)));
+    assertEquals(1, context.cache.size());
+    assertEquals("x", execute(new XQuery(QUERY)));
+    assertEquals(1, context.cache.size());
+
+    // updates invalidate the plan
+    execute(new XQuery("insert node <a id='1'>z</a> into db:open('" + NAME + "')/r"));
+    assertEquals(0, context.cache.size());
+    assertEquals("x\nz", execute(new XQuery(QUERY)));
+  }
+
+  /**
+   * Plans are only adopted if they are still valid when the query is compiled.
+   * @throws Exception exception
+   */
+  @Test
+  public void invalidated() throws Exception {
+    execute(new XQuery(QUERY));
+    try(final QueryProcessor qp = new QueryProcessor(QUERY, context)) {
+      qp.parse();
+      execute(new XQuery("insert node <a id='1'>z</a> into db:open('" + NAME + "')/r"));
+      assertEquals("x\nz", qp.value().serialize().toString());
+    }
+    assertEquals(1, context.cache.size());
+  }
+
+  /** Queries that are not cached. */
+  @Test
+  public void skip() {
+    execute(new XQuery("current-dateTime()"));
+    execute(new XQuery("random:double()"));
+    execute(new XQuery("delete node db:open('" + NAME + "')//a[1]"));
+    // lazy static variables are bound when they are evaluated
+    execute(new XQuery("declare %basex:lazy variable $a := db:open('" + NAME + "')//a; $a"));
+    // expressions with evaluation state must not be shared
+    execute(new XQuery("db:open('" + NAME + "')//a[text() contains text 'x']"));
+    assertEquals(0, context.cache.size());
+  }
+
+  /**
+   * Evaluates a cached plan in several threads at the same time.
+   * @throws Exception exception
+   */
+  @Test
+  public void concurrent() throws Exception {
+    final String query = "for $i in 1 to 100 return " + QUERY;
+    final String expected = execute(new XQuery(query));
+    assertEquals(1, context.cache.size());
+
+    final int threads = 8;
+    final String[] results = new String[threads];
+    final Thread[] thrds = new Thread[threads];
+    for(int t = 0; t < threads; t++) {
+      final int tr = t;
+      thrds[t] = new Thread() {
+        @Override
+        public void run() {
+          final Context ctx = new Context(context);
+          ctx.user(context.user());
+          try {
+            for(int r = 0; r < 50 && results[tr] == null; r++) {
+              final String result = new XQuery(query).execute(ctx);
+              if(!result.equals(expected)) results[tr] = result;
+            }
+          } catch(final Exception ex) {
+            results[tr] = ex.toString();
+          }
+        }
+      };
+      thrds[t].start();
+    }
+    for(final Thread thread : thrds) thread.join();
+    for(final String result : results) assertNull(result);
+    assertEquals(1, context.cache.size());
+  }
+
+  /** Least recently used plans are discarded. */
+  @Test
+  public void evict() {
+    for(int i = 0; i < 5; i++) execute(new XQuery(Integer.toString(i)));
+    assertEquals(2, context.cache.size());
+  }
+}
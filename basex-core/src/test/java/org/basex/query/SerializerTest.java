@@ -1,9 +1,12 @@
 package org.basex.query;
 
 import static org.basex.query.QueryError.*;
+import static org.junit.Assert.*;
 
+import org.basex.core.cmd.*;
 import org.basex.io.serial.*;
 import org.junit.*;
+import org.junit.Test;
 
 /**
  * This class tests the serializers.
@@ -87,6 +90,19 @@ public final class SerializerTest extends AdvancedQueryTest {
     query(SerializerOptions.ITEM_SEPARATOR.arg("&#xa;") + "<a/>,<b/>", "<a/>\n<b/>");
     query(SerializerOptions.ITEM_SEPARATOR.arg("&#xa;") +
         SerializerOptions.METHOD.arg("text") + "1,2", "1\n2");
+
+    final String json = SerializerOptions.METHOD.arg("json") +
+        SerializerOptions.INDENT.arg("no");
+    query(json + SerializerOptions.ITEM_SEPARATOR.arg("&#xa;") + "map { 'a': [ 1, 2 ] }, 3",
+        "{\"a\":[1,2]}\n3");
+    error(json + "1, 2", SERJSON);
+  }
+
+  /** Test: flush. */
+  @Test
+  public void flush() {
+    query(SerializerOptions.FLUSH.arg("1") + "1 to 3", "1\n2\n3");
+    query(SerializerOptions.FLUSH.arg("2") + "<a/>, <b/>, <c/>", "<a/>\n<b/>\n<c/>");
   }
 
   /** Test: xml:space='preserve'. */
@@ -106,4 +122,25 @@ public final class SerializerTest extends AdvancedQueryTest {
     query(option + "<a xml:space='default'>T<b/></a>", "<a xml:space=\"default\">T<b/></a>");
     query(option + "<a xml:space='x'>T<b/></a>", "<a xml:space=\"x\">T<b/></a>");
   }
+
+  /** Test: database nodes. */
+  @Test
+  public void dbNodes() {
+    execute(new CreateDB(NAME, "<?pi x?><!--c--><a b='&quot;&amp;&lt;>&#9;&#10;&#13;'>"
+        + "<b>&amp;&lt;&gt;&#13;&#127;&#133;&#160;&#x2028;\u00e4\u20ac\ud834\udd1e</b>"
+        + "<c xml:space='preserve'><d/>T<e><f/></e></c><g><!--c--><h>T<?pi?></h></g></a>"));
+    final String db = "db:open('" + NAME + "')";
+    query(db + "//b", "<b>&amp;&lt;&gt;&#xD;&#x7F;&#x85;\u00a0&#x2028;\u00e4\u20ac\ud834\udd1e</b>");
+    query(db + "/a/@b", "b=\"&quot;&amp;&lt;&gt;&#x9;&#xA;&#xD;\"");
+
+    // compare results with generic serialization (enforced by assigning a limit)
+    final String limit = SerializerOptions.LIMIT.arg("1000000");
+    for(final String indent : new String[] { "yes", "no" }) {
+      final String option = SerializerOptions.INDENT.arg(indent);
+      for(final String query : new String[] { db, db + "//node()", db + "//text(), 1, " + db }) {
+        assertEquals(query(limit + option + query), query(option + query));
+      }
+    }
+    execute(new DropDB(NAME));
+  }
 }
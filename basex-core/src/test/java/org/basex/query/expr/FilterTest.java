@@ -284,6 +284,35 @@ public final class FilterTest extends AdvancedQueryTest {
         "<a b=\"1\"/>\n<a b=\"a\"/>");
   }
 
+  /**
+   * Join predicates and hashed general comparisons.
+   */
+  @Test public void join() {
+    final String nodes = "((1 to 1000) ! <a id='{ . }'/>)";
+    query("count(" + nodes + "[@id = (995 to 2000) ! string()])", "6");
+    query("count(" + nodes + "[@id = (995 to 2000)])", "6");
+    query("count(" + nodes + "[@id = (995 to 2000) ! xs:double(.)])", "6");
+    query("let $ids := (1 to 1000) ! string() return count(" + nodes + "[@id = $ids])", "1000");
+
+    query("(1 to 100) ! string() = (100 to 200) ! string()", "true");
+    query("(1 to 100) ! string() = (101 to 200) ! string()", "false");
+    query("(1 to 100) ! xs:untypedAtomic(.) = (100 to 200) ! xs:double(.)", "true");
+    query("((1 to 100), xs:double('NaN')) = (xs:double('NaN'), (200 to 300))", "false");
+    query("(1 to 100) ! xs:decimal(.) = (100 to 200) ! xs:float(.)", "true");
+    error("(1 to 100) ! string() = (101 to 200)", QueryError.CMPTYPES_X_X);
+
+    // untyped items and numbers
+    query("count(" + nodes + "[@id = (1 to 1000) ! (. * 2)])", "500");
+    query("count(" + nodes + "[@id = (1 to 1000) ! xs:float(. * 2)])", "500");
+    query("count(" + nodes + "[@id = (1 to 1000) ! xs:decimal(. * 2)])", "500");
+    query("let $ids := " + nodes + "/@id return count((1 to 2000)[. = $ids])", "1000");
+    query("let $ids := " + nodes + "/@id return count((1 to 2000)[xs:float(.) = $ids])", "1000");
+    query("let $ids := (" + nodes + "/@id, <a>NaN</a>) return count((1 to 2000)[. = $ids])",
+        "1000");
+    error("let $ids := (" + nodes + "/@id, <a>x</a>) return count((1 to 2000)[. = $ids])",
+        QueryError.FUNCAST_X_X);
+  }
+
   /**
    * Start position.
    */
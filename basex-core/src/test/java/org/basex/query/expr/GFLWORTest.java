@@ -2,8 +2,11 @@ package org.basex.query.expr;
 
 import static org.junit.Assert.*;
 
+import org.basex.core.*;
 import org.basex.query.*;
+import org.basex.util.*;
 import org.junit.*;
+import org.junit.Test;
 
 /**
  * Test cases for FLWOR expressions.
@@ -30,4 +33,42 @@ public final class GFLWORTest extends AdvancedQueryTest {
   public void posOptimizationTest() {
     assertEquals("<a/>", query("for $a at $p in (<a/>,<b/>)/. where $p < 2 return $a"));
   }
+
+  /** Parallel evaluation of for clauses. */
+  @Test
+  public void parallelTest() {
+    query("let $n := 2 return (# basex:parallel #) { "
+        + "for $i in 1 to 10 let $j := $i * $n where $i mod 2 = 0 return $j }", "4\n8\n12\n16\n20");
+    query("count((# basex:parallel 3 #) { for $i in 1 to 100000 return <a>{ $i }</a> })", 100000);
+    query("(# basex:parallel #) { for $i at $p in (1, 2) return $p }", "1\n2");
+    // expressions with evaluation state are evaluated sequentially
+    query("(# basex:parallel #) { for $i in ('a', 'b') return $i contains text 'a' }",
+        "true\nfalse");
+    query("let $f := function($i) { $i * 2 } "
+        + "return (# basex:parallel #) { for $i in 1 to 3 return $f($i) }", "2\n4\n6");
+    error("(# basex:parallel #) { for $i in 1 to 10 return error() }", QueryError.FUNERR1);
+    error("(# basex:parallel 0 #) { 1 }", QueryError.BASX_PARALLEL_X);
+  }
+
+  /**
+   * Stops parallel workers if the query is interrupted.
+   * @throws Exception exception
+   */
+  @Test
+  public void parallelStop() throws Exception {
+    final String query = "(# basex:parallel 2 #) { "
+        + "for $i in 1 to 1000 return sum((1 to 3000000) ! (. * $i)) }";
+    try(final QueryProcessor qp = new QueryProcessor(query, context)) {
+      new Thread() {
+        @Override
+        public void run() {
+          Performance.sleep(200);
+          qp.stop();
+        }
+      }.start();
+      qp.value();
+      fail("Query was not interrupted.");
+    } catch(final ProcException ignored) {
+    }
+  }
 }
@@ -165,6 +165,50 @@ public final class ArchiveModuleTest extends AdvancedQueryTest {
           "return $d//title/text()", "XML");
   }
 
+  /** Test method. */
+  @Test
+  public void createParallel() {
+    final String names = "(1 to 100) ! ('f' || .)", texts = "(1 to 100) ! string(.)";
+    query("deep-equal(" + _ARCHIVE_EXTRACT_TEXT.args(_ARCHIVE_CREATE.args(" " + names,
+        " " + texts, " map { 'parallel': 4 }")) + ", " + texts + ')', "true");
+    query(_ARCHIVE_ENTRIES.args(_ARCHIVE_CREATE.args(" ('a', 'b')", " ('A', 'B')",
+        " map { 'parallel': 2 }")) + " ! string()", "a\nb");
+    query(_ARCHIVE_EXTRACT_TEXT.args(_ARCHIVE_CREATE.args("X", " string-join(1 to 500000)",
+        " map { 'format': 'gzip', 'parallel': 4 }")) + " = string-join(1 to 500000)", "true");
+    query(_ARCHIVE_EXTRACT_TEXT.args(_ARCHIVE_CREATE.args("X", "",
+        " map { 'format': 'gzip', 'parallel': 4 }")), "");
+    // number of threads is capped by the number of processors
+    query(_ARCHIVE_ENTRIES.args(_ARCHIVE_CREATE.args("a", "A",
+        " map { 'parallel': 1500000000 }")) + " ! string()", "a");
+
+    error(_ARCHIVE_CREATE.args("a", "A", " map { 'parallel': 0 }"), ARCH_PARALLEL_X);
+    error(_ARCHIVE_CREATE.args("a", "A", " map { 'parallel': -1 }"), ARCH_PARALLEL_X);
+  }
+
+  /** Test method. */
+  @Test
+  public void extractFile() {
+    // random access to entries of a local file
+    final String tmp = new IOFile(sandbox(), "tmp.zip").path();
+    query(_FILE_WRITE_BINARY.args(tmp,
+        _ARCHIVE_CREATE.args(" ('a', 'b', 'c')", " ('A', 'B', 'C')")));
+    query(_ARCHIVE_EXTRACT_TEXT.args(_FILE_READ_BINARY.args(tmp), "c"), "C");
+    query(_ARCHIVE_EXTRACT_TEXT.args(_FILE_READ_BINARY.args(tmp), " ('c', 'a')"), "A\nC");
+    query(_ZIP_TEXT_ENTRY.args(tmp, "b"), "B");
+    // overwritten archive
+    query(_FILE_WRITE_BINARY.args(tmp, _ARCHIVE_CREATE.args(" ('c', 'd')", " ('CC', 'DD')")));
+    query(_ARCHIVE_EXTRACT_TEXT.args(_FILE_READ_BINARY.args(tmp), "c"), "CC");
+    query(COUNT.args(_ARCHIVE_ENTRIES.args(_FILE_READ_BINARY.args(tmp))), 2);
+
+    // corrupted entry
+    query(_FILE_WRITE_BINARY.args(tmp, _ARCHIVE_CREATE.args("a", "ABCDEFGH",
+        " map { 'algorithm': 'stored' }")));
+    query(_FILE_WRITE_BINARY.args(tmp, "xs:hexBinary(replace(string(xs:hexBinary(" +
+        _FILE_READ_BINARY.args(tmp) + ")), '4142434445464748', '4142434445464749'))"));
+    error(_ARCHIVE_EXTRACT_TEXT.args(_FILE_READ_BINARY.args(tmp)), ARCH_FAIL_X);
+    error(_ZIP_TEXT_ENTRY.args(tmp, "a"), ZIP_FAIL_X);
+  }
+
   /** Test method. */
   @Test
   public void extractTo() {
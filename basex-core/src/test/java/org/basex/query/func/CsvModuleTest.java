@@ -2,6 +2,9 @@ package org.basex.query.func;
 
 import static org.basex.query.QueryError.*;
 import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
+
+import java.io.*;
 
 import org.basex.query.*;
 import org.junit.*;
@@ -35,6 +38,32 @@ public final class CsvModuleTest extends AdvancedQueryTest {
     parseError("", "'separator':'XXX'");
   }
 
+  /** Test method. */
+  @Test
+  public void parseStream() {
+    parse("", "'stream':true()", "");
+    parse("X", "'stream':true()", "<record>\n<entry>X</entry>\n</record>");
+    parse("X\nY", "'stream':true(),'header':true()", "<record>\n<X>Y</X>\n</record>");
+    parse("X\nY\nZ", "'stream':true(),'header':true()",
+        "<record>\n<X>Y</X>\n</record>\n<record>\n<X>Z</X>\n</record>");
+    parse(" '\"X\nY\",Z'", "'stream':true()",
+        "<record>\n<entry>X\nY</entry>\n<entry>Z</entry>\n</record>");
+
+    query("count(" + _CSV_PARSE.args("A\nB\nC", " map { 'stream': true() }") + ')', 3);
+    query(_CSV_PARSE.args("A,B\nC,D", " map { 'stream': true(), 'format': 'map' }") + "?2",
+        "C\nD");
+    query("map:merge(" + _CSV_PARSE.args("A\nB", " map { 'stream': true(), 'format': 'map' }") +
+        ")?*", "A\nB");
+
+    // inputs that have not been consumed completely are closed with the query
+    final String[] fds = new File("/proc/self/fd").list();
+    Assume.assumeNotNull((Object) fds);
+    final String input = _FILE_READ_TEXT.args("src/test/resources/input.xml");
+    final String query = "head(" + _CSV_PARSE.args(input, " map { 'stream': true() }") + ')';
+    for(int i = 0; i < 100; i++) query(query);
+    assertTrue(new File("/proc/self/fd").list().length < fds.length + 50);
+  }
+
   /** Test method. */
   @Test
   public void serialize() {
@@ -735,6 +735,37 @@ public final class DbModuleTest extends AdvancedQueryTest {
     query(_FILE_DELETE.args(f));
   }
 
+  /** Test method. */
+  @Test
+  public void exportParallel() {
+    final IOFile dir = new IOFile(Prop.TMP, NAME + "-export");
+    dir.delete();
+    execute(new Close());
+    query(_DB_CREATE.args(NAME, " (1 to 1000) ! <a>{ . }</a>",
+        " (1 to 1000) ! ('d' || . || '.xml')"));
+    set(MainOptions.EXPORTTHREADS, 4);
+    try {
+      query(_DB_EXPORT.args(NAME, dir));
+    } finally {
+      set(MainOptions.EXPORTTHREADS, 1);
+    }
+    query(COUNT.args(_FILE_LIST.args(dir)), 1000);
+    query(_FILE_READ_TEXT.args(new IOFile(dir, "d500.xml")), "<a>500</a>");
+    query(_FILE_DELETE.args(dir, "true()"));
+
+    // number of threads is capped, invalid values lead to a sequential export
+    for(final int threads : new int[] { Integer.MAX_VALUE, -1 }) {
+      set(MainOptions.EXPORTTHREADS, threads);
+      try {
+        query(_DB_EXPORT.args(NAME, dir));
+      } finally {
+        set(MainOptions.EXPORTTHREADS, 1);
+      }
+      query(COUNT.args(_FILE_LIST.args(dir)), 1000);
+      query(_FILE_DELETE.args(dir, "true()"));
+    }
+  }
+
   /** Test method. */
   @Test
   public void name() {
@@ -228,6 +228,26 @@ public final class FileModuleTest extends AdvancedQueryTest {
     query(_FILE_DELETE.args(PATH1));
   }
 
+  /** Test method. */
+  @Test
+  public void readTextLines() {
+    error(_FILE_READ_TEXT_LINES.args(PATH1), FILE_NOT_FOUND_X);
+    error(_FILE_READ_TEXT_LINES.args(PATH), FILE_IS_DIR_X);
+    query(_FILE_WRITE.args(PATH1, "a\rb\r\nc\n\nd"));
+    query(_FILE_READ_TEXT_LINES.args(PATH1), "a\nb\nc\n\nd");
+    query(_FILE_READ_TEXT_LINES.args(PATH1, "UTF-8", 1), "b\nc\n\nd");
+    query(_FILE_READ_TEXT_LINES.args(PATH1, "UTF-8", 1, 2), "b\nc");
+    query(_FILE_READ_TEXT_LINES.args(PATH1, "UTF-8", 4, 9), "d");
+    query(_FILE_READ_TEXT_LINES.args(PATH1, "UTF-8", 5), "");
+    query(_FILE_READ_TEXT_LINES.args(PATH1, "UTF-8", 0, 0), "");
+    query("head(" + _FILE_READ_TEXT_LINES.args(PATH1) + ')', "a");
+    error(_FILE_READ_TEXT_LINES.args(PATH1, "UTF-8", -1), FILE_OUT_OF_RANGE_X_X);
+    error(_FILE_READ_TEXT_LINES.args(PATH1, "UTF-8", 0, -1), FILE_OUT_OF_RANGE_X_X);
+    query(_FILE_WRITE_BINARY.args(PATH1, "xs:hexBinary('00')"));
+    error(_FILE_READ_TEXT_LINES.args(PATH1), FILE_IO_ERROR_X);
+    query(_FILE_DELETE.args(PATH1));
+  }
+
   /** Test method. */
   @Test
   public void readBinary() {
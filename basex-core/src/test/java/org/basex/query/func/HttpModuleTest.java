@@ -0,0 +1,89 @@
+package org.basex.query.func;
+
+import static org.basex.query.QueryError.*;
+import static org.basex.query.func.Function.*;
+
+import java.io.*;
+import java.net.*;
+import java.util.concurrent.*;
+
+import org.basex.query.*;
+import org.basex.util.*;
+import org.junit.*;
+
+import com.sun.net.httpserver.*;
+
+/**
+ * This class tests the functions of the HTTP Module against a local HTTP server.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class HttpModuleTest extends AdvancedQueryTest {
+  /** Local HTTP server. */
+  private static HttpServer server;
+  /** Server URL. */
+  private static String url;
+
+  /**
+   * Starts a local HTTP server, which echoes the query string of a request.
+   * @throws IOException I/O exception
+   */
+  @BeforeClass
+  public static void start() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange ex) throws IOException {
+        final byte[] body = Token.token("<echo>" + ex.getRequestURI().getQuery() + "</echo>");
+        ex.getResponseHeaders().add("Content-Type", "application/xml");
+        ex.sendResponseHeaders(200, body.length);
+        try(final OutputStream os = ex.getResponseBody()) {
+          os.write(body);
+        }
+      }
+    });
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+    url = "http://127.0.0.1:" + server.getAddress().getPort() + "/?";
+  }
+
+  /**
+   * Stops the local HTTP server.
+   */
+  @AfterClass
+  public static void stop() {
+    server.stop(0);
+  }
+
+  /** Test method. */
+  @Test
+  public void sendRequest() {
+    query(_HTTP_SEND_REQUEST.args(request("a")) + "[2]/string()", "a");
+  }
+
+  /** Test method. */
+  @Test
+  public void sendRequests() {
+    final String reqs = "(1 to 20) ! " + request("{ . }");
+    query("count(" + _HTTP_SEND_REQUESTS.args(reqs) + ')', 20);
+    query(_HTTP_SEND_REQUESTS.args(reqs) + "?2/string() => string-join(' ')",
+        "1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16 17 18 19 20");
+    query(_HTTP_SEND_REQUESTS.args(reqs, 1) + "?1/@status => distinct-values()", 200);
+    query(_HTTP_SEND_REQUESTS.args(" ()"), "");
+
+    error(_HTTP_SEND_REQUESTS.args(" <http:request method='get'/>"), HC_URL);
+    error(_HTTP_SEND_REQUESTS.args(reqs, 0), HC_PARALLEL_X);
+    error(_HTTP_SEND_REQUESTS.args(" <http:request method='get' href='http://127.0.0.1:1/'/>"),
+        HC_ERROR_X);
+  }
+
+  /**
+   * Returns a request element.
+   * @param query query string
+   * @return request
+   */
+  private static String request(final String query) {
+    return " <http:request method='get' href='" + url + query + "'/>";
+  }
+}
@@ -3,6 +3,7 @@ package org.basex.query.func;
 import static org.basex.query.QueryError.*;
 import static org.basex.query.func.Function.*;
 
+import org.basex.io.*;
 import org.basex.query.*;
 import org.junit.*;
 
@@ -90,6 +91,53 @@ public final class JsonModuleTest extends AdvancedQueryTest {
     query(_JSON_PARSE.args("null", map), "");
   }
 
+  /** Test method. */
+  @Test
+  public void parsePath() {
+    final String json = "{\"items\":[{\"a\":1},[2,3],null,\"x\"],\"n\":{\"items\":[4]}}";
+    query(_JSON_PARSE.args(json, " map { 'path': 'items/*', 'format': 'map' }"),
+        "map {\n\"a\": 1\n}\n[2, 3]\nx");
+    query(_JSON_PARSE.args(json, " map { 'path': '*/items', 'format': 'map' }"), "[4]");
+    query("count(" + _JSON_PARSE.args(json, " map { 'path': 'items/*' }") + ')', "4");
+    query(_JSON_PARSE.args("[1,2,3]", " map { 'path': 'x', 'format': 'map' }"), "");
+    error(_JSON_PARSE.args("[1,2] x", " map { 'path': '*' }"), BXJS_PARSE_X_X_X);
+    error(_JSON_PARSE.args("[1]", " map { 'path': '/a' }"), BXJS_PATH_X);
+    error(_JSON_PARSE.args("[1]", " map { 'path': 'a//b' }"), BXJS_PATH_X);
+    error(_JSON_PARSE.args("[1]", " map { 'path': 'a/' }"), BXJS_PATH_X);
+
+    // duplicate keys
+    final String dupl = "{\"a\":1,\"a\":2}";
+    query(_JSON_PARSE.args(dupl, " map { 'path': 'a', 'format': 'map' }"), "1");
+    query(_JSON_PARSE.args(dupl, " map { 'path': '*', 'format': 'map' }"), "1");
+    query("count(" + _JSON_PARSE.args(dupl, " map { 'path': 'a', 'format': 'basic' }") + ')', 2);
+    error(_JSON_PARSE.args(dupl, " map { 'path': 'a', 'duplicates': 'reject' }"),
+        BXJS_DUPLICATE_X);
+    error(_JSON_PARSE.args(dupl, " map { 'path': 'a', 'duplicates': 'use-last' }"),
+        BXJS_PATHOPT_X_X);
+
+    // line-delimited input
+    query(_JSON_PARSE.args("[1]\n\n[2,3]", " map { 'lines': true(), 'format': 'map' }"),
+        "[1]\n[2, 3]");
+    query(_JSON_PARSE.args("[1]\n[2,3]",
+        " map { 'lines': true(), 'path': '*', 'format': 'map' }"), "1\n2\n3");
+
+    // streamed file input, exceeding the size of the input buffer
+    final IOFile file = new IOFile(sandbox(), "input.json");
+    final StringBuilder sb = new StringBuilder("{ \"items\": [");
+    for(int i = 0; i < 10000; i++) {
+      sb.append(i == 0 ? "" : ",\n").append("[\"\\u00e4").append(i).append("\"]");
+    }
+    write(file, sb.append("] }").toString());
+    final String items = _FILE_READ_TEXT.args(file.path());
+    query("count(" + _JSON_PARSE.args(items, " map { 'path': 'items/*' }") + ')', "10000");
+    query(_JSON_PARSE.args(items, " map { 'path': 'items/*', 'format': 'map' }") + "[last()]",
+        "[\"\u00e49999\"]");
+    query("head(" + _JSON_PARSE.args(items, " map { 'path': 'items/*/*', 'format': 'map' }") +
+        ')', "\u00e40");
+    write(file, sb.append(" x").toString());
+    error(_JSON_PARSE.args(items, " map { 'path': 'items/*' }"), BXJS_PARSE_X_X_X);
+  }
+
   /** Test method. */
   @Test
   public void serialize() {
@@ -1,16 +1,47 @@
 package org.basex.query.func;
 
+import static org.basex.query.QueryError.*;
+import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
+
+import java.sql.*;
+
 import org.basex.query.*;
+import org.basex.query.func.sql.*;
 import org.junit.*;
+import org.junit.Test;
 
 /**
  * This class tests the functions of the SQL Module.
- * Due to the lack of a default JDBC driver, this class contains only tests signatures.
+ * Due to the lack of a default JDBC driver, the tests are run with a minimal test driver.
  *
  * @author BaseX Team 2005-16, BSD License
  * @author Christian Gruen
  */
 public final class SqlModuleTest extends AdvancedQueryTest {
+  /** Connection. */
+  private static final String CONN = _SQL_CONNECT.args(SqlTestDriver.URL);
+  /** Pooled connection. */
+  private static final String POOLED = _SQL_CONNECT.args(SqlTestDriver.URL, "user", "pass",
+      " <sql:options xmlns:sql='http://basex.org/modules/sql'><sql:pool value='true'/>" +
+      "</sql:options>");
+
+  /**
+   * Registers the test driver.
+   * @throws SQLException SQL exception
+   */
+  @BeforeClass
+  public static void register() throws SQLException {
+    SqlTestDriver.register();
+  }
+
+  /** Resets the driver statistics. */
+  @Before
+  public void reset() {
+    context.resource(JDBCPool.class).close();
+    SqlTestDriver.reset();
+  }
+
   /** Test method. */
   @Test
   public void init() {
@@ -19,6 +50,24 @@ public final class SqlModuleTest extends AdvancedQueryTest {
   /** Test method. */
   @Test
   public void connect() {
+    // connections are closed after the query has been evaluated
+    query(CONN);
+    query(CONN);
+    assertEquals(2, SqlTestDriver.CONNECTIONS.get());
+    assertEquals(0, SqlTestDriver.OPEN_CONNECTIONS.get());
+
+    // pooled connections are reused
+    query(POOLED);
+    query(POOLED);
+    assertEquals(3, SqlTestDriver.CONNECTIONS.get());
+    assertEquals(1, SqlTestDriver.OPEN_CONNECTIONS.get());
+    query("(1 to 2) ! " + POOLED);
+    assertEquals(4, SqlTestDriver.CONNECTIONS.get());
+    assertEquals(2, SqlTestDriver.OPEN_CONNECTIONS.get());
+
+    // idle connections are closed with the context
+    context.resource(JDBCPool.class).close();
+    assertEquals(0, SqlTestDriver.OPEN_CONNECTIONS.get());
   }
 
   /** Test method. */
@@ -29,16 +78,48 @@ public final class SqlModuleTest extends AdvancedQueryTest {
   /** Test method. */
   @Test
   public void execute() {
+    query("count(" + _SQL_EXECUTE.args(CONN, "SELECT 3") + ')', "3");
+    query(_SQL_EXECUTE.args(CONN, "SELECT 1") + "/*/text()", "1");
+    query(_SQL_EXECUTE.args(CONN, "SELECT 1", " map { 'fetch-size': 10 }") + "/*/text()", "1");
+    query(_SQL_EXECUTE.args(CONN, "UPDATE"), "");
+    // statements are closed if results have not been consumed completely
+    query("head(" + _SQL_EXECUTE.args(POOLED, "SELECT 3") + ")/*/text()", "1");
+    assertEquals(0, SqlTestDriver.OPEN_STATEMENTS.get());
   }
 
   /** Test method. */
   @Test
   public void executePrepared() {
+    query(_SQL_EXECUTE_PREPARED.args(_SQL_PREPARE.args(CONN, "SELECT 2")) + "/*/text()",
+        "1\n2");
+    assertEquals(0, SqlTestDriver.OPEN_STATEMENTS.get());
+  }
+
+  /** Test method. */
+  @Test
+  public void executeBatch() {
+    final String params = "<sql:parameters xmlns:sql='http://basex.org/modules/sql'>" +
+        "<sql:parameter type='int'>{ . }</sql:parameter></sql:parameters>";
+    query(_SQL_EXECUTE_BATCH.args(_SQL_PREPARE.args(CONN, "INSERT ?"), " ()"), "");
+    query(_SQL_EXECUTE_BATCH.args(_SQL_PREPARE.args(CONN, "INSERT ?"),
+        " (1 to 3) ! " + params), "1\n1\n1");
+    assertEquals(1, SqlTestDriver.BATCHES.get());
+    // parameter sets are sent in chunks
+    query("count(" + _SQL_EXECUTE_BATCH.args(_SQL_PREPARE.args(CONN, "INSERT ?"),
+        " (1 to 5000) ! " + params) + ')', "5000");
+    assertEquals(3, SqlTestDriver.BATCHES.get());
+    assertEquals(0, SqlTestDriver.OPEN_STATEMENTS.get());
   }
 
   /** Test method. */
   @Test
   public void close() {
+    // closing a connection closes its statements
+    error("let $c := " + POOLED + " let $p := " + _SQL_PREPARE.args("$c", "SELECT 1") +
+        " return (" + _SQL_CLOSE.args("$c") + ", " + _SQL_EXECUTE_PREPARED.args("$p") + ')',
+        BXSQ_STATE_X);
+    assertEquals(0, SqlTestDriver.OPEN_STATEMENTS.get());
+    assertEquals(1, SqlTestDriver.OPEN_CONNECTIONS.get());
   }
 
   /** Test method. */
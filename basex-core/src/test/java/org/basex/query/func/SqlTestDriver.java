@@ -0,0 +1,268 @@
+package org.basex.query.func;
+
+import java.lang.reflect.*;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.logging.*;
+
+/**
+ * Minimal JDBC driver, which is used for testing the SQL Module.
+ * Queries starting with {@code SELECT n} return {@code n} rows with a single column.
+ * All other statements return update counts. Opened and closed connections and statements
+ * are counted.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class SqlTestDriver implements Driver {
+  /** URL prefix. */
+  public static final String URL = "jdbc:basex-test:";
+  /** Number of opened connections. */
+  public static final AtomicInteger CONNECTIONS = new AtomicInteger();
+  /** Number of currently open connections. */
+  public static final AtomicInteger OPEN_CONNECTIONS = new AtomicInteger();
+  /** Number of currently open statements. */
+  public static final AtomicInteger OPEN_STATEMENTS = new AtomicInteger();
+  /** Number of executed batches. */
+  public static final AtomicInteger BATCHES = new AtomicInteger();
+
+  /** Registered driver. */
+  private static SqlTestDriver driver;
+
+  /**
+   * Registers the driver.
+   * @throws SQLException SQL exception
+   */
+  public static synchronized void register() throws SQLException {
+    if(driver == null) {
+      driver = new SqlTestDriver();
+      DriverManager.registerDriver(driver);
+    }
+  }
+
+  /**
+   * Resets the counters.
+   */
+  public static void reset() {
+    CONNECTIONS.set(0);
+    OPEN_CONNECTIONS.set(0);
+    OPEN_STATEMENTS.set(0);
+    BATCHES.set(0);
+  }
+
+  @Override
+  public Connection connect(final String url, final Properties info) {
+    if(!acceptsURL(url)) return null;
+    CONNECTIONS.incrementAndGet();
+    OPEN_CONNECTIONS.incrementAndGet();
+    return proxy(Connection.class, new Handler(null, null) {
+      /** Auto-commit flag. */
+      private boolean autoCommit = true;
+
+      @Override
+      Object invoke(final Object proxy, final String name, final Object[] args) {
+        switch(name) {
+          case "createStatement":
+            return statement(Statement.class, (Connection) proxy, null);
+          case "prepareStatement":
+            return statement(PreparedStatement.class, (Connection) proxy, (String) args[0]);
+          case "getAutoCommit":
+            return autoCommit;
+          case "setAutoCommit":
+            autoCommit = (Boolean) args[0];
+            return null;
+          case "isValid":
+            return !closed;
+          case "close":
+            if(!closed) OPEN_CONNECTIONS.decrementAndGet();
+            return super.invoke(proxy, name, args);
+          default:
+            return super.invoke(proxy, name, args);
+        }
+      }
+    });
+  }
+
+  /**
+   * Creates a statement.
+   * @param type statement type
+   * @param conn connection
+   * @param sql SQL string of prepared statement (can be {@code null})
+   * @param <T> statement type
+   * @return statement
+   */
+  private static <T extends Statement> T statement(final Class<T> type, final Connection conn,
+      final String sql) {
+    OPEN_STATEMENTS.incrementAndGet();
+    return proxy(type, new Handler(conn, sql) {
+      /** Size of current batch. */
+      private int batch;
+      /** Result set. */
+      private ResultSet result;
+
+      @Override
+      Object invoke(final Object proxy, final String name, final Object[] args) {
+        switch(name) {
+          case "execute":
+            final String query = args == null ? sql : (String) args[0];
+            if(!query.startsWith("SELECT ")) return false;
+            result = result(Integer.parseInt(query.substring(7)));
+            return true;
+          case "getResultSet":
+            return result;
+          case "getParameterMetaData":
+            final int params = sql.length() - sql.replace("?", "").length();
+            return proxy(ParameterMetaData.class, new Handler(null, null) {
+              @Override
+              Object invoke(final Object p, final String n, final Object[] a) {
+                return n.equals("getParameterCount") ? params : super.invoke(p, n, a);
+              }
+            });
+          case "addBatch":
+            batch++;
+            return null;
+          case "executeBatch":
+            final int[] counts = new int[batch];
+            Arrays.fill(counts, 1);
+            batch = 0;
+            BATCHES.incrementAndGet();
+            return counts;
+          case "close":
+            if(!closed) OPEN_STATEMENTS.decrementAndGet();
+            return super.invoke(proxy, name, args);
+          default:
+            return super.invoke(proxy, name, args);
+        }
+      }
+    });
+  }
+
+  /**
+   * Creates a result set.
+   * @param rows number of rows
+   * @return result set
+   */
+  private static ResultSet result(final int rows) {
+    final ResultSetMetaData meta = proxy(ResultSetMetaData.class, new Handler(null, null) {
+      @Override
+      Object invoke(final Object proxy, final String name, final Object[] args) {
+        return name.equals("getColumnCount") ? 1 : name.equals("getColumnLabel") ? "n" :
+          super.invoke(proxy, name, args);
+      }
+    });
+    return proxy(ResultSet.class, new Handler(null, null) {
+      /** Current row. */
+      private int row;
+
+      @Override
+      Object invoke(final Object proxy, final String name, final Object[] args) {
+        switch(name) {
+          case "next":
+            return ++row <= rows;
+          case "getMetaData":
+            return meta;
+          case "getObject":
+            return row;
+          default:
+            return super.invoke(proxy, name, args);
+        }
+      }
+    });
+  }
+
+  /**
+   * Creates a proxy instance.
+   * @param type interface
+   * @param handler invocation handler
+   * @param <T> type
+   * @return proxy
+   */
+  private static <T> T proxy(final Class<T> type, final Handler handler) {
+    return type.cast(Proxy.newProxyInstance(SqlTestDriver.class.getClassLoader(),
+        new Class<?>[] { type }, handler));
+  }
+
+  @Override
+  public boolean acceptsURL(final String url) {
+    return url.startsWith(URL);
+  }
+
+  @Override
+  public DriverPropertyInfo[] getPropertyInfo(final String url, final Properties info) {
+    return new DriverPropertyInfo[0];
+  }
+
+  @Override
+  public int getMajorVersion() {
+    return 1;
+  }
+
+  @Override
+  public int getMinorVersion() {
+    return 0;
+  }
+
+  @Override
+  public boolean jdbcCompliant() {
+    return false;
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  /** Invocation handler with default behavior. */
+  private abstract static class Handler implements InvocationHandler {
+    /** Connection (can be {@code null}). */
+    final Connection conn;
+    /** SQL string (can be {@code null}). */
+    final String sql;
+    /** Closed flag. */
+    boolean closed;
+
+    /**
+     * Constructor.
+     * @param conn connection (can be {@code null})
+     * @param sql SQL string (can be {@code null})
+     */
+    Handler(final Connection conn, final String sql) {
+      this.conn = conn;
+      this.sql = sql;
+    }
+
+    @Override
+    public final Object invoke(final Object proxy, final Method method, final Object[] args) {
+      return invoke(proxy, method.getName(), args);
+    }
+
+    /**
+     * Processes a method invocation.
+     * @param proxy proxy instance
+     * @param name name of invoked method
+     * @param args arguments (can be {@code null})
+     * @return result
+     */
+    Object invoke(final Object proxy, final String name, final Object[] args) {
+      switch(name) {
+        case "close":
+          closed = true;
+          return null;
+        case "isClosed":
+          return closed;
+        case "getConnection":
+          return conn;
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "equals":
+          return proxy == args[0];
+        case "toString":
+          return getClass().getName();
+        default:
+          // setters, commit, rollback, etc.
+          return null;
+      }
+    }
+  }
+}
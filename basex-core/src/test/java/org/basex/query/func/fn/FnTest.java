@@ -4,6 +4,8 @@ import static org.basex.query.QueryError.*;
 import static org.basex.query.func.Function.*;
 import static org.junit.Assert.*;
 
+import java.io.*;
+
 import org.basex.query.*;
 import org.junit.*;
 
@@ -30,6 +32,15 @@ public final class FnTest extends AdvancedQueryTest {
   @Test
   public void unparsedTextLines() {
     query(UNPARSED_TEXT_LINES.args("()"), "");
+    query("head(" + UNPARSED_TEXT_LINES.args(TEXT) + ')', "<?xml version='1.0' encoding='UTF-8'?>");
+    error(UNPARSED_TEXT_LINES.args(TEXT + 'x'), RESNF_X);
+
+    // inputs that have not been consumed completely are closed with the query
+    final String[] fds = new File("/proc/self/fd").list();
+    Assume.assumeNotNull((Object) fds);
+    final String query = "head(" + UNPARSED_TEXT_LINES.args(" <_>" + TEXT + "</_>") + ')';
+    for(int i = 0; i < 100; i++) query(query);
+    assertTrue(new File("/proc/self/fd").list().length < fds.length + 50);
   }
 
   /** Test method. */
@@ -244,6 +244,49 @@ public final class IndexOptimizeTest extends QueryPlanTest {
     }
   }
 
+  /**
+   * Checks if predicates are ordered by their estimated costs.
+   */
+  @Test
+  public void predicateOrder() {
+    createAttrs();
+    check("data(//a[@b = 'x'][@e = 'z'][@c = '2']/@c)", "2",
+        "//ValueAccess/Str/@value = '2'",
+        "//ValueAccess/@costs = 1",
+        "//CmpG[1]/Str/@value = 'z'",
+        "//CmpG[2]/Str/@value = 'x'");
+    check("count(//a[@b = 'x'][@c = ('1', '3')])", "2", "//ValueAccess/@costs = 1");
+  }
+
+  /**
+   * Checks if the index results of multiple predicates are intersected.
+   */
+  @Test
+  public void intersect() {
+    createAttrs();
+    check("data(//a[@b = 'x'][@d = 'y'][@c = '2']/@c)", "2",
+        "count(//InterSect/*) = 2",
+        "//InterSect//ValueAccess/Str/@value = '2'",
+        "//InterSect//ValueAccess/Str/@value = 'y'",
+        "//CmpG/Str/@value = 'x'");
+    check("count(//a[@d = 'y'][@e = 'z'])", "3", "exists(//InterSect)");
+    check("count(//a[@d = 'y'][@c = '9'])", "0", "exists(//InterSect)");
+  }
+
+  /**
+   * Creates a test database with elements with different attribute values.
+   */
+  private static void createAttrs() {
+    final StringBuilder sb = new StringBuilder("<xml>");
+    for(int i = 0; i < 10; i++) {
+      sb.append("<a b='x' c='").append(i).append('\'');
+      if(i < 3) sb.append(" d='y'");
+      if(i < 6) sb.append(" e='z'");
+      sb.append("/>");
+    }
+    execute(new CreateDB(NAME, sb.append("</xml>").toString()));
+  }
+
   /**
    * Creates a test database.
    */
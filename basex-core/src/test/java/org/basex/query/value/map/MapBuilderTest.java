@@ -0,0 +1,53 @@
+package org.basex.query.value.map;
+
+import static org.junit.Assert.*;
+
+import org.basex.query.*;
+import org.basex.query.value.item.*;
+import org.junit.*;
+
+/**
+ * Tests for {@link MapBuilder}.
+ *
+ * @author BaseX Team 2005-16, BSD License
+ * @author Christian Gruen
+ */
+public final class MapBuilderTest {
+  /**
+   * Compares maps created by the builder with maps created via {@link Map#put}.
+   * @throws QueryException query exception
+   */
+  @Test
+  public void build() throws QueryException {
+    final MapBuilder builder = new MapBuilder();
+    for(int len = 0; len < 2_000; len += 7) {
+      Map map = Map.EMPTY;
+      for(int i = 0; i < len; i++) {
+        // add duplicates and colliding keys
+        final Item key = i % 3 == 0 ? Int.get(i / 2) : Str.get(i % 2 == 0 ? "Aa" + i : "BB" + i);
+        final Int value = Int.get(i);
+        map = map.put(key, value, null);
+        builder.put(key, value, null);
+      }
+      final Map built = builder.freeze(null);
+      assertEquals(map.mapSize(), built.mapSize());
+      assertTrue(built.deep(map, null, null));
+    }
+  }
+
+  /**
+   * Checks that the last binding of duplicate keys is adopted.
+   * @throws QueryException query exception
+   */
+  @Test
+  public void duplicates() throws QueryException {
+    final MapBuilder builder = new MapBuilder();
+    builder.put(Str.get("Aa"), Int.get(1), null).put(Str.get("BB"), Int.get(2), null);
+    builder.put(Str.get("Aa"), Int.get(3), null);
+    final Map map = builder.freeze(null);
+    assertEquals(2, map.mapSize());
+    assertEquals(3, ((Int) map.get(Str.get("Aa"), null)).itr());
+    assertEquals(2, ((Int) map.get(Str.get("BB"), null)).itr());
+    assertEquals(0, builder.size());
+  }
+}